@@ -0,0 +1,66 @@
+package contrib.systems;
+
+import contrib.components.CollideComponent;
+
+import core.Entity;
+import core.Game;
+import core.components.PositionComponent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link CollisionSystem#execute()} for randomly placed entities.
+ *
+ * <p>The size of the area grows with the number of entities, so each entity has about the same
+ * number of neighbours in each run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionSystemBenchmark {
+    /* Average number of tiles per entity. */
+    private static final int TILES_PER_ENTITY = 4;
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private CollisionSystem system;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        system = new CollisionSystem();
+        Random random = new Random(42);
+        float size = (float) Math.sqrt((double) entityCount * TILES_PER_ENTITY);
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity();
+            new PositionComponent(entity, random.nextFloat() * size, random.nextFloat() * size);
+            new CollideComponent(entity);
+            system.showEntity(entity);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Benchmark
+    public void execute() {
+        system.execute();
+    }
+}
@@ -0,0 +1,69 @@
+package contrib.systems;
+
+import contrib.components.HealthComponent;
+import contrib.utils.components.health.Damage;
+import contrib.utils.components.health.DamageType;
+
+import core.Entity;
+import core.Game;
+import core.components.DrawComponent;
+import core.utils.components.draw.Animation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link HealthSystem#execute()} for entities that receive one hit each frame and are
+ * healed by the same amount, so no entity dies during the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HealthSystemBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private HealthSystem system;
+    private HealthComponent[] healths;
+    private Damage damage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        system = new HealthSystem();
+        healths = new HealthComponent[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity();
+            healths[i] = new HealthComponent(entity, 10, e -> {});
+            new DrawComponent(entity, Animation.defaultAnimation());
+            system.showEntity(entity);
+        }
+        damage = new Damage(1, DamageType.PHYSICAL, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Benchmark
+    public void execute() {
+        for (HealthComponent health : healths) {
+            health.currentHealthpoints(10);
+            health.receiveHit(damage);
+        }
+        system.execute();
+    }
+}
@@ -0,0 +1,55 @@
+package core;
+
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/** Measures {@link Entity#fetch} of a present and of a missing component for many entities. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private Entity[] entities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        entities = new Entity[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            entities[i] = new Entity();
+            new PositionComponent(entities[i], i % 100, i / 100f);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        Game.removeAllEntities();
+    }
+
+    @Benchmark
+    public void fetchPresent(Blackhole blackhole) {
+        for (Entity entity : entities) blackhole.consume(entity.fetch(PositionComponent.class));
+    }
+
+    @Benchmark
+    public void fetchMissing(Blackhole blackhole) {
+        for (Entity entity : entities) blackhole.consume(entity.fetch(VelocityComponent.class));
+    }
+}
@@ -0,0 +1,76 @@
+package core;
+
+import contrib.components.CollideComponent;
+import contrib.components.HealthComponent;
+import contrib.systems.CollisionSystem;
+import contrib.systems.HealthSystem;
+
+import core.components.DrawComponent;
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+import core.systems.VelocitySystem;
+import core.utils.components.draw.Animation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link Game#updateSystems()}, which moves all new entities into the entity sets of the
+ * systems.
+ *
+ * <p>Each invocation adds the given number of entities to the game, so the benchmark measures the
+ * frame in which a level is populated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    @Setup(Level.Trial)
+    public void setupSystems() {
+        LogManager.getLogManager().reset();
+        new VelocitySystem();
+        new HealthSystem();
+        new CollisionSystem();
+    }
+
+    @Setup(Level.Invocation)
+    public void createEntities() {
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity();
+            new PositionComponent(entity, i % 100, i / 100f);
+            new VelocityComponent(entity, 0, 0);
+            new DrawComponent(entity, Animation.defaultAnimation());
+            if (i % 2 == 0) new HealthComponent(entity, 10, e -> {});
+            if (i % 3 == 0) new CollideComponent(entity);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeEntities() {
+        Game.removeAllEntities();
+    }
+
+    @TearDown(Level.Trial)
+    public void removeSystems() {
+        Game.removeAllSystems();
+    }
+
+    @Benchmark
+    public void updateSystems() {
+        Game.updateSystems();
+    }
+}
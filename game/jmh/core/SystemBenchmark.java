@@ -0,0 +1,61 @@
+package core;
+
+import core.components.DrawComponent;
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+import core.systems.VelocitySystem;
+import core.utils.components.draw.Animation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link System#showEntity} for entities that are already part of the system, which is
+ * the common case when components are added to or removed from existing entities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SystemBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private System system;
+    private Entity[] entities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        system = new VelocitySystem();
+        entities = new Entity[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            entities[i] = new Entity();
+            new PositionComponent(entities[i], i % 100, i / 100f);
+            new VelocityComponent(entities[i], 0, 0);
+            new DrawComponent(entities[i], Animation.defaultAnimation());
+        }
+        Game.updateSystems();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Benchmark
+    public void showEntity() {
+        for (Entity entity : entities) system.showEntity(entity);
+    }
+}
@@ -0,0 +1,80 @@
+package core.level;
+
+import core.level.elements.astar.PathService;
+import core.level.elements.astar.PathfindingMode;
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link TileLevel#findPath} with each {@link PathfindingMode} on a level with randomly
+ * placed walls.
+ *
+ * <p>The paths are searched between a fixed set of random tiles. The set is larger than the {@link
+ * PathService#CAPACITY} of the path cache, so every invocation runs a search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathfindingBenchmark {
+    private static final int PAIRS = 4 * PathService.CAPACITY;
+    private static final float WALL_CHANCE = 0.25f;
+
+    @Param({"A_STAR", "HIERARCHICAL", "JUMP_POINT"})
+    public PathfindingMode mode;
+
+    @Param({"100", "300"})
+    public int levelSize;
+
+    private TileLevel level;
+    private final Tile[] starts = new Tile[PAIRS];
+    private final Tile[] ends = new Tile[PAIRS];
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        Random random = new Random(42);
+        LevelElement[][] layout = new LevelElement[levelSize][levelSize];
+        for (LevelElement[] row : layout)
+            for (int x = 0; x < row.length; x++)
+                row[x] = random.nextFloat() < WALL_CHANCE ? LevelElement.WALL : LevelElement.FLOOR;
+        level = new TileLevel(layout, DesignLabel.DEFAULT);
+        level.pathfindingMode(mode);
+
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = randomFloor(random);
+            ends[i] = randomFloor(random);
+        }
+    }
+
+    private Tile randomFloor(Random random) {
+        Tile tile;
+        do {
+            Coordinate coordinate =
+                    new Coordinate(random.nextInt(levelSize), random.nextInt(levelSize));
+            tile = level.tileAt(coordinate);
+        } while (!tile.isAccessible());
+        return tile;
+    }
+
+    @Benchmark
+    public int findPath() {
+        next = (next + 1) % PAIRS;
+        return level.findPath(starts[next], ends[next]).getCount();
+    }
+}
@@ -0,0 +1,40 @@
+package core.level.generator.perlinNoise;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search of the biggest area of a perlin noise, with the bounds and octaves of a large
+ * {@link PerlinNoiseGenerator} level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NoiseAreaBenchmark {
+    @Param({"150", "500"})
+    public int levelSize;
+
+    private NoiseAreaValues values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PerlinNoise noise =
+                new PerlinNoise(levelSize, levelSize, new int[] {4, 5}, false, new Random(42));
+        values = new NoiseAreaValues(0.4, 0.6, noise.noiseAll(1), false);
+    }
+
+    @Benchmark
+    public int biggestArea() {
+        return NoiseArea.biggestArea(values).size();
+    }
+}
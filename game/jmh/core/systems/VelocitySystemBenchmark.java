@@ -0,0 +1,81 @@
+package core.systems;
+
+import core.Entity;
+import core.Game;
+import core.components.DrawComponent;
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+import core.level.TileLevel;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.utils.components.draw.Animation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * Measures {@link VelocitySystem#execute()} for entities that walk back and forth on a level that
+ * contains only floor tiles.
+ *
+ * <p>The entities change their direction on each invocation, so they never leave the level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VelocitySystemBenchmark {
+    private static final int LEVEL_SIZE = 100;
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private VelocitySystem system;
+    private VelocityComponent[] velocities;
+    private float direction = 0.1f;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        LevelElement[][] layout = new LevelElement[LEVEL_SIZE][LEVEL_SIZE];
+        for (LevelElement[] row : layout) Arrays.fill(row, LevelElement.FLOOR);
+        new LevelSystem(null, null, () -> {});
+        Game.currentLevel(new TileLevel(layout, DesignLabel.DEFAULT));
+
+        system = new VelocitySystem();
+        velocities = new VelocityComponent[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity();
+            new PositionComponent(entity, 1 + i % (LEVEL_SIZE - 2), 1 + i % (LEVEL_SIZE - 3));
+            velocities[i] = new VelocityComponent(entity, 0.1f, 0.1f);
+            new DrawComponent(entity, Animation.defaultAnimation());
+            system.showEntity(entity);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Benchmark
+    public void execute() {
+        direction = -direction;
+        for (VelocityComponent velocity : velocities) {
+            velocity.currentXVelocity(direction);
+            velocity.currentYVelocity(direction);
+        }
+        system.execute();
+    }
+}
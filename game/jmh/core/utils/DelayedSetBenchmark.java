@@ -0,0 +1,63 @@
+package core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DelayedSet#update()} and iterating over {@link DelayedSet#stream()}.
+ *
+ * <p>Each invocation of {@link #update} adds half of the elements and removes the other half, like
+ * a frame in which many entities are spawned and killed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DelayedSetBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    public int elementCount;
+
+    private Integer[] elements;
+    private DelayedSet<Integer> updated;
+    private DelayedSet<Integer> streamed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        elements = new Integer[elementCount];
+        for (int i = 0; i < elementCount; i++) elements[i] = i;
+        streamed = new DelayedSet<>();
+        for (Integer element : elements) streamed.add(element);
+        streamed.update();
+        updated = new DelayedSet<>();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareUpdate() {
+        updated.clear();
+        for (int i = 0; i < elementCount; i += 2) updated.add(elements[i]);
+        updated.update();
+        for (int i = 0; i < elementCount; i++) {
+            if (i % 2 == 0) updated.remove(elements[i]);
+            else updated.add(elements[i]);
+        }
+    }
+
+    @Benchmark
+    public DelayedSet<Integer> update() {
+        updated.update();
+        return updated;
+    }
+
+    @Benchmark
+    public long stream() {
+        return streamed.stream().mapToInt(Integer::intValue).sum();
+    }
+}
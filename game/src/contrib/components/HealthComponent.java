@@ -85,6 +85,7 @@ public final class HealthComponent extends Component {
     public void receiveHit(Damage damage) {
         damageToGet.add(damage);
         this.lastCause = damage.cause() != null ? damage.cause() : this.lastCause;
+        markChanged();
     }
 
     /** Trigger the onDeath function */
@@ -135,6 +136,7 @@ public final class HealthComponent extends Component {
      */
     public void currentHealthpoints(int amount) {
         this.currentHealthpoints = Math.min(maximalHealthpoints, amount);
+        markChanged();
     }
 
     /**
@@ -148,6 +150,7 @@ public final class HealthComponent extends Component {
     public void maximalHealthpoints(int amount) {
         this.maximalHealthpoints = amount;
         currentHealthpoints = Math.min(currentHealthpoints, maximalHealthpoints);
+        markChanged();
     }
 
     /**
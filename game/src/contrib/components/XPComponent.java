@@ -105,6 +105,7 @@ public final class XPComponent extends Component {
      */
     public void characterLevel(long currentLevel) {
         this.characterLevel = currentLevel;
+        markChanged();
     }
 
     /**
@@ -119,6 +120,7 @@ public final class XPComponent extends Component {
      */
     public void addXP(long xp) {
         this.currentXP = Math.max(0, currentXP + xp);
+        markChanged();
     }
 
     /**
@@ -140,6 +142,7 @@ public final class XPComponent extends Component {
      */
     public void currentXP(long currentXP) {
         this.currentXP = currentXP;
+        markChanged();
     }
 
     /**
@@ -198,6 +201,7 @@ public final class XPComponent extends Component {
      */
     public void levelUPFormula(Function<Long, Long> formula) {
         this.levelUPFormula = formula;
+        markChanged();
     }
 
     /**
@@ -167,7 +167,8 @@ public class EntityFactory {
         new InteractionComponent(
                 chest, defaultInteractionRadius, false, new DropItemsInteraction());
         DrawComponent dc = new DrawComponent(chest, "objects/treasurechest");
-        dc.getAnimation(CoreAnimations.IDLE_RIGHT).ifPresent(a -> a.setLoop(false));
+        dc.getAnimation(CoreAnimations.IDLE_RIGHT)
+                .ifPresent(a -> dc.animation(CoreAnimations.IDLE_RIGHT, a.withLoop(false)));
 
         return chest;
     }
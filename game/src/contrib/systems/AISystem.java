@@ -2,23 +2,26 @@ package contrib.systems;
 
 import contrib.components.AIComponent;
 
-import core.Entity;
+import core.Archetype;
+import core.Component;
 import core.System;
-import core.utils.components.MissingComponentException;
 
 import java.util.function.Consumer;
 
-/** Controls the AI */
+/**
+ * Controls the AI
+ *
+ * <p>The AIs read the state of other entities, like the hero, and their fight skills spawn new
+ * entities with any components. So this system does not declare its component access and is always
+ * executed alone.
+ */
 public final class AISystem extends System {
 
-    private static final Consumer<Entity> executeAI =
-            entity ->
-                    entity.fetch(AIComponent.class)
-                            .orElseThrow(
-                                    () ->
-                                            MissingComponentException.build(
-                                                    entity, AIComponent.class))
-                            .execute();
+    private static final Consumer<Archetype> executeAI =
+            archetype -> {
+                Component[] ais = archetype.column(AIComponent.class);
+                for (int i = 0; i < archetype.size(); i++) ((AIComponent) ais[i]).execute();
+            };
 
     public AISystem() {
         super(AIComponent.class);
@@ -26,6 +29,6 @@ public final class AISystem extends System {
 
     @Override
     public void execute() {
-        entityStream().forEach(executeAI);
+        forEachArchetype(executeAI);
     }
 }
@@ -1,15 +1,21 @@
 package contrib.systems;
 
 import contrib.components.CollideComponent;
+import contrib.utils.components.collision.SpatialHashGrid;
 
 import core.Entity;
+import core.EntityHandle;
+import core.EntityView;
+import core.Game;
 import core.System;
+import core.components.PositionComponent;
 import core.level.Tile;
+import core.utils.Point;
 import core.utils.components.MissingComponentException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Stream;
 
 /**
  * System to check for collisions between two entities.
@@ -21,11 +27,21 @@ import java.util.stream.Stream;
  *
  * <p>Each CollideComponent should only be informed when a collision begins or ends. For this a map
  * with all currently active collisions is stored and allows informing the entities when a collision
- * ended.
+ * ended. The collisions are stored by the {@link EntityHandle}s of the entities, so the collisions
+ * of removed entities are forgotten.
  */
 public final class CollisionSystem extends System {
 
     private final Map<CollisionKey, CollisionData> collisions = new HashMap<>();
+    private final SpatialHashGrid grid = new SpatialHashGrid();
+    private final SpatialHashGrid.PairConsumer addIfOverlapping = this::addIfOverlapping;
+    /* Hitboxes of the current frame, indexed like the entity view. */
+    private CollideComponent[] hitboxes = new CollideComponent[0];
+    /* Bounds of the hitboxes of the current frame: minX, minY, maxX, maxY per hitbox. */
+    private float[] bounds = new float[0];
+    /* Candidate pairs of the current frame, encoded as (lower index << 32 | higher index). */
+    private long[] pairs = new long[16];
+    private int pairCount = 0;
 
     public CollisionSystem() {
         super(CollideComponent.class);
@@ -36,59 +52,96 @@ public final class CollisionSystem extends System {
      *
      * <p>The collision check will be performed only once for a given tuple of entities, i.e. when
      * entity A does collide with entity B it also means B collides with A.
+     *
+     * <p>To avoid testing each possible tuple, the hitboxes are sorted into a {@link
+     * SpatialHashGrid} with one cell per tile. Only hitboxes that share a cell can collide. The
+     * tuples of all currently active collisions are checked as well, so that the end of a
+     * collision is detected even if the hitboxes no longer share a cell. The tuples are processed
+     * in the order of the entity ids.
      */
     @Override
     public void execute() {
-        entityStream().flatMap(this::createDataPairs).forEach(this::onEnterLeaveCheck);
-    }
-
-    /**
-     * Create a stream of pairs of entities.
-     *
-     * <p>Pair a given entity with every other entity with a higher id.
-     *
-     * @param a Entity which is the lower id partner
-     * @return the stream which contains every valid pair of Entities
-     */
-    private Stream<CollisionData> createDataPairs(Entity a) {
-        return entityStream().filter(b -> isSmallerThen(a, b)).map(b -> newDataPair(a, b));
+        EntityView entities = entities();
+        int count = entities.size();
+        prepareBuffers(count);
+        grid.clear();
+        for (int i = 0; i < count; i++) insert(i, entities.get(i));
+
+        pairCount = 0;
+        grid.forEachPair(addIfOverlapping);
+        // the handle of a removed entity no longer resolves
+        collisions
+                .keySet()
+                .removeIf(key -> Game.entity(key.a).isEmpty() || Game.entity(key.b).isEmpty());
+        for (CollisionData cdata : collisions.values()) {
+            int a = entities.indexOf(cdata.a.entity());
+            int b = entities.indexOf(cdata.b.entity());
+            if (a >= 0 && b >= 0) addPair(Math.min(a, b), Math.max(a, b));
+        }
+        Arrays.sort(pairs, 0, pairCount);
+
+        long previous = -1;
+        for (int i = 0; i < pairCount; i++) {
+            if (pairs[i] == previous) continue;
+            previous = pairs[i];
+            int a = (int) (previous >>> 32);
+            int b = (int) previous;
+            onEnterLeaveCheck(new CollisionData(hitboxes[a], hitboxes[b]), overlaps(a, b));
+        }
+        Arrays.fill(hitboxes, 0, count, null);
     }
 
-    /**
-     * Compare the entities.
-     *
-     * <p>This comparison is applied in the {@link #createDataPairs(Entity a) createDataPairs}
-     * method to create only tuples with entities with higher ID. This avoids performing a collision
-     * check twice for a pair of entities, first for (a,b) and second for (b,a).
-     *
-     * @param a first Entity
-     * @param b second Entity
-     * @return true when the comparison between a and b is less than zero, otherwise false
-     */
-    private boolean isSmallerThen(Entity a, Entity b) {
-        return a.compareTo(b) < 0;
+    private void prepareBuffers(int count) {
+        if (hitboxes.length < count) {
+            int capacity = Math.max(count, hitboxes.length * 2);
+            hitboxes = new CollideComponent[capacity];
+            bounds = new float[capacity * 4];
+        }
     }
 
-    /**
-     * Create a pair of CollideComponents which is the used to check whether a collision is
-     * happening and to store in the internal map. Which allows informing the CollideComponents
-     * about an ended Collision
-     *
-     * @param a The first Entity
-     * @param b the second Entity
-     * @return the pair of CollideComponents
-     */
-    private CollisionData newDataPair(Entity a, Entity b) {
-        CollideComponent cca =
-                a.fetch(CollideComponent.class)
+    /* Cache the bounds of the hitbox of the given entity and insert it into the grid. */
+    private void insert(int index, Entity entity) {
+        CollideComponent hitbox =
+                entity.fetch(CollideComponent.class)
                         .orElseThrow(
-                                () -> MissingComponentException.build(a, CollideComponent.class));
-        CollideComponent ccb =
-                b.fetch(CollideComponent.class)
+                                () ->
+                                        MissingComponentException.build(
+                                                entity, CollideComponent.class));
+        Point position =
+                entity.fetch(PositionComponent.class)
                         .orElseThrow(
-                                () -> MissingComponentException.build(b, CollideComponent.class));
+                                () ->
+                                        MissingComponentException.build(
+                                                entity, PositionComponent.class))
+                        .position();
+        float minX = position.x + hitbox.offset().x;
+        float minY = position.y + hitbox.offset().y;
+        float maxX = minX + hitbox.size().x;
+        float maxY = minY + hitbox.size().y;
+        hitboxes[index] = hitbox;
+        bounds[index * 4] = minX;
+        bounds[index * 4 + 1] = minY;
+        bounds[index * 4 + 2] = maxX;
+        bounds[index * 4 + 3] = maxY;
+        // same conversion as Point#toCoordinate, so each cell is exactly one tile
+        grid.insert(index, (int) minX, (int) minY, (int) maxX, (int) maxY);
+    }
+
+    private void addIfOverlapping(int a, int b) {
+        if (overlaps(a, b)) addPair(a, b);
+    }
+
+    private void addPair(int a, int b) {
+        if (pairCount == pairs.length) pairs = Arrays.copyOf(pairs, pairCount * 2);
+        pairs[pairCount++] = ((long) a << 32) | b;
+    }
 
-        return new CollisionData(cca, ccb);
+    /* Same check as checkForCollision, on the cached bounds. */
+    private boolean overlaps(int a, int b) {
+        return bounds[a * 4] < bounds[b * 4 + 2]
+                && bounds[a * 4 + 2] > bounds[b * 4]
+                && bounds[a * 4 + 1] < bounds[b * 4 + 3]
+                && bounds[a * 4 + 3] > bounds[b * 4 + 1];
     }
 
     /**
@@ -99,11 +152,12 @@ public final class CollisionSystem extends System {
      * an active collision the onLeave is called. The onLeave is only called once.
      *
      * @param cdata the CollisionData where a collision change may happen
+     * @param colliding true if the hitboxes of the CollisionData are currently colliding
      */
-    private void onEnterLeaveCheck(CollisionData cdata) {
-        CollisionKey key = new CollisionKey(cdata.a.entity().id(), cdata.b.entity().id());
+    private void onEnterLeaveCheck(CollisionData cdata, boolean colliding) {
+        CollisionKey key = new CollisionKey(cdata.a.entity().handle(), cdata.b.entity().handle());
 
-        if (checkForCollision(cdata.a, cdata.b)) {
+        if (colliding) {
             // a collision is currently happening
             if (!collisions.containsKey(key)) {
                 // a new collision should call the onEnter on both entities
@@ -176,7 +230,7 @@ public final class CollisionSystem extends System {
         }
     }
 
-    private record CollisionKey(int a, int b) {}
+    private record CollisionKey(EntityHandle a, EntityHandle b) {}
 
     protected record CollisionData(CollideComponent a, CollideComponent b) {}
 }
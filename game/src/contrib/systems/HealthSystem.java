@@ -6,41 +6,57 @@ import contrib.components.XPComponent;
 import contrib.utils.components.draw.AdditionalAnimations;
 import contrib.utils.components.health.DamageType;
 
+import core.Archetype;
+import core.Component;
 import core.Entity;
 import core.Game;
 import core.System;
 import core.components.DrawComponent;
-import core.utils.components.MissingComponentException;
 
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * The HealthSystem offsets the damage to be done to all entities with the HealthComponent. Triggers
  * the death of an entity when the health-points have fallen below 0.
+ *
+ * <p>The death of an entity calls its on death callback and gives XP to the entity that caused the
+ * death. Both are run with {@link #defer}, so they do not count as component access of this
+ * system.
  */
 public final class HealthSystem extends System {
 
     public HealthSystem() {
-        super(HealthComponent.class, DrawComponent.class);
+        super(
+                Set.of(StatsComponent.class),
+                Set.of(HealthComponent.class, DrawComponent.class),
+                HealthComponent.class,
+                DrawComponent.class);
     }
 
     @Override
     public void execute() {
-        entityStream()
-                // Consider only entities that have a HealthComponent
-                // Form triples (e, hc, dc)
-                .map(this::buildDataObject)
-                // Apply damage
-                .map(this::applyDamage)
-                // Filter all dead entities
-                .filter(hsd -> hsd.hc.isDead())
-                // Set DeathAnimation if possible and not yet set
-                .map(this::activateDeathAnimation)
-                // Filter by state of animation
-                .filter(this::testDeathAnimationStatus)
-                // Remove all dead entities
-                .forEach(this::removeDeadEntities);
+        forEachArchetype(this::update);
+    }
+
+    private void update(Archetype archetype) {
+        Entity[] entities = archetype.entities();
+        Component[] healths = archetype.column(HealthComponent.class);
+        Component[] draws = archetype.column(DrawComponent.class);
+        for (int i = 0; i < archetype.size(); i++) {
+            HSData hsd =
+                    new HSData(
+                            entities[i], (HealthComponent) healths[i], (DrawComponent) draws[i]);
+            // Apply damage
+            applyDamage(hsd);
+            // Consider only dead entities
+            if (!hsd.hc.isDead()) continue;
+            // Set DeathAnimation if possible and not yet set
+            activateDeathAnimation(hsd);
+            // Remove the entity if the animation is done
+            if (testDeathAnimationStatus(hsd)) defer(() -> removeDeadEntities(hsd));
+        }
     }
 
     /**
@@ -76,21 +92,6 @@ public final class HealthSystem extends System {
         return hsd;
     }
 
-    private HSData buildDataObject(Entity entity) {
-
-        HealthComponent hc =
-                entity.fetch(HealthComponent.class)
-                        .orElseThrow(
-                                () ->
-                                        MissingComponentException.build(
-                                                entity, HealthComponent.class));
-        DrawComponent ac =
-                entity.fetch(DrawComponent.class)
-                        .orElseThrow(
-                                () -> MissingComponentException.build(entity, DrawComponent.class));
-        return new HSData(entity, hc, ac);
-    }
-
     private HSData applyDamage(HSData hsd) {
         hsd.e
                 .fetch(StatsComponent.class)
@@ -147,6 +148,6 @@ public final class HealthSystem extends System {
                                         .ifPresent(c -> c.addXP(component.lootXP())));
     }
 
-    // private record to hold all data during streaming
+    // private record to hold all data of the processed entity
     private record HSData(Entity e, HealthComponent hc, DrawComponent dc) {}
 }
@@ -11,7 +11,9 @@ import core.components.VelocityComponent;
 import core.utils.components.draw.Animation;
 import core.utils.components.draw.CoreAnimations;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,7 +27,7 @@ import java.util.stream.Collectors;
  *
  * <p>The system will get the current position and animation from the {@link PositionComponent} and
  * {@link DrawComponent} of the global/multiplayer state and will update the current position and
- * next animation frame from the {@link Animation} for the local state.
+ * the current {@link Animation} for the local state.
  *
  * @see MultiplayerSynchronizationComponent
  */
@@ -81,41 +83,31 @@ public final class MultiplayerSynchronizationSystem extends System {
      * session.
      */
     private void synchronizeRemovedEntities() {
+        final Set<Integer> multiplayerEntityIds =
+                Game.entityStreamGlobal().map(Entity::globalID).collect(Collectors.toSet());
         Game.entityStream()
-                .forEach(
-                        entity -> {
-                            boolean isEntityRemoved =
-                                    Game.entityStreamGlobal()
-                                            .noneMatch(x -> x.globalID() == entity.globalID());
-                            if (isEntityRemoved) {
-                                Game.removeEntity(entity);
-                            }
-                        });
+                .filter(entity -> !multiplayerEntityIds.contains(entity.globalID()))
+                .forEach(Game::removeEntity);
     }
 
     /** Synchronizes local positions with positions from global/multiplayer session. */
     private void synchronizePositions() {
+        final Map<Integer, Entity> multiplayerEntities = multiplayerEntitiesByGlobalID();
         Game.entityStream()
-                .filter(entity -> entity.fetch(PositionComponent.class).isPresent())
                 .forEach(
                         localEntityState -> {
-                            PositionComponent positionComponentLocal =
-                                    localEntityState.fetch(PositionComponent.class).orElseThrow();
-
-                            Game.entityStreamGlobal()
-                                    .forEach(
-                                            multiplayerEntityState -> {
-                                                if (multiplayerEntityState.globalID()
-                                                        == localEntityState.globalID()) {
-                                                    PositionComponent positionComponentMultiplayer =
+                            Entity multiplayerEntityState =
+                                    multiplayerEntities.get(localEntityState.globalID());
+                            if (multiplayerEntityState == null) return;
+                            localEntityState
+                                    .fetch(PositionComponent.class)
+                                    .ifPresent(
+                                            positionComponentLocal ->
+                                                    positionComponentLocal.position(
                                                             multiplayerEntityState
                                                                     .fetch(PositionComponent.class)
-                                                                    .orElseThrow();
-                                                    positionComponentLocal.position(
-                                                            positionComponentMultiplayer
-                                                                    .position());
-                                                }
-                                            });
+                                                                    .orElseThrow()
+                                                                    .position()));
                         });
     }
 
@@ -128,73 +120,61 @@ public final class MultiplayerSynchronizationSystem extends System {
      * <p>Animation update follows as in {@link core.systems.VelocitySystem}
      */
     private void synchronizeAnimation() {
+        final Map<Integer, Entity> multiplayerEntities = multiplayerEntitiesByGlobalID();
         Game.entityStream()
                 .forEach(
-                        localEntityState ->
-                                Game.entityStreamGlobal()
-                                        .forEach(
-                                                multiplayerEntityState -> {
-                                                    if (multiplayerEntityState.globalID()
-                                                            == localEntityState.globalID()) {
-                                                        DrawComponent drawComponent =
-                                                                localEntityState
-                                                                        .fetch(DrawComponent.class)
-                                                                        .orElseThrow();
-
-                                                        Optional<VelocityComponent>
-                                                                velocityComponentMultiplayer =
-                                                                        multiplayerEntityState
-                                                                                .fetch(
-                                                                                        VelocityComponent
-                                                                                                .class);
+                        localEntityState -> {
+                            Entity multiplayerEntityState =
+                                    multiplayerEntities.get(localEntityState.globalID());
+                            if (multiplayerEntityState == null) return;
+                            DrawComponent drawComponent =
+                                    localEntityState.fetch(DrawComponent.class).orElseThrow();
+                            multiplayerEntityState
+                                    .fetch(VelocityComponent.class)
+                                    .ifPresent(
+                                            velocityComponentMultiplayer ->
+                                                    updateAnimation(
+                                                            drawComponent,
+                                                            velocityComponentMultiplayer
+                                                                    .currentXVelocity()));
+                        });
+    }
 
-                                                        if (velocityComponentMultiplayer
-                                                                .isPresent()) {
-                                                            float x =
-                                                                    velocityComponentMultiplayer
-                                                                            .get()
-                                                                            .currentXVelocity();
-                                                            if (x > 0) {
-                                                                drawComponent.currentAnimation(
-                                                                        CoreAnimations.RUN_RIGHT);
-                                                            } else if (x < 0) {
-                                                                drawComponent.currentAnimation(
-                                                                        CoreAnimations.RUN_LEFT);
-                                                            }
-                                                            // idle
-                                                            else {
-                                                                // each draw component has an idle
-                                                                // animation, so no check is needed
-                                                                if (drawComponent
-                                                                                .isCurrentAnimation(
-                                                                                        CoreAnimations
-                                                                                                .IDLE_LEFT)
-                                                                        || drawComponent
-                                                                                .isCurrentAnimation(
-                                                                                        CoreAnimations
-                                                                                                .RUN_LEFT))
-                                                                    drawComponent.currentAnimation(
-                                                                            CoreAnimations
-                                                                                    .IDLE_LEFT);
-                                                                else
-                                                                    drawComponent.currentAnimation(
-                                                                            CoreAnimations
-                                                                                    .IDLE_RIGHT);
-                                                            }
-                                                        }
-                                                    }
-                                                }));
+    private void updateAnimation(final DrawComponent drawComponent, final float x) {
+        if (x > 0) {
+            drawComponent.currentAnimation(CoreAnimations.RUN_RIGHT);
+        } else if (x < 0) {
+            drawComponent.currentAnimation(CoreAnimations.RUN_LEFT);
+        }
+        // idle
+        else {
+            // each draw component has an idle animation, so no check is needed
+            if (drawComponent.isCurrentAnimation(CoreAnimations.IDLE_LEFT)
+                    || drawComponent.isCurrentAnimation(CoreAnimations.RUN_LEFT))
+                drawComponent.currentAnimation(CoreAnimations.IDLE_LEFT);
+            else drawComponent.currentAnimation(CoreAnimations.IDLE_RIGHT);
+        }
     }
 
     /** Removes all entities that has been marked as multiplayer entity. */
     private void removeMultiplayerEntities() {
+        final Map<Integer, Entity> localEntities = new HashMap<>();
+        Game.entityStream().forEach(entity -> localEntities.putIfAbsent(entity.globalID(), entity));
         Game.entityStreamGlobal()
-                .forEach(
-                        globalEntity -> {
-                            Game.entityStream()
-                                    .filter(x -> x.globalID() == globalEntity.globalID())
-                                    .findFirst()
-                                    .ifPresent(Game::removeEntity);
-                        });
+                .map(globalEntity -> localEntities.get(globalEntity.globalID()))
+                .filter(Objects::nonNull)
+                .forEach(Game::removeEntity);
+    }
+
+    /**
+     * Index the entities of the global/multiplayer state by their global ID, so each local entity
+     * can be matched in constant time instead of scanning the global state.
+     *
+     * @return the global entities, keyed by their global ID
+     */
+    private static Map<Integer, Entity> multiplayerEntitiesByGlobalID() {
+        final Map<Integer, Entity> entities = new HashMap<>();
+        Game.entityStreamGlobal().forEach(entity -> entities.put(entity.globalID(), entity));
+        return entities;
     }
 }
@@ -2,13 +2,16 @@ package contrib.systems;
 
 import contrib.components.ProjectileComponent;
 
+import core.Archetype;
+import core.Component;
 import core.Entity;
 import core.Game;
 import core.System;
 import core.components.PositionComponent;
 import core.components.VelocityComponent;
 import core.utils.Point;
-import core.utils.components.MissingComponentException;
+
+import java.util.Set;
 
 /**
  * The ProjectileSystem class represents a system responsible for managing {@link
@@ -24,43 +27,36 @@ import core.utils.components.MissingComponentException;
 public class ProjectileSystem extends System {
 
     public ProjectileSystem() {
-        super(ProjectileComponent.class, PositionComponent.class, VelocityComponent.class);
+        super(
+                Set.of(),
+                Set.of(VelocityComponent.class),
+                ProjectileComponent.class,
+                PositionComponent.class,
+                VelocityComponent.class);
     }
 
     /** Sets the velocity and removes entities that have reached their endpoints. */
     @Override
     public void execute() {
-        entityStream()
-                // Consider only entities that have a ProjectileComponent
-                .map(this::buildDataObject)
-                .map(this::setVelocity)
-                // Filter all entities that have reached their endpoint
-                .filter(this::hasReachedEndpoint)
-                // Remove all entities who reached their endpoint
-                .forEach(this::removeEntitiesOnEndpoint);
+        forEachArchetype(this::update);
     }
 
-    private PSData buildDataObject(Entity entity) {
-
-        ProjectileComponent prc =
-                entity.fetch(ProjectileComponent.class)
-                        .orElseThrow(
-                                () ->
-                                        MissingComponentException.build(
-                                                entity, ProjectileComponent.class));
-        PositionComponent pc =
-                entity.fetch(PositionComponent.class)
-                        .orElseThrow(
-                                () ->
-                                        MissingComponentException.build(
-                                                entity, PositionComponent.class));
-        VelocityComponent vc =
-                entity.fetch(VelocityComponent.class)
-                        .orElseThrow(
-                                () ->
-                                        MissingComponentException.build(
-                                                entity, VelocityComponent.class));
-        return new PSData(entity, prc, pc, vc);
+    private void update(Archetype archetype) {
+        Entity[] entities = archetype.entities();
+        Component[] projectiles = archetype.column(ProjectileComponent.class);
+        Component[] positions = archetype.column(PositionComponent.class);
+        Component[] velocities = archetype.column(VelocityComponent.class);
+        for (int i = 0; i < archetype.size(); i++) {
+            PSData psd =
+                    new PSData(
+                            entities[i],
+                            (ProjectileComponent) projectiles[i],
+                            (PositionComponent) positions[i],
+                            (VelocityComponent) velocities[i]);
+            setVelocity(psd);
+            // Remove all entities who reached their endpoint
+            if (hasReachedEndpoint(psd)) removeEntitiesOnEndpoint(psd);
+        }
     }
 
     private PSData setVelocity(PSData data) {
@@ -95,7 +91,7 @@ public class ProjectileSystem extends System {
         return distanceToStart > totalDistance;
     }
 
-    // private record to hold all data during streaming
+    // private record to hold all data of the processed entity
     private record PSData(
             Entity e, ProjectileComponent prc, PositionComponent pc, VelocityComponent vc) {}
 }
@@ -2,25 +2,37 @@ package contrib.systems;
 
 import contrib.components.XPComponent;
 
-import core.Entity;
+import core.Archetype;
+import core.Component;
 import core.System;
-import core.utils.components.MissingComponentException;
 
+import java.util.Set;
+
+/**
+ * Levels up the entities with enough XP.
+ *
+ * <p>The level up callback of an {@link XPComponent} may touch any component, so it is run with
+ * {@link #defer}.
+ */
 public final class XPSystem extends System {
 
     public XPSystem() {
-        super(XPComponent.class);
+        super(Set.of(), Set.of(XPComponent.class), XPComponent.class);
     }
 
     @Override
     public void execute() {
-        entityStream().forEach(this::checkForLevelUP);
+        forEachArchetype(this::checkForLevelUP);
+    }
+
+    private void checkForLevelUP(Archetype archetype) {
+        Component[] xpComponents = archetype.column(XPComponent.class);
+        // the XP can only reach the next level if the component was changed since the last run
+        for (int i = 0; i < archetype.size(); i++)
+            if (isChanged(xpComponents[i])) checkForLevelUP((XPComponent) xpComponents[i]);
     }
 
-    private void checkForLevelUP(Entity entity) {
-        XPComponent comp =
-                entity.fetch(XPComponent.class)
-                        .orElseThrow(() -> MissingComponentException.build(entity, XPSystem.class));
+    private void checkForLevelUP(XPComponent comp) {
         long xpLeft;
         while ((xpLeft = comp.xpToNextCharacterLevel()) <= 0) {
             this.performLevelUp(comp, (int) xpLeft);
@@ -38,6 +50,6 @@ public final class XPSystem extends System {
     private void performLevelUp(XPComponent comp, int xpLeft) {
         comp.characterLevel(comp.characterLevel() + 1);
         comp.currentXP(xpLeft * -1);
-        comp.levelUp().accept(comp.entity());
+        defer(() -> comp.levelUp().accept(comp.entity()));
     }
 }
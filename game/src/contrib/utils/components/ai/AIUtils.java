@@ -7,6 +7,7 @@ import core.Game;
 import core.components.PositionComponent;
 import core.components.VelocityComponent;
 import core.level.Tile;
+import core.level.elements.astar.FlowField;
 import core.level.utils.LevelUtils;
 import core.utils.components.MissingComponentException;
 
@@ -50,6 +51,43 @@ public class AIUtils {
             return;
         }
 
+        moveTo(vc, currentTile, nextTile);
+    }
+
+    /**
+     * Sets the velocity of the passed entity so that it takes the next step to the target of the
+     * flow field.
+     *
+     * <p>Takes constant time, no matter how far away the target is, so any number of entities can
+     * follow the same field (see {@link LevelUtils#flowFieldToHero()}).
+     *
+     * @param entity Entity moving to the target.
+     * @param field Flow field to the target.
+     */
+    public static void move(final Entity entity, final FlowField field) {
+        PositionComponent pc =
+                entity.fetch(PositionComponent.class)
+                        .orElseThrow(
+                                () ->
+                                        MissingComponentException.build(
+                                                entity, PositionComponent.class));
+        VelocityComponent vc =
+                entity.fetch(VelocityComponent.class)
+                        .orElseThrow(
+                                () ->
+                                        MissingComponentException.build(
+                                                entity, VelocityComponent.class));
+        Tile currentTile = Game.tileAT(pc.position());
+        Tile nextTile = field.next(currentTile);
+        // entity is already at the target or can not reach it
+        if (nextTile == null) {
+            return;
+        }
+        moveTo(vc, currentTile, nextTile);
+    }
+
+    private static void moveTo(
+            final VelocityComponent vc, final Tile currentTile, final Tile nextTile) {
         switch (currentTile.directionTo(nextTile)[0]) {
             case N -> vc.currentYVelocity(vc.yVelocity());
             case S -> vc.currentYVelocity(-vc.yVelocity());
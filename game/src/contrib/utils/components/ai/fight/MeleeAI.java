@@ -1,23 +1,16 @@
 package contrib.utils.components.ai.fight;
 
-import com.badlogic.gdx.ai.pfa.GraphPath;
-
 import contrib.utils.components.ai.AIUtils;
 import contrib.utils.components.skill.Skill;
 
-import core.Dungeon;
 import core.Entity;
-import core.level.Tile;
 import core.level.utils.LevelUtils;
 
 import java.util.function.Consumer;
 
 public class MeleeAI implements Consumer<Entity> {
     private final float attackRange;
-    private final int delay = Dungeon.frameRate();
-    private int timeSinceLastUpdate = 0;
     private final Skill fightSkill;
-    private GraphPath<Tile> path;
 
     /**
      * Attacks the player if he is within the given range. Otherwise, it will move towards the
@@ -36,12 +29,7 @@ public class MeleeAI implements Consumer<Entity> {
         if (LevelUtils.playerInRange(entity, attackRange)) {
             fightSkill.execute(entity);
         } else {
-            if (timeSinceLastUpdate >= delay) {
-                path = LevelUtils.calculatePathToHero(entity);
-                timeSinceLastUpdate = -1;
-            }
-            timeSinceLastUpdate++;
-            AIUtils.move(entity, path);
+            LevelUtils.flowFieldToHero().ifPresent(field -> AIUtils.move(entity, field));
         }
     }
 
@@ -71,8 +71,7 @@ public final class RangeAI implements Consumer<Entity> {
                 skill.execute(entity);
             }
         } else {
-            path = LevelUtils.calculatePathToHero(entity);
-            AIUtils.move(entity, path);
+            LevelUtils.flowFieldToHero().ifPresent(field -> AIUtils.move(entity, field));
         }
     }
 
@@ -0,0 +1,163 @@
+package contrib.utils.components.collision;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid to find pairs of items whose bounds may overlap (broadphase).
+ *
+ * <p>The cells of the grid have the size of one {@link core.level.Tile}, so the cell of a point is
+ * its tile coordinate (see {@link core.utils.Point#toCoordinate()}). Each item is inserted into
+ * every cell its bounds cover. Two items are reported as a pair if they share at least one cell.
+ *
+ * <p>The cells are stored in a hash table, so the grid does not need to know the size of the level
+ * and works for negative coordinates as well. All internal arrays are reused between frames; call
+ * {@link #clear()} before inserting the items of the next frame.
+ *
+ * <p>Items are identified by a non-negative index, for example the index of an entity in {@link
+ * core.System#entities()}.
+ */
+public final class SpatialHashGrid {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /* Hash table of the cells: key of the cell and the first entry in the cell. */
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] heads = new int[INITIAL_CAPACITY];
+    /* A slot is in use if its stamp equals the current stamp, so clearing the table is O(1). */
+    private int[] stamps = new int[INITIAL_CAPACITY];
+    private int stamp = 1;
+    private int[] usedSlots = new int[INITIAL_CAPACITY];
+    private int usedCount = 0;
+
+    /* Linked lists of the entries per cell. */
+    private int[] entryItem = new int[INITIAL_CAPACITY];
+    private int[] entryNext = new int[INITIAL_CAPACITY];
+    private int entryCount = 0;
+
+    /* Lowest cell covered by each item, used to report a pair only once. */
+    private int[] itemMinX = new int[INITIAL_CAPACITY];
+    private int[] itemMinY = new int[INITIAL_CAPACITY];
+
+    /** Remove all items from the grid. */
+    public void clear() {
+        usedCount = 0;
+        entryCount = 0;
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Insert an item into every cell between the given cell coordinates (inclusive).
+     *
+     * @param item index of the item, must not be inserted twice
+     * @param minX tile x-coordinate of the bottom-left corner of the item
+     * @param minY tile y-coordinate of the bottom-left corner of the item
+     * @param maxX tile x-coordinate of the top-right corner of the item
+     * @param maxY tile y-coordinate of the top-right corner of the item
+     */
+    public void insert(int item, int minX, int minY, int maxX, int maxY) {
+        if (item >= itemMinX.length) {
+            int capacity = Math.max(item + 1, itemMinX.length * 2);
+            itemMinX = Arrays.copyOf(itemMinX, capacity);
+            itemMinY = Arrays.copyOf(itemMinY, capacity);
+        }
+        itemMinX[item] = minX;
+        itemMinY[item] = minY;
+        for (int x = minX; x <= maxX; x++)
+            for (int y = minY; y <= maxY; y++) {
+                int slot = slot(x, y);
+                if (entryCount == entryItem.length) {
+                    entryItem = Arrays.copyOf(entryItem, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                entryItem[entryCount] = item;
+                entryNext[entryCount] = heads[slot];
+                heads[slot] = entryCount++;
+            }
+    }
+
+    /**
+     * Execute the given action for each pair of items that share at least one cell.
+     *
+     * <p>Each pair is reported exactly once, with the lower index first.
+     *
+     * @param action the action to execute on each pair
+     */
+    public void forEachPair(PairConsumer action) {
+        for (int u = 0; u < usedCount; u++) {
+            int slot = usedSlots[u];
+            int cellX = (int) (keys[slot] >> 32);
+            int cellY = (int) keys[slot];
+            for (int a = heads[slot]; a != -1; a = entryNext[a])
+                for (int b = entryNext[a]; b != -1; b = entryNext[b]) {
+                    int itemA = entryItem[a];
+                    int itemB = entryItem[b];
+                    // report the pair only in the first cell both items share
+                    if (Math.max(itemMinX[itemA], itemMinX[itemB]) != cellX
+                            || Math.max(itemMinY[itemA], itemMinY[itemB]) != cellY) continue;
+                    if (itemA < itemB) action.accept(itemA, itemB);
+                    else action.accept(itemB, itemA);
+                }
+        }
+    }
+
+    /* Find the slot of the given cell, creates the cell if needed. */
+    private int slot(int x, int y) {
+        if ((usedCount + 1) * 2 > keys.length) rehash();
+        long key = key(x, y);
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (stamps[slot] == stamp) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        stamps[slot] = stamp;
+        keys[slot] = key;
+        heads[slot] = -1;
+        if (usedCount == usedSlots.length) usedSlots = Arrays.copyOf(usedSlots, usedCount * 2);
+        usedSlots[usedCount++] = slot;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        int[] oldUsed = Arrays.copyOf(usedSlots, usedCount);
+        int capacity = keys.length * 2;
+        keys = new long[capacity];
+        heads = new int[capacity];
+        stamps = new int[capacity];
+        stamp = 1;
+        usedSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int u = 0; u < oldUsed.length; u++) {
+            long key = oldKeys[oldUsed[u]];
+            int slot = hash(key) & mask;
+            while (stamps[slot] == stamp) slot = (slot + 1) & mask;
+            stamps[slot] = stamp;
+            keys[slot] = key;
+            heads[slot] = oldHeads[oldUsed[u]];
+            usedSlots[u] = slot;
+        }
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** Action that is executed on a pair of item indices. */
+    @FunctionalInterface
+    public interface PairConsumer {
+        /**
+         * @param a the lower index of the pair
+         * @param b the higher index of the pair
+         */
+        void accept(int a, int b);
+    }
+}
@@ -8,7 +8,6 @@ import com.esotericsoftware.kryo.io.Output;
 import core.utils.components.draw.Animation;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 /** Custom serializer to send and retrieve objects of {@link Animation}. */
@@ -30,11 +29,11 @@ public class AnimationSerializer extends Serializer<Animation> {
         int frameTime = input.readInt();
         boolean looping = input.readBoolean();
         int size = input.readInt();
-        Collection<String> animationFrames = new ArrayList<>();
+        List<String> animationFrames = new ArrayList<>();
         for (int i = 0; i < size; i++) {
             String frame = input.readString();
             animationFrames.add(frame);
         }
-        return new Animation(animationFrames, frameTime, looping);
+        return Animation.of(animationFrames, frameTime, looping);
     }
 }
@@ -0,0 +1,32 @@
+package core;
+
+/**
+ * Passes entities whose component of the given class was added since the previous run of the
+ * system.
+ *
+ * @param <T> type of the component
+ */
+public final class Added<T extends Component> implements ComponentFilter {
+    private final int type;
+
+    private Added(final Class<T> klass) {
+        type = ComponentType.id(klass);
+    }
+
+    /**
+     * Create a new filter.
+     *
+     * @param klass class of the component to check
+     * @return the filter
+     * @param <T> type of the component
+     */
+    public static <T extends Component> Added<T> of(final Class<T> klass) {
+        return new Added<>(klass);
+    }
+
+    @Override
+    public boolean test(final Entity entity, final long sinceTick) {
+        Component component = ComponentFilter.component(entity, type);
+        return component != null && component.addedTick() > sinceTick;
+    }
+}
@@ -0,0 +1,208 @@
+package core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An Archetype describes a unique combination of {@link Component} classes.
+ *
+ * <p>Each {@link Entity} belongs to exactly one archetype, the one that matches the set of
+ * component classes it currently stores. Adding or removing a component moves the entity to
+ * another archetype.
+ *
+ * <p>Entities that were shown to the systems (see {@link System#showEntity}) and not yet removed
+ * from the game are additionally stored inside their archetype in dense arrays: {@link
+ * #entities()} holds the entities, and for each component class of the archetype, {@link #column}
+ * holds the matching components in the same order. So the component of the entity at {@code
+ * entities()[i]} is stored at {@code column(klass)[i]}. Only the first {@link #size()} slots of
+ * these arrays are valid.
+ *
+ * <p>Systems use {@link System#forEachArchetype} to iterate over these arrays directly, instead of
+ * looking up each component with {@link Entity#fetch}. While a system iterates, entities will not
+ * be moved between archetypes; such changes will be applied after the iteration is finished.
+ *
+ * <p>Archetypes are created and cached by the game, you will never create one yourself.
+ *
+ * @see Entity
+ * @see System
+ */
+public final class Archetype {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final BitSet signature;
+    /* Ids of the component classes in this archetype, sorted. */
+    private final int[] types;
+    /* Component class id -> index of the column, -1 if the class is not part of this archetype. */
+    private final int[] columnIndex;
+    private Entity[] entities;
+    private Component[][] columns;
+    private int size;
+
+    /* Cached transitions to the archetypes with one component class more or less. */
+    private Archetype[] withEdges = new Archetype[0];
+    private Archetype[] withoutEdges = new Archetype[0];
+
+    /**
+     * Create a new archetype for the given set of component class ids.
+     *
+     * @param signature the ids of the component classes, will be copied
+     */
+    Archetype(final BitSet signature) {
+        this.signature = (BitSet) signature.clone();
+        types = this.signature.stream().toArray();
+        columnIndex = new int[this.signature.length()];
+        Arrays.fill(columnIndex, -1);
+        for (int i = 0; i < types.length; i++) columnIndex[types[i]] = i;
+        entities = new Entity[INITIAL_CAPACITY];
+        columns = new Component[types.length][INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return number of entities stored in the dense arrays of this archetype
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the stored entities.
+     *
+     * <p>Only the first {@link #size()} slots are valid. Do not modify the array.
+     *
+     * @return the dense array of stored entities
+     */
+    public Entity[] entities() {
+        return entities;
+    }
+
+    /**
+     * Get the stored components of the given class.
+     *
+     * <p>The component at index {@code i} belongs to the entity at {@code entities()[i]}. Only the
+     * first {@link #size()} slots are valid. Do not modify the array.
+     *
+     * @param klass Class of the component
+     * @return the dense array of components, or null if the class is not part of this archetype
+     */
+    public Component[] column(final Class<? extends Component> klass) {
+        int type = ComponentType.id(klass);
+        return has(type) ? columns[columnIndex[type]] : null;
+    }
+
+    /**
+     * Check if entities of this archetype have a component of the given class.
+     *
+     * @param klass Class of the component
+     * @return true if the component class is part of this archetype, false if not
+     */
+    public boolean has(final Class<? extends Component> klass) {
+        return has(ComponentType.id(klass));
+    }
+
+    boolean has(final int type) {
+        return type < columnIndex.length && columnIndex[type] != -1;
+    }
+
+    /**
+     * Check if this archetype contains all the given component class ids.
+     *
+     * @param required component class ids
+     * @return true if each given id is part of this archetype
+     */
+    boolean containsAll(final BitSet required) {
+        for (int type = required.nextSetBit(0); type >= 0; type = required.nextSetBit(type + 1))
+            if (!has(type)) return false;
+        return true;
+    }
+
+    BitSet signature() {
+        return signature;
+    }
+
+    Archetype cachedWith(final int type) {
+        return type < withEdges.length ? withEdges[type] : null;
+    }
+
+    Archetype cachedWithout(final int type) {
+        return type < withoutEdges.length ? withoutEdges[type] : null;
+    }
+
+    void cacheWith(final int type, final Archetype archetype) {
+        if (type >= withEdges.length) withEdges = Arrays.copyOf(withEdges, type + 1);
+        withEdges[type] = archetype;
+    }
+
+    void cacheWithout(final int type, final Archetype archetype) {
+        if (type >= withoutEdges.length) withoutEdges = Arrays.copyOf(withoutEdges, type + 1);
+        withoutEdges[type] = archetype;
+    }
+
+    /**
+     * Append the given entity to the dense arrays.
+     *
+     * @param entity entity to store
+     * @param components component array of the entity, indexed by component class id
+     * @return the row of the entity
+     */
+    int insert(final Entity entity, final Component[] components) {
+        if (size == entities.length) grow();
+        entities[size] = entity;
+        for (int i = 0; i < types.length; i++) columns[i][size] = components[types[i]];
+        return size++;
+    }
+
+    /**
+     * Remove the entity at the given row from the dense arrays.
+     *
+     * <p>The last entity will be moved into the free row to keep the arrays dense.
+     *
+     * @param row the row to remove
+     * @return the entity that was moved into the given row, or null if no entity was moved
+     */
+    Entity remove(final int row) {
+        int last = --size;
+        Entity moved = null;
+        if (row != last) {
+            moved = entities[last];
+            entities[row] = moved;
+            for (Component[] column : columns) column[row] = column[last];
+        }
+        entities[last] = null;
+        for (Component[] column : columns) column[last] = null;
+        return moved;
+    }
+
+    /**
+     * Replace the component of the given class at the given row.
+     *
+     * @param row the row of the entity
+     * @param type id of the component class, must be part of this archetype
+     * @param component the new component
+     */
+    void set(final int row, final int type, final Component component) {
+        columns[columnIndex[type]][row] = component;
+    }
+
+    /** Remove all entities from the dense arrays. */
+    void clear() {
+        Arrays.fill(entities, 0, size, null);
+        for (Component[] column : columns) Arrays.fill(column, 0, size, null);
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        for (int i = 0; i < columns.length; i++) columns[i] = Arrays.copyOf(columns[i], capacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Archetype[");
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(ComponentType.klass(types[i]).getSimpleName());
+        }
+        return builder.append("]").toString();
+    }
+}
@@ -0,0 +1,223 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Creates and caches the {@link Archetype}s and keeps the dense arrays inside the archetypes in
+ * sync with the entities.
+ *
+ * <p>An entity is stored in the dense arrays of its archetype if it is attached (see {@link
+ * #attach}). Each change of the component set of an attached entity moves the entity to the
+ * matching archetype.
+ *
+ * <p>While a system iterates over the archetypes (between {@link #beginIteration} and {@link
+ * #endIteration}), entities will not be moved. All changes are queued and applied when the last
+ * iteration ends, so the dense arrays never change in the middle of a loop.
+ *
+ * <p>All functions are thread safe: entities received over the network get their components
+ * outside the game loop, and systems may be executed concurrently (see {@link SystemScheduler}).
+ * The scheduler marks each concurrent stage as an iteration, so the dense arrays never change
+ * while systems run concurrently.
+ */
+final class ArchetypeStorage {
+
+    private final Map<BitSet, Archetype> archetypes = new HashMap<>();
+    private final List<Archetype> archetypeList = new ArrayList<>();
+    private final Archetype root;
+    private final Queue<Entity> pending = new ArrayDeque<>();
+    private int iterations = 0;
+
+    ArchetypeStorage() {
+        root = intern(new BitSet());
+    }
+
+    /**
+     * @return the archetype without any component class.
+     */
+    Archetype root() {
+        return root;
+    }
+
+    /**
+     * Get the archetype that has all component classes of the given archetype and the given one.
+     *
+     * @param from the current archetype
+     * @param type id of the component class to add
+     * @return the archetype with the additional component class
+     */
+    Archetype with(final Archetype from, final int type) {
+        synchronized (archetypes) {
+            Archetype to = from.cachedWith(type);
+            if (to == null) {
+                BitSet signature = (BitSet) from.signature().clone();
+                signature.set(type);
+                to = intern(signature);
+                from.cacheWith(type, to);
+                to.cacheWithout(type, from);
+            }
+            return to;
+        }
+    }
+
+    /**
+     * Get the archetype that has all component classes of the given archetype except the given
+     * one.
+     *
+     * @param from the current archetype
+     * @param type id of the component class to remove
+     * @return the archetype without the component class
+     */
+    Archetype without(final Archetype from, final int type) {
+        synchronized (archetypes) {
+            Archetype to = from.cachedWithout(type);
+            if (to == null) {
+                BitSet signature = (BitSet) from.signature().clone();
+                signature.clear(type);
+                to = intern(signature);
+                from.cacheWithout(type, to);
+                to.cacheWith(type, from);
+            }
+            return to;
+        }
+    }
+
+    /**
+     * @return the number of archetypes created so far.
+     */
+    int archetypeCount() {
+        synchronized (archetypes) {
+            return archetypeList.size();
+        }
+    }
+
+    /**
+     * Get an archetype by its creation index.
+     *
+     * <p>Archetypes are never removed, so the index of an archetype never changes.
+     *
+     * @param index creation index of the archetype
+     * @return the archetype
+     */
+    Archetype archetype(final int index) {
+        synchronized (archetypes) {
+            return archetypeList.get(index);
+        }
+    }
+
+    /**
+     * Store the given entity in the dense arrays of its archetype.
+     *
+     * @param entity the entity to store
+     */
+    synchronized void attach(final Entity entity) {
+        if (entity.attached) return;
+        entity.attached = true;
+        schedule(entity);
+    }
+
+    /**
+     * Remove the given entity from the dense arrays of its archetype.
+     *
+     * @param entity the entity to remove
+     */
+    synchronized void detach(final Entity entity) {
+        if (!entity.attached) return;
+        entity.attached = false;
+        schedule(entity);
+    }
+
+    /**
+     * Move the given entity into the archetype that matches its current component set, if it is
+     * attached.
+     *
+     * @param entity the entity whose component set changed
+     */
+    synchronized void structureChanged(final Entity entity) {
+        if (entity.attached || entity.table != null) schedule(entity);
+    }
+
+    /** Remove all entities from the dense arrays. */
+    synchronized void clear() {
+        for (Entity entity : pending) entity.attached = false;
+        if (iterations > 0) {
+            for (int i = 0; i < archetypeCount(); i++) {
+                Archetype archetype = archetype(i);
+                for (int row = 0; row < archetype.size(); row++) detach(archetype.entities()[row]);
+            }
+            return;
+        }
+        for (int i = 0; i < archetypeCount(); i++) {
+            Archetype archetype = archetype(i);
+            for (int row = 0; row < archetype.size(); row++) {
+                Entity entity = archetype.entities()[row];
+                entity.attached = false;
+                entity.table = null;
+                entity.row = -1;
+            }
+            archetype.clear();
+        }
+        applyPending();
+    }
+
+    /** Mark the beginning of an iteration over the dense arrays. */
+    synchronized void beginIteration() {
+        iterations++;
+    }
+
+    /**
+     * Mark the end of an iteration over the dense arrays.
+     *
+     * <p>If no other iteration is running, all queued changes will be applied.
+     */
+    synchronized void endIteration() {
+        if (--iterations == 0) applyPending();
+    }
+
+    private Archetype intern(final BitSet signature) {
+        Archetype archetype = archetypes.get(signature);
+        if (archetype == null) {
+            archetype = new Archetype(signature);
+            archetypes.put(archetype.signature(), archetype);
+            archetypeList.add(archetype);
+        }
+        return archetype;
+    }
+
+    private void schedule(final Entity entity) {
+        if (iterations == 0) relocate(entity);
+        else if (!entity.queued) {
+            entity.queued = true;
+            pending.add(entity);
+        }
+    }
+
+    private void applyPending() {
+        Entity entity;
+        while ((entity = pending.poll()) != null) {
+            entity.queued = false;
+            relocate(entity);
+        }
+    }
+
+    /* Move the entity into the dense arrays it belongs to, based on its current state. */
+    private void relocate(final Entity entity) {
+        Archetype target = entity.attached ? entity.archetype : null;
+        if (entity.table == target) return;
+        if (entity.table != null) {
+            Entity moved = entity.table.remove(entity.row);
+            if (moved != null) moved.row = entity.row;
+            entity.table = null;
+            entity.row = -1;
+        }
+        if (target != null) {
+            entity.row = target.insert(entity, entity.components);
+            entity.table = target;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global clock for the change detection of components.
+ *
+ * <p>Components store the tick of their creation and of their latest change (see {@link
+ * Component#changedTick()}). Each run of a system advances the clock (see {@link
+ * System#beginRun()}), so a system can detect the components that were added or changed since its
+ * previous run by comparing their ticks with the tick of that run.
+ */
+final class ChangeTicks {
+    private static final AtomicLong TICK = new AtomicLong();
+
+    private ChangeTicks() {}
+
+    /**
+     * @return the current tick
+     */
+    static long current() {
+        return TICK.get();
+    }
+
+    /**
+     * Advance the clock.
+     *
+     * <p>All changes after this call are stamped with a tick greater than the returned tick.
+     *
+     * @return the tick before advancing
+     */
+    static long advance() {
+        return TICK.getAndIncrement();
+    }
+}
@@ -0,0 +1,34 @@
+package core;
+
+/**
+ * Passes entities whose component of the given class was added or changed since the previous run
+ * of the system.
+ *
+ * <p>A component is changed if one of its setters was called, see {@link Component#markChanged()}.
+ *
+ * @param <T> type of the component
+ */
+public final class Changed<T extends Component> implements ComponentFilter {
+    private final int type;
+
+    private Changed(final Class<T> klass) {
+        type = ComponentType.id(klass);
+    }
+
+    /**
+     * Create a new filter.
+     *
+     * @param klass class of the component to check
+     * @return the filter
+     * @param <T> type of the component
+     */
+    public static <T extends Component> Changed<T> of(final Class<T> klass) {
+        return new Changed<>(klass);
+    }
+
+    @Override
+    public boolean test(final Entity entity, final long sinceTick) {
+        Component component = ComponentFilter.component(entity, type);
+        return component != null && component.changedTick() > sinceTick;
+    }
+}
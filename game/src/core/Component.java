@@ -18,9 +18,17 @@ import java.util.logging.Logger;
  * the data stored in the components.
  *
  * <p>Remember that an entity can only store one component of each component class.
+ *
+ * <p>Each component records when it was added and when it was changed the last time, so systems
+ * can skip unchanged components (see {@link Changed} and {@link Added}). Setters of a component
+ * have to call {@link #markChanged()}.
  */
 public abstract class Component {
     protected Entity entity;
+    /* Tick when this component was created, see ChangeTicks. */
+    private final long addedTick;
+    /* Tick of the latest change of this component, see markChanged. */
+    private volatile long changedTick;
 
     /**
      * Create a new component and add it to the associated entity
@@ -29,6 +37,8 @@ public abstract class Component {
      */
     public Component(Entity entity) {
         this.entity = entity;
+        addedTick = ChangeTicks.current();
+        changedTick = addedTick;
         entity.addComponent(this);
         Logger componentLogger = Logger.getLogger(this.getClass().getName());
         // Disabled log because currently it overfills console because constructor
@@ -48,6 +58,29 @@ public abstract class Component {
         return entity;
     }
 
+    /**
+     * Mark this component as changed, so systems can detect the change (see {@link Changed}).
+     *
+     * <p>Call this in each setter of a component.
+     */
+    protected final void markChanged() {
+        changedTick = ChangeTicks.current();
+    }
+
+    /**
+     * @return the tick when this component was created
+     */
+    public final long addedTick() {
+        return addedTick;
+    }
+
+    /**
+     * @return the tick of the latest change of this component, see {@link #markChanged()}
+     */
+    public final long changedTick() {
+        return changedTick;
+    }
+
     /** Assign according entity. NOTE: USED for multiplayer feature. */
     public void entity(final Entity entity) {
         this.entity = entity;
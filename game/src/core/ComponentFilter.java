@@ -0,0 +1,41 @@
+package core;
+
+/**
+ * Filter to select the entities of a {@link System} whose components were added or changed since
+ * the previous run of the system.
+ *
+ * <p>Use it with {@link System#entityStream(ComponentFilter)}.
+ *
+ * @see Added
+ * @see Changed
+ */
+public interface ComponentFilter {
+    /**
+     * Check the given entity.
+     *
+     * @param entity entity to check
+     * @param sinceTick tick of the previous run of the system, see {@link Component#changedTick()}
+     * @return true if the entity passes the filter
+     */
+    boolean test(Entity entity, long sinceTick);
+
+    /**
+     * @param other another filter
+     * @return a filter that passes entities that pass this or the other filter
+     */
+    default ComponentFilter or(final ComponentFilter other) {
+        return (entity, sinceTick) -> test(entity, sinceTick) || other.test(entity, sinceTick);
+    }
+
+    /**
+     * Get the component of the given type of the given entity.
+     *
+     * @param entity entity to get the component of
+     * @param type id of the component class, see {@link ComponentType#id}
+     * @return the component, or null if the entity has no component of this type
+     */
+    static Component component(final Entity entity, final int type) {
+        Component[] components = entity.components;
+        return type < components.length ? components[type] : null;
+    }
+}
@@ -0,0 +1,54 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns a dense integer id to each {@link Component} class.
+ *
+ * <p>The id is used as an index into the component array of each {@link Entity} and into the
+ * columns of an {@link Archetype}. This replaces the hash lookups of a {@code
+ * HashMap<Class<? extends Component>, Component>} with plain array accesses.
+ *
+ * <p>Ids are handed out the first time a component class is seen and never change afterward.
+ */
+final class ComponentType {
+
+    private static final List<Class<?>> TYPES = new ArrayList<>();
+
+    private static final ClassValue<Integer> IDS =
+            new ClassValue<>() {
+                @Override
+                protected Integer computeValue(Class<?> type) {
+                    synchronized (TYPES) {
+                        TYPES.add(type);
+                        return TYPES.size() - 1;
+                    }
+                }
+            };
+
+    private ComponentType() {}
+
+    /**
+     * Get the id of the given component class.
+     *
+     * @param klass Class of the component
+     * @return the dense id of the component class
+     */
+    static int id(final Class<? extends Component> klass) {
+        return IDS.get(klass);
+    }
+
+    /**
+     * Get the component class with the given id.
+     *
+     * @param id id of the component class
+     * @return the component class
+     */
+    @SuppressWarnings("unchecked")
+    static Class<? extends Component> klass(final int id) {
+        synchronized (TYPES) {
+            return (Class<? extends Component>) TYPES.get(id);
+        }
+    }
+}
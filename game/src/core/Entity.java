@@ -3,8 +3,11 @@ package core;
 import semanticanalysis.types.DSLContextPush;
 import semanticanalysis.types.DSLType;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -27,6 +30,11 @@ import java.util.stream.Stream;
  *
  * <p>With {@link #fetch}, you can check if the entity has a component of the given class.
  *
+ * <p>Internally, the components are stored in an array indexed by a dense id per component class,
+ * and the entity belongs to the {@link Archetype} that matches its set of component classes.
+ * Systems can iterate over the dense arrays of the archetypes instead of calling {@link #fetch} for
+ * each entity, see {@link System#forEachArchetype}.
+ *
  * @see Component
  * @see System
  * @see Optional
@@ -35,13 +43,26 @@ import java.util.stream.Stream;
 @DSLContextPush(name = "entity")
 public final class Entity implements Comparable<Entity> {
     private static final Logger LOGGER = Logger.getLogger(Entity.class.getName());
-    private static int nextLocaleID = 0;
+    private static final AtomicInteger NEXT_LOCALE_ID = new AtomicInteger();
     /* ID that is unique on local game state. */
     private final int localID;
     /* ID that is unique on global/multiplayer game state. */
     private int globalID;
+    /* Handle in the lookup table of the game, NONE while the entity is not part of the game. */
+    private volatile EntityHandle handle = EntityHandle.NONE;
     private final String name;
-    private final HashMap<Class<? extends Component>, Component> components;
+    /* Components indexed by ComponentType id, null if the entity has no component of that type. */
+    Component[] components = new Component[0];
+    /* Archetype that matches the current set of components. */
+    Archetype archetype;
+    /* Archetype in whose dense arrays this entity is stored, may lag behind during iterations. */
+    Archetype table;
+    /* Row in the dense arrays of table, -1 if not stored. */
+    int row = -1;
+    /* Whether this entity should be stored in the dense arrays of its archetype. */
+    boolean attached;
+    /* Whether a move of this entity is queued in the ArchetypeStorage. */
+    boolean queued;
 
     /**
      * Create a new Entity and register it in {@link Game} using {@link Game#addEntity}.
@@ -49,9 +70,9 @@ public final class Entity implements Comparable<Entity> {
      * @param name the name of the entity, used for better logging and debugging
      */
     public Entity(final String name) {
-        globalID = nextLocaleID;
-        localID = nextLocaleID++;
-        components = new HashMap<>();
+        localID = NEXT_LOCALE_ID.getAndIncrement();
+        globalID = localID;
+        archetype = Game.archetypes().root();
         this.name = name;
         Game.addEntity(this);
         LOGGER.info("The entity '" + name + "' was created.");
@@ -63,7 +84,7 @@ public final class Entity implements Comparable<Entity> {
      * <p>The name of the entity will be its id
      */
     public Entity() {
-        this("_" + nextLocaleID);
+        this("_" + NEXT_LOCALE_ID.get());
     }
 
     /**
@@ -77,7 +98,7 @@ public final class Entity implements Comparable<Entity> {
      * @param globalID
      */
     public Entity(final String name, final int localeID, final int globalID) {
-        components = new HashMap<>();
+        archetype = Game.archetypes().root();
         this.name = name;
         this.localID = localeID;
         this.globalID = globalID;
@@ -94,8 +115,14 @@ public final class Entity implements Comparable<Entity> {
      *
      * @param component The component to add
      */
-    public void addComponent(final Component component) {
-        components.put(component.getClass(), component);
+    public synchronized void addComponent(final Component component) {
+        int type = ComponentType.id(component.getClass());
+        if (type >= components.length) components = Arrays.copyOf(components, type + 1);
+        components[type] = component;
+        if (!archetype.has(type)) {
+            archetype = Game.archetypes().with(archetype, type);
+            Game.archetypes().structureChanged(this);
+        } else if (table != null && table.has(type)) table.set(row, type, component);
         Game.informAboutChanges(this);
         //        LOGGER.info(component.getClass().getName() + " Components from " + this + " was
         // added.");
@@ -109,18 +136,32 @@ public final class Entity implements Comparable<Entity> {
      *
      * @param klass the Class of the component
      */
-    public void removeComponent(final Class<? extends Component> klass) {
-        if (components.remove(klass) != null) {
+    public synchronized void removeComponent(final Class<? extends Component> klass) {
+        int type = ComponentType.id(klass);
+        if (type < components.length && components[type] != null) {
+            components[type] = null;
+            archetype = Game.archetypes().without(archetype, type);
+            Game.archetypes().structureChanged(this);
             Game.informAboutChanges(this);
             //            LOGGER.info(klass.getName() + " from " + name + " was removed.");
         }
     }
 
     /**
-     * @return Components of the entity.
+     * @return a new map containing the components of the entity, keyed by their class.
      */
     public HashMap<Class<? extends Component>, Component> components() {
-        return this.components;
+        HashMap<Class<? extends Component>, Component> map = new HashMap<>();
+        for (int type = 0; type < components.length; type++)
+            if (components[type] != null) map.put(ComponentType.klass(type), components[type]);
+        return map;
+    }
+
+    /**
+     * @return the {@link Archetype} that matches the current set of components of this entity.
+     */
+    public Archetype archetype() {
+        return archetype;
     }
 
     /**
@@ -131,7 +172,9 @@ public final class Entity implements Comparable<Entity> {
      * @see Optional
      */
     public <T extends Component> Optional<T> fetch(final Class<T> klass) {
-        return Optional.ofNullable(klass.cast(components.get(klass)));
+        int type = ComponentType.id(klass);
+        if (type >= components.length) return Optional.empty();
+        return Optional.ofNullable(klass.cast(components[type]));
     }
 
     /**
@@ -141,7 +184,30 @@ public final class Entity implements Comparable<Entity> {
      * @return true if the component is present in the entity, false if not
      */
     public boolean isPresent(final Class<? extends Component> klass) {
-        return components.containsKey(klass);
+        return archetype.has(ComponentType.id(klass));
+    }
+
+    /**
+     * Get the handle of this entity, to look it up with {@link Game#entity}.
+     *
+     * <p>The handle is assigned when the entity is added to the game (see {@link Game#addEntity})
+     * and is invalidated when the entity is removed from the game. If the entity is added again
+     * later, it will get a new handle.
+     *
+     * @return the handle of this entity, {@link EntityHandle#NONE} if the entity is not part of
+     *     the game
+     */
+    public EntityHandle handle() {
+        return handle;
+    }
+
+    /**
+     * Set the handle of this entity.
+     *
+     * @param handle the new handle
+     */
+    void handle(final EntityHandle handle) {
+        this.handle = handle;
     }
 
     /**
@@ -168,7 +234,7 @@ public final class Entity implements Comparable<Entity> {
      * @return Stream of components.
      */
     public Stream<Component> componentStream() {
-        return components.values().stream();
+        return Arrays.stream(components).filter(Objects::nonNull);
     }
 
     /**
@@ -0,0 +1,26 @@
+package core;
+
+/**
+ * Generational handle of an {@link Entity} that is part of the game.
+ *
+ * <p>The index addresses a slot in the lookup table of the game, so {@link Game#entity} finds the
+ * entity in constant time. When the entity is removed from the game, its slot is reused for new
+ * entities, so the index space does not grow over the runtime of the game. The generation of the
+ * slot is increased on each reuse, so a handle of a removed entity will never resolve to another
+ * entity.
+ *
+ * @param index index of the slot in the lookup table
+ * @param generation generation of the slot when the handle was created
+ * @see Entity#handle()
+ */
+public record EntityHandle(int index, int generation) {
+    /** Handle of entities that are not part of the game. */
+    public static final EntityHandle NONE = new EntityHandle(-1, 0);
+
+    /**
+     * @return true if this handle was created for an entity, false if it is {@link #NONE}
+     */
+    public boolean isValid() {
+        return index >= 0;
+    }
+}
@@ -0,0 +1,109 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * Lookup table of the entities that are part of the game, addressed by {@link EntityHandle}s.
+ *
+ * <p>The indices of removed entities are kept in a free list and reused for new entities. Each
+ * slot counts how often it was released, and a handle only resolves if its generation matches.
+ *
+ * <p>All functions are thread safe.
+ */
+final class EntityRegistry {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    /* Stack of released indices. */
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    /* Number of slots that were ever used. */
+    private int used = 0;
+    private int size = 0;
+
+    /**
+     * Register the given entity and assign a handle to it.
+     *
+     * <p>Does nothing if the entity is already registered.
+     *
+     * @param entity entity to register
+     * @return the handle of the entity
+     */
+    synchronized EntityHandle register(final Entity entity) {
+        EntityHandle current = entity.handle();
+        if (get(current) == entity) return current;
+        int index;
+        if (freeCount > 0) index = free[--freeCount];
+        else {
+            if (used == entities.length) {
+                entities = Arrays.copyOf(entities, used * 2);
+                generations = Arrays.copyOf(generations, used * 2);
+            }
+            index = used++;
+        }
+        entities[index] = entity;
+        size++;
+        EntityHandle handle = new EntityHandle(index, generations[index]);
+        entity.handle(handle);
+        return handle;
+    }
+
+    /**
+     * Release the slot of the given entity, so the slot can be reused for another entity.
+     *
+     * <p>Does nothing if the entity is not registered.
+     *
+     * @param entity entity to release
+     */
+    synchronized void release(final Entity entity) {
+        EntityHandle handle = entity.handle();
+        if (get(handle) != entity) return;
+        releaseSlot(handle.index());
+        entity.handle(EntityHandle.NONE);
+    }
+
+    /**
+     * Get the entity of the given handle.
+     *
+     * @param handle handle of the entity
+     * @return the registered entity, or null if the handle is invalid or the entity was released
+     */
+    synchronized Entity get(final EntityHandle handle) {
+        int index = handle.index();
+        if (index < 0 || index >= used || generations[index] != handle.generation()) return null;
+        return entities[index];
+    }
+
+    /** Release all registered entities. */
+    synchronized void clear() {
+        for (int index = 0; index < used; index++) {
+            Entity entity = entities[index];
+            if (entity == null) continue;
+            releaseSlot(index);
+            entity.handle(EntityHandle.NONE);
+        }
+    }
+
+    /**
+     * @return number of registered entities
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return number of slots in the lookup table, including the released ones
+     */
+    synchronized int capacity() {
+        return used;
+    }
+
+    private void releaseSlot(final int index) {
+        entities[index] = null;
+        generations[index]++;
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = index;
+        size--;
+    }
+}
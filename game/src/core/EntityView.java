@@ -0,0 +1,196 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The set of entities that is processed by a {@link System}.
+ *
+ * <p>The entities are stored in an array, sorted by their {@link Entity#id()}. The view is updated
+ * incrementally if an entity is added to or removed from the system, so it never needs to be
+ * rebuilt.
+ *
+ * <p>Iterating over the view with {@link #forEach}, {@link #stream} or {@link #iterator} will not
+ * copy the entities. These methods work on a snapshot: if the system adds or removes an entity in
+ * the meantime, the change will be applied to a copy of the array, so the running iteration is
+ * not affected.
+ *
+ * <p>Use {@link #size()} and {@link #get(int)} for index based loops. These methods always reflect
+ * the current state of the view.
+ *
+ * @see System#entities()
+ */
+public final class EntityView implements Iterable<Entity> {
+    private static final Entity[] EMPTY = new Entity[0];
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Entity[] entities = EMPTY;
+    private int size = 0;
+    /* True if the current array may be in use by a stream or an iterator. */
+    private boolean shared = false;
+    /* Number of running forEach calls. */
+    private int iterations = 0;
+
+    EntityView() {}
+
+    /**
+     * @return number of entities in this view
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if this view contains no entity
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the entity at the given index.
+     *
+     * <p>The entities are sorted by their id.
+     *
+     * @param index index of the entity, between 0 and {@link #size()} - 1
+     * @return the entity at the given index
+     */
+    public Entity get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return entities[index];
+    }
+
+    /**
+     * Check if the given entity is part of this view.
+     *
+     * @param entity entity to look for
+     * @return true if the entity is part of this view, false if not
+     */
+    public boolean contains(Entity entity) {
+        return indexOf(entity) >= 0;
+    }
+
+    /**
+     * Get the index of the given entity.
+     *
+     * @param entity entity to look for
+     * @return the index of the entity (see {@link #get(int)}), or -1 if it is not part of this view
+     */
+    public int indexOf(Entity entity) {
+        int index = Arrays.binarySearch(entities, 0, size, entity);
+        if (index < 0) return -1;
+        // different entities may share an id (e.g. entities received in multiplayer mode)
+        for (int i = index; i >= 0 && entities[i].id() == entity.id(); i--)
+            if (entities[i] == entity) return i;
+        for (int i = index + 1; i < size && entities[i].id() == entity.id(); i++)
+            if (entities[i] == entity) return i;
+        return -1;
+    }
+
+    /**
+     * Execute the given action for each entity in this view, in the order of their ids.
+     *
+     * @param action the action to execute
+     */
+    @Override
+    public void forEach(Consumer<? super Entity> action) {
+        Entity[] snapshot = entities;
+        int snapshotSize = size;
+        iterations++;
+        try {
+            for (int i = 0; i < snapshotSize; i++) action.accept(snapshot[i]);
+        } finally {
+            iterations--;
+        }
+    }
+
+    /**
+     * @return a stream of the entities in this view, in the order of their ids
+     */
+    public Stream<Entity> stream() {
+        shared = true;
+        return Arrays.stream(entities, 0, size);
+    }
+
+    @Override
+    public Iterator<Entity> iterator() {
+        shared = true;
+        final Entity[] snapshot = entities;
+        final int snapshotSize = size;
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < snapshotSize;
+            }
+
+            @Override
+            public Entity next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return snapshot[index++];
+            }
+        };
+    }
+
+    /**
+     * Add the given entity at its sorted position.
+     *
+     * @param entity entity to add
+     * @return true if the entity was added, false if it was already part of this view
+     */
+    boolean add(Entity entity) {
+        int index = insertionPoint(entity);
+        if (index < 0) return false;
+        prepareWrite(size + 1);
+        java.lang.System.arraycopy(entities, index, entities, index + 1, size - index);
+        entities[index] = entity;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove the given entity.
+     *
+     * @param entity entity to remove
+     * @return true if the entity was removed, false if it was not part of this view
+     */
+    boolean remove(Entity entity) {
+        int index = indexOf(entity);
+        if (index < 0) return false;
+        prepareWrite(size);
+        java.lang.System.arraycopy(entities, index + 1, entities, index, size - index - 1);
+        entities[--size] = null;
+        return true;
+    }
+
+    /** Remove all entities. */
+    void clear() {
+        if (shared || iterations > 0) {
+            entities = EMPTY;
+            shared = false;
+        } else Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    /* Make sure the array can be modified in place and can hold the given number of entities. */
+    private void prepareWrite(int capacity) {
+        if (shared || iterations > 0 || capacity > entities.length) {
+            int length = Math.max(entities.length, INITIAL_CAPACITY);
+            while (length < capacity) length *= 2;
+            entities = Arrays.copyOf(entities, length);
+            shared = false;
+        }
+    }
+
+    /* Sorted position for the given entity, or -1 if it is already part of this view. */
+    private int insertionPoint(Entity entity) {
+        if (size == 0 || entities[size - 1].compareTo(entity) < 0) return size;
+        int index = Arrays.binarySearch(entities, 0, size, entity);
+        if (index < 0) return -(index + 1);
+        return indexOf(entity) >= 0 ? -1 : index;
+    }
+}
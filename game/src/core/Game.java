@@ -23,6 +23,7 @@ import contrib.utils.multiplayer.manager.MultiplayerServerManager;
 import core.components.PositionComponent;
 import core.components.UIComponent;
 import core.configuration.Configuration;
+import core.hud.ProfilerOverlay;
 import core.hud.UITools;
 import core.level.Tile;
 import core.level.elements.ILevel;
@@ -42,11 +43,14 @@ import core.utils.DelayedSet;
 import core.utils.IVoidFunction;
 import core.utils.Point;
 import core.utils.components.MissingComponentException;
+import core.utils.components.draw.TextureMap;
+import core.utils.profiling.FrameProfiler;
 
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -66,8 +70,19 @@ public class Game extends ScreenAdapter
     private static final Map<Class<? extends System>, System> SYSTEMS = new LinkedHashMap<>();
     /** All entities that are currently active in the dungeon */
     private static final DelayedSet<Entity> ENTITIES = new DelayedSet<>();
+    /** Lookup table of the entities in the game, see {@link #entity(EntityHandle)}. */
+    private static final EntityRegistry REGISTRY = new EntityRegistry();
+    /** Archetypes and the dense component arrays of the entities processed by the systems. */
+    private static final ArchetypeStorage ARCHETYPES = new ArchetypeStorage();
+    /** Records the frame time and the execution time of each system, if enabled. */
+    private static final FrameProfiler PROFILER = new FrameProfiler();
+    /** Executes the systems each frame, concurrently where possible. */
+    private static final SystemScheduler SCHEDULER =
+            new SystemScheduler(ForkJoinPool.commonPool(), ARCHETYPES, PROFILER);
 
     private static final Logger LOGGER = Logger.getLogger("Game");
+    /** Seconds since the last frame, see {@link #frameDelta()}. */
+    private static float frameDelta = 0;
     /**
      * The width of the game window in pixels.
      *
@@ -119,6 +134,7 @@ public class Game extends ScreenAdapter
 
     private boolean doSetup = true;
     private boolean uiDebugFlag = false;
+    private ProfilerOverlay profilerOverlay;
 
     private static Optional<GameMode> currentGameMode;
     private static MultiplayerClientManager clientManager;
@@ -144,6 +160,7 @@ public class Game extends ScreenAdapter
     /** Remove all registered systems from the game. */
     public static void removeAllSystems() {
         SYSTEMS.clear();
+        SCHEDULER.invalidate();
     }
 
     /**
@@ -207,10 +224,13 @@ public class Game extends ScreenAdapter
     /**
      * The given entity will be added to the game on the next frame.
      *
+     * <p>The entity gets its {@link Entity#handle()} immediately.
+     *
      * @param entity the entity to add
      * @see DelayedSet
      */
     public static void addEntity(Entity entity) {
+        REGISTRY.register(entity);
         ENTITIES.add(entity);
         LOGGER.info("Entity: " + entity + " will be added to the Game.");
     }
@@ -226,9 +246,55 @@ public class Game extends ScreenAdapter
         LOGGER.info("Entity: " + entity + " will be removed from the Game.");
     }
 
+    /**
+     * @return the storage of all {@link Archetype}s.
+     */
+    static ArchetypeStorage archetypes() {
+        return ARCHETYPES;
+    }
+
+    /**
+     * Get the entity of the given handle in constant time.
+     *
+     * @param handle handle of the entity, see {@link Entity#handle()}
+     * @return Optional that contains the entity, or is empty if the entity was removed from the
+     *     game
+     */
+    public static Optional<Entity> entity(final EntityHandle handle) {
+        return Optional.ofNullable(REGISTRY.get(handle));
+    }
+
+    /**
+     * Get the profiler of the game loop.
+     *
+     * <p>The profiler is disabled by default. Enable it with {@link FrameProfiler#setEnabled} or
+     * with the {@link core.configuration.KeyboardConfig#TOGGLE_PROFILER} key, which also shows the
+     * {@link ProfilerOverlay}.
+     *
+     * @return the profiler of the game loop
+     */
+    public static FrameProfiler profiler() {
+        return PROFILER;
+    }
+
+    /**
+     * Get the duration of the current frame.
+     *
+     * <p>In the game loop, this is the time since the last frame. In headless mode ({@link
+     * #simulateFrame(float)}), each frame lasts exactly one tick of the {@link SimulationRunner}.
+     *
+     * @return seconds since the last frame
+     */
+    public static float frameDelta() {
+        return frameDelta;
+    }
+
     /**
      * Use this stream if you want to iterate over all currently active entities.
      *
+     * <p>The stream is backed by an immutable snapshot of the entities, so it can be used while
+     * entities are added or removed.
+     *
      * @return a stream of all entities currently in the game
      */
     public static Stream<Entity> entityStream() {
@@ -299,6 +365,8 @@ public class Game extends ScreenAdapter
      * Has to be called whenever an entity is moved, so that it can be synchronized with global
      * state.
      *
+     * <p>Does nothing if no multiplayer client was set up, e.g. in a headless simulation.
+     *
      * @param entityGlobalID Global ID of the entity.
      * @param newPosition New position of the entity.
      * @param xVelocity X velocity while moving.
@@ -309,6 +377,7 @@ public class Game extends ScreenAdapter
             final Point newPosition,
             final float xVelocity,
             final float yVelocity) {
+        if (clientManager == null) return;
         clientManager.sendMovementUpdate(entityGlobalID, newPosition, xVelocity, yVelocity);
     }
 
@@ -481,6 +550,7 @@ public class Game extends ScreenAdapter
     public void dispose() {
         clientManager.disconnect();
         serverManager.stop();
+        TextureMap.instance().dispose();
     }
 
     /**
@@ -503,6 +573,7 @@ public class Game extends ScreenAdapter
     public static Optional<System> addSystem(System system) {
         System currentSystem = SYSTEMS.get(system.getClass());
         SYSTEMS.put(system.getClass(), system);
+        SCHEDULER.invalidate();
         LOGGER.info("A new " + system.getClass().getName() + " was added to the game");
         return Optional.ofNullable(currentSystem);
     }
@@ -514,6 +585,7 @@ public class Game extends ScreenAdapter
      */
     public static void removeSystem(Class<? extends System> system) {
         SYSTEMS.remove(system);
+        SCHEDULER.invalidate();
     }
 
     /**
@@ -524,6 +596,8 @@ public class Game extends ScreenAdapter
     public static void removeAllEntities() {
         SYSTEMS.values().forEach(System::clearEntities);
         ENTITIES.clear();
+        ARCHETYPES.clear();
+        REGISTRY.clear();
         LOGGER.info("All entities will be removed from the game.");
     }
 
@@ -680,19 +754,23 @@ public class Game extends ScreenAdapter
     /**
      * Main game loop.
      *
-     * <p>Redraws the dungeon, updates the entity sets, and triggers the execution of the systems.
-     * Will call {@link #onFrame}.
+     * <p>Redraws the dungeon, updates the entity sets, and triggers the execution of the systems
+     * (see {@link SystemScheduler}). Will call {@link #onFrame}.
      *
      * @param delta the time since the last loop
      */
     @Override
     public void render(float delta) {
+        frameDelta = delta;
         if (doSetup) onSetup();
         DrawSystem.batch().setProjectionMatrix(CameraSystem.camera().combined);
         onFrame();
         clearScreen();
+        PROFILER.beginFrame();
         updateSystems();
-        SYSTEMS.values().stream().filter(System::isRunning).forEach(System::execute);
+        SCHEDULER.execute(SYSTEMS.values(), false);
+        DrawSystem.painter().flush();
+        PROFILER.endFrame(SYSTEMS.values());
         CameraSystem.camera().update();
         // stage logic
         Game.stage().ifPresent(Game::updateStage);
@@ -708,6 +786,7 @@ public class Game extends ScreenAdapter
         CameraSystem.camera().zoom = Constants.DEFAULT_ZOOM_FACTOR;
         initBaseLogger();
         createSystems();
+        PROFILER.registerMBean();
         clientManager = new MultiplayerClientManager(this);
         serverManager = new MultiplayerServerManager(this);
         setupStage();
@@ -722,6 +801,7 @@ public class Game extends ScreenAdapter
     private void onFrame() {
         debugKeys();
         fullscreenKey();
+        profilerKey();
         userOnFrame.execute();
     }
 
@@ -747,19 +827,53 @@ public class Game extends ScreenAdapter
         }
     }
 
+    private void profilerKey() {
+        if (Gdx.input.isKeyJustPressed(core.configuration.KeyboardConfig.TOGGLE_PROFILER.value())) {
+            if (profilerOverlay == null) {
+                profilerOverlay = new ProfilerOverlay(PROFILER);
+                stage().ifPresent(x -> x.addActor(profilerOverlay));
+            }
+            boolean enabled = !PROFILER.isEnabled();
+            PROFILER.setEnabled(enabled);
+            profilerOverlay.setVisible(enabled);
+        }
+    }
+
     private Entity newPauseMenu() {
         Entity entity = UITools.generateNewTextDialog("Pause", "Continue", "Pausemenu");
         entity.fetch(UIComponent.class).ifPresent(y -> y.dialog().setVisible(true));
         return entity;
     }
 
+    /**
+     * Simulate one frame of the game loop without a graphics context.
+     *
+     * <p>Updates the entity sets and calls {@link System#executeHeadless} on each system.
+     *
+     * @param delta duration of the simulated frame in seconds, see {@link #frameDelta()}
+     * @see SimulationRunner
+     */
+    static void simulateFrame(final float delta) {
+        frameDelta = delta;
+        PROFILER.beginFrame();
+        updateSystems();
+        SCHEDULER.execute(SYSTEMS.values(), true);
+        PROFILER.endFrame(SYSTEMS.values());
+    }
+
     /** Will update the entity sets of each system and {@link Game#ENTITIES}. */
-    private static void updateSystems() {
-        for (System system : SYSTEMS.values()) {
-            ENTITIES.foreachEntityInAddSet(system::showEntity);
-            ENTITIES.foreachEntityInRemoveSet(system::removeEntity);
-        }
-        ENTITIES.update();
+    static void updateSystems() {
+        ENTITIES.update(
+                entity -> {
+                    for (System system : SYSTEMS.values()) system.showEntity(entity);
+                    PROFILER.entityAdded();
+                },
+                entity -> {
+                    for (System system : SYSTEMS.values()) system.removeEntity(entity);
+                    ARCHETYPES.detach(entity);
+                    REGISTRY.release(entity);
+                    PROFILER.entityRemoved();
+                });
     }
 
     public static Game getInstance() {
@@ -778,6 +892,7 @@ public class Game extends ScreenAdapter
      * @param entity entity to set on the start of the level, normally this is the hero.
      */
     private void placeOnLevelStart(Entity entity) {
+        REGISTRY.register(entity);
         ENTITIES.add(entity);
         PositionComponent pc =
                 entity.fetch(PositionComponent.class)
@@ -801,11 +916,14 @@ public class Game extends ScreenAdapter
     /** Create the systems. */
     private void createSystems() {
         addSystem(new CameraSystem());
-        addSystem(
+        LevelSystem levelSystem =
                 new LevelSystem(
                         DrawSystem.painter(),
                         new WallGenerator(new RandomWalkGenerator()),
-                        onLevelLoad));
+                        onLevelLoad);
+        // the next level is ready when the hero reaches the end tile
+        levelSystem.prefetch(1, LEVELSIZE, null);
+        addSystem(levelSystem);
         addSystem(new DrawSystem());
         addSystem(new VelocitySystem());
         addSystem(new PlayerSystem());
@@ -828,7 +946,7 @@ public class Game extends ScreenAdapter
 
         if (currentGameMode.isPresent()) {
             if (currentGameMode.get() == GameMode.SinglePlayer) {
-                levelSystem.loadLevel(LEVELSIZE);
+                levelSystem.loadLevelAsync(LEVELSIZE);
             } else {
                 if (clientManager.isConnectedToSession()) {
                     if (serverManager.isHost(clientManager.clientID())) {
@@ -0,0 +1,144 @@
+package core;
+
+import core.utils.IVoidFunction;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Runs the game loop without a graphics context at a fixed tick rate.
+ *
+ * <p>Each tick simulates one frame of the game loop: the entity sets of the systems are updated and
+ * each running system is executed with {@link System#executeHeadless}. So the systems will not
+ * draw anything and will not read any input. The game needs no window, no {@link
+ * com.badlogic.gdx.Gdx} and no {@link Game#render} call, which allows to run a simulation on a
+ * server or in tests.
+ *
+ * <p>Use {@link #start()} to tick in real time on a separate thread, for example with 60 or 128
+ * ticks per second. Use {@link #run(long)} to simulate a number of ticks as fast as possible on the
+ * calling thread, for example for batch simulations or soak tests.
+ *
+ * <p>Do not use the runner while the game is rendered by {@link Game#render}, because both would
+ * update the same entities and systems.
+ *
+ * <p>The systems must be added to the game before the first tick (see {@link Game#addSystem}).
+ */
+public final class SimulationRunner {
+    /** Default number of ticks per second. */
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    private static final Logger LOGGER = Logger.getLogger(SimulationRunner.class.getName());
+
+    private final int tickRate;
+    private final IVoidFunction onTick;
+    private ScheduledExecutorService executor;
+    private volatile long ticks = 0;
+
+    /** Create a new runner with {@link #DEFAULT_TICK_RATE} ticks per second. */
+    public SimulationRunner() {
+        this(DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * Create a new runner.
+     *
+     * @param tickRate Number of ticks per second in real time mode.
+     */
+    public SimulationRunner(final int tickRate) {
+        this(tickRate, () -> {});
+    }
+
+    /**
+     * Create a new runner.
+     *
+     * @param tickRate Number of ticks per second in real time mode.
+     * @param onTick Callback-function that is called after each tick, e.g. to send the game state
+     *     to the clients.
+     */
+    public SimulationRunner(final int tickRate, final IVoidFunction onTick) {
+        if (tickRate <= 0)
+            throw new IllegalArgumentException("The tick rate must be positive: " + tickRate);
+        this.tickRate = tickRate;
+        this.onTick = onTick;
+    }
+
+    /**
+     * @return number of ticks per second in real time mode
+     */
+    public int tickRate() {
+        return tickRate;
+    }
+
+    /**
+     * @return number of ticks simulated so far
+     */
+    public long ticks() {
+        return ticks;
+    }
+
+    /**
+     * @return true if the runner is ticking in real time, false if not
+     */
+    public synchronized boolean isRunning() {
+        return executor != null && !executor.isShutdown();
+    }
+
+    /**
+     * Simulate a single tick.
+     *
+     * <p>The tick lasts {@code 1 / tickRate} seconds of game time, see {@link Game#frameDelta()}.
+     *
+     * <p>Must not be called while the runner is ticking in real time.
+     */
+    public void tick() {
+        Game.simulateFrame(1f / tickRate);
+        ticks++;
+        onTick.execute();
+    }
+
+    /**
+     * Simulate the given number of ticks as fast as possible on the calling thread.
+     *
+     * <p>Must not be called while the runner is ticking in real time.
+     *
+     * @param count number of ticks to simulate
+     */
+    public void run(final long count) {
+        if (isRunning()) throw new IllegalStateException("The runner is already running.");
+        for (long i = 0; i < count; i++) tick();
+    }
+
+    /**
+     * Start ticking in real time with the configured tick rate on a separate thread.
+     *
+     * <p>If a tick takes longer than the tick duration, the next ticks will be executed
+     * immediately to catch up. If a tick throws an exception, the runner will stop.
+     */
+    public synchronized void start() {
+        if (isRunning()) return;
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleAtFixedRate(
+                () -> {
+                    try {
+                        tick();
+                    } catch (RuntimeException e) {
+                        LOGGER.severe("Simulation stopped after tick " + ticks + ": " + e);
+                        stop();
+                    }
+                },
+                0,
+                1_000_000_000L / tickRate,
+                TimeUnit.NANOSECONDS);
+        LOGGER.info("Simulation started with " + tickRate + " ticks per second.");
+    }
+
+    /** Stop ticking in real time. The current tick will be finished. */
+    public synchronized void stop() {
+        if (executor == null) return;
+        executor.shutdown();
+        executor = null;
+        LOGGER.info("Simulation stopped after " + ticks + " ticks.");
+    }
+}
@@ -1,7 +1,9 @@
 package core;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
@@ -21,7 +23,16 @@ import java.util.stream.Stream;
  *
  * <p>The {@link #execute} method will execute the system logic on each entity in the set.
  *
- * <p>The execute method gets called every frame in the game loop from {@link Game#render}.
+ * <p>Use {@link #entities} or {@link #entityStream} to iterate over the entities of the set, or
+ * use {@link #forEachArchetype} to iterate over the dense component arrays of all {@link
+ * Archetype}s that match the needed components of this system.
+ *
+ * <p>Use {@link #entityStream(ComponentFilter)}, {@link #isChanged} and {@link #isAdded} to process
+ * only the entities whose components were added or changed since the previous run of the system.
+ *
+ * <p>The execute method gets called every frame in the game loop from {@link Game#render}. Systems
+ * that declare the component classes they read and write may be executed concurrently to other
+ * systems, see {@link SystemScheduler}.
  *
  * <p>Systems are designed to be unique, so don't create two systems of the same type.
  *
@@ -31,9 +42,26 @@ import java.util.stream.Stream;
  */
 public abstract class System {
     protected static Logger LOGGER = Logger.getLogger("System");
-    private final Set<Entity> entities;
+    private final EntityView entities = new EntityView();
     private final Class<? extends Component> keyComponent;
     private final Set<Class<? extends Component>> additionalComponents;
+    /* Component classes read and written in execute, null if not declared. */
+    private final Set<Class<? extends Component>> reads;
+    private final Set<Class<? extends Component>> writes;
+    /* Ids of the key component and the additional components. */
+    private final BitSet signature = new BitSet();
+    /* All archetypes that contain the key component and the additional components. */
+    private final List<Archetype> archetypes = new ArrayList<>();
+    /* Number of archetypes in the ArchetypeStorage that were already checked for a match. */
+    private int checkedArchetypes = 0;
+    /* Tick when the current or latest run started, see ChangeTicks. */
+    private long runTick = -1;
+    /* Tick when the previous run started, changes after it are visible to the current run. */
+    private long sinceTick = -1;
+    /* True while the system is executed concurrently to other systems, see #defer. */
+    private boolean concurrent = false;
+    /* Actions passed to #defer during a concurrent run. */
+    private final List<Runnable> deferred = new ArrayList<>();
     protected boolean run;
 
     /**
@@ -75,24 +103,74 @@ public abstract class System {
      * <p>For each already existing entity in the game, check if the entity is accepted by {@link
      * #accept} and add it to the local set if so.
      *
+     * <p>The system declares which component classes it reads and writes in {@link #execute}. The
+     * key component and the additional components count as read. Adding, replacing or removing a
+     * component, or changing its state, counts as a write of the component class. Systems that do
+     * not conflict with each other (see {@link #conflictsWith}) may be executed concurrently, see
+     * {@link SystemScheduler}. So the system must not touch any other shared state, except for
+     * thread safe functions like {@link Game#addEntity} and {@link Game#removeEntity}.
+     *
+     * <p>Reading a component of another entity, e.g. of the hero, counts as a read of its class.
+     * Spawning an entity counts as a write of each component class that is added to the new entity.
+     * If the system runs code that is configured from outside, like AI strategies, skills or
+     * callbacks, it can not know which components are touched; such a system must run this code
+     * with {@link #defer}, or use a constructor without reads and writes, so it is always executed
+     * alone.
+     *
+     * @param reads Component-Classes the system reads, in addition to the key component and the
+     *     additional components.
+     * @param writes Component-Classes the system writes.
      * @param keyComponent The Class of the key-component for the system. Each entity without this
      *     component will be ignored.
      * @param additionalComponents Additional needed Component-Classes. Entities with the key
      *     component but without all additional components will not be processed by this system.
      */
     public System(
+            Set<Class<? extends Component>> reads,
+            Set<Class<? extends Component>> writes,
             Class<? extends Component> keyComponent,
             Class<? extends Component>... additionalComponents) {
         this.keyComponent = keyComponent;
         if (additionalComponents != null) this.additionalComponents = Set.of(additionalComponents);
         else this.additionalComponents = new HashSet<>();
-        entities = new HashSet<>();
+        signature.set(ComponentType.id(keyComponent));
+        for (Class<? extends Component> klass : this.additionalComponents)
+            signature.set(ComponentType.id(klass));
+        if (writes != null) {
+            this.reads = new HashSet<>(this.additionalComponents);
+            this.reads.add(keyComponent);
+            if (reads != null) this.reads.addAll(reads);
+            this.writes = Set.copyOf(writes);
+        } else {
+            this.reads = null;
+            this.writes = null;
+        }
         Game.addSystem(this);
         Game.entityStream().forEach(this::showEntity);
         run = true;
         LOGGER.info("A new " + this.getClass().getName() + " was created");
     }
 
+    /**
+     * Create a new system and add it to the game. {@link Game#addSystem}
+     *
+     * <p>For each already existing entity in the game, check if the entity is accepted by {@link
+     * #accept} and add it to the local set if so.
+     *
+     * <p>The system does not declare which component classes it reads and writes, so it will
+     * always be executed alone on the thread of the game loop.
+     *
+     * @param keyComponent The Class of the key-component for the system. Each entity without this
+     *     component will be ignored.
+     * @param additionalComponents Additional needed Component-Classes. Entities with the key
+     *     component but without all additional components will not be processed by this system.
+     */
+    public System(
+            Class<? extends Component> keyComponent,
+            Class<? extends Component>... additionalComponents) {
+        this(null, null, keyComponent, additionalComponents);
+    }
+
     /**
      * Create a new system and add it to the game. {@link Game#addSystem}
      *
@@ -109,6 +187,20 @@ public abstract class System {
     /** Implements the functionality of the system. */
     public abstract void execute();
 
+    /**
+     * Implements the functionality of the system without a graphics context.
+     *
+     * <p>This will be called instead of {@link #execute} if the game is simulated headless, see
+     * {@link SimulationRunner}. There is no window, no input, and no {@link
+     * com.badlogic.gdx.Gdx#graphics} in that case.
+     *
+     * <p>The default implementation just calls {@link #execute}. Systems that draw on the screen
+     * or read the input should override this and skip that part.
+     */
+    public void executeHeadless() {
+        execute();
+    }
+
     /**
      * Check if the given entity has all the components needed to be processed by this system.
      *
@@ -124,6 +216,7 @@ public abstract class System {
      * @param entity the entity to add
      */
     public final void showEntity(Entity entity) {
+        Game.archetypes().attach(entity);
         if (accept(entity)) addEntity(entity);
         else removeEntity(entity);
         onEntityShow.accept(entity);
@@ -145,8 +238,8 @@ public abstract class System {
      * Remove the given entity from the local set so that it will no longer be processed by the
      * system.
      *
-     * <p>Do not call this function inside {@link #execute} or you risk a {@link
-     * java.util.ConcurrentModificationException}.
+     * <p>It is safe to call this function inside {@link #execute}, a running iteration over {@link
+     * #entities} will not be affected.
      *
      * @param entity the entity to remove
      */
@@ -160,10 +253,8 @@ public abstract class System {
     /**
      * Remove all entities immediately from this system.
      *
-     * <p>Do not call this function inside {@link #execute} or you risk a {@link
-     * java.util.ConcurrentModificationException}.
-     *
-     * @see java.util.ConcurrentModificationException
+     * <p>It is safe to call this function inside {@link #execute}, a running iteration over {@link
+     * #entities} will not be affected.
      */
     public final void clearEntities() {
         entities.clear();
@@ -215,6 +306,32 @@ public abstract class System {
         return run;
     }
 
+    /**
+     * @return true if this system declared the component classes it reads and writes, false if
+     *     not
+     */
+    public final boolean declaresAccess() {
+        return writes != null;
+    }
+
+    /**
+     * Check if this system and the given system must not be executed at the same time.
+     *
+     * <p>Two systems conflict if one of them writes a component class the other one reads or
+     * writes. A system that did not declare its component access conflicts with every system.
+     *
+     * @param other the system to check
+     * @return true if the systems conflict, false if they can be executed concurrently
+     */
+    public final boolean conflictsWith(System other) {
+        if (!declaresAccess() || !other.declaresAccess()) return true;
+        for (Class<? extends Component> klass : writes)
+            if (other.reads.contains(klass) || other.writes.contains(klass)) return true;
+        for (Class<? extends Component> klass : other.writes)
+            if (reads.contains(klass)) return true;
+        return false;
+    }
+
     /**
      * Check if the given entity has all the components needed to be processed by this system.
      *
@@ -237,14 +354,154 @@ public abstract class System {
         return false;
     }
 
+    /**
+     * Get the active entities for this system.
+     *
+     * <p>The view is sorted by the entity ids and is updated incrementally if entities are added to
+     * or removed from this system. Use it in the {@link #execute} method to iterate over the
+     * entities without copying them.
+     *
+     * @return the entities that will be processed by the system
+     * @see EntityView
+     */
+    public final EntityView entities() {
+        return entities;
+    }
+
     /**
      * Use this Stream to iterate over all active entities for this system in the {@link #execute}
      * method.
      *
-     * @return a stream of active entities (! copied !) that will be processed by the system
+     * <p>The stream works on a snapshot of the {@link #entities() entity view}, so it is safe to
+     * add or remove entities while the stream is processed.
+     *
+     * @return a stream of active entities that will be processed by the system
      */
     public final Stream<Entity> entityStream() {
-        return new ArrayList<>(entities).stream();
+        return entities.stream();
+    }
+
+    /**
+     * Use this Stream to iterate over the active entities for this system that pass the given
+     * filter, e.g. {@code entityStream(Changed.of(PositionComponent.class))} for the entities
+     * whose position changed since the previous run of this system.
+     *
+     * <p>Changes made by this system itself in its previous run are included, so no change is ever
+     * missed. If the system is executed without the {@link SystemScheduler} (e.g. in tests), all
+     * components count as added and changed.
+     *
+     * @param filter filter to check each entity with
+     * @return a stream of the active entities that pass the filter
+     * @see Added
+     * @see Changed
+     */
+    public final Stream<Entity> entityStream(final ComponentFilter filter) {
+        final long since = sinceTick;
+        return entities.stream().filter(entity -> filter.test(entity, since));
+    }
+
+    /**
+     * Check if the given component was changed since the previous run of this system.
+     *
+     * <p>Use this with {@link #forEachArchetype} to skip unchanged components.
+     *
+     * @param component component to check
+     * @return true if the component was added or changed since the previous run
+     * @see #entityStream(ComponentFilter)
+     */
+    protected final boolean isChanged(final Component component) {
+        return component.changedTick() > sinceTick;
+    }
+
+    /**
+     * Check if the given component was added since the previous run of this system.
+     *
+     * @param component component to check
+     * @return true if the component was added since the previous run
+     * @see #entityStream(ComponentFilter)
+     */
+    protected final boolean isAdded(final Component component) {
+        return component.addedTick() > sinceTick;
+    }
+
+    /**
+     * Start a new run of this system.
+     *
+     * <p>Called by the {@link SystemScheduler} before each execution, so the change detection
+     * compares with the start of the previous run.
+     */
+    final void beginRun() {
+        sinceTick = runTick;
+        runTick = ChangeTicks.advance();
+    }
+
+    /**
+     * Execute the given action on the thread of the game loop, when no other system is executed.
+     *
+     * <p>Use this in {@link #execute} for code that does not count as access of the declared
+     * component classes, like callbacks that are configured from outside. If the system is
+     * executed concurrently to other systems, the action is executed after all systems of the stage
+     * are finished. Otherwise, it is executed immediately.
+     *
+     * @param action the action to execute
+     */
+    protected final void defer(final Runnable action) {
+        if (concurrent) deferred.add(action);
+        else action.run();
+    }
+
+    /**
+     * Mark the beginning or the end of a concurrent execution of this system.
+     *
+     * <p>Called by the {@link SystemScheduler} on the thread of the game loop.
+     *
+     * @param concurrent true before the concurrent execution, false after all systems of the stage
+     *     are finished
+     */
+    final void concurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Execute the actions that were passed to {@link #defer} during the concurrent execution.
+     *
+     * <p>Called by the {@link SystemScheduler} on the thread of the game loop, after all systems of
+     * the stage are finished.
+     */
+    final void runDeferred() {
+        for (Runnable action : deferred) action.run();
+        deferred.clear();
+    }
+
+    /**
+     * Execute the given action for each {@link Archetype} that contains the key component and all
+     * additional components of this system and stores at least one entity.
+     *
+     * <p>Use this in the {@link #execute} method to iterate over the dense component arrays of the
+     * archetypes (see {@link Archetype#column}) instead of fetching the components of each entity.
+     *
+     * <p>While the action is executed, entities will not be moved between archetypes. If components
+     * are added or removed in the meantime, the entity will be moved after the iteration.
+     *
+     * @param action the action to execute on each matching archetype
+     */
+    protected final void forEachArchetype(Consumer<Archetype> action) {
+        ArchetypeStorage storage = Game.archetypes();
+        storage.beginIteration();
+        try {
+            for (int count = storage.archetypeCount();
+                    checkedArchetypes < count;
+                    checkedArchetypes++) {
+                Archetype archetype = storage.archetype(checkedArchetypes);
+                if (archetype.containsAll(signature)) archetypes.add(archetype);
+            }
+            for (int i = 0; i < archetypes.size(); i++) {
+                Archetype archetype = archetypes.get(i);
+                if (archetype.size() > 0) action.accept(archetype);
+            }
+        } finally {
+            storage.endIteration();
+        }
     }
 
     /**
@@ -0,0 +1,167 @@
+package core;
+
+import core.utils.profiling.FrameProfiler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes the systems of the game each frame.
+ *
+ * <p>The systems are divided into stages that are executed one after another. A system that did
+ * not declare the component classes it reads and writes (see {@link System#declaresAccess()}) is
+ * executed alone in its own stage on the calling thread. So each of these systems acts as a
+ * barrier: all systems added before it are finished before it starts, and all systems added after
+ * it start after it is finished. This is important for systems that use the graphics context, like
+ * the {@link core.systems.DrawSystem}.
+ *
+ * <p>Between two barriers, the systems that declared their component access form a dependency
+ * graph: a system depends on each system that was added before it and conflicts with it (see
+ * {@link System#conflictsWith}). Systems without a dependency between each other are put into the
+ * same stage and executed concurrently on a {@link ForkJoinPool}.
+ *
+ * <p>While a stage is executed concurrently, entities will not be moved between {@link
+ * Archetype}s. All changes of the component sets are applied after the stage is finished. Then the
+ * actions that the systems passed to {@link System#defer} are executed on the calling thread, in
+ * the order of the systems.
+ *
+ * <p>A system that is paused (see {@link System#isRunning()}) when its stage starts will be
+ * skipped.
+ *
+ * <p>The execution time of each system is recorded by the {@link FrameProfiler}, if it is enabled.
+ */
+public final class SystemScheduler {
+    private final ForkJoinPool pool;
+    private final ArchetypeStorage storage;
+    private final FrameProfiler profiler;
+    /* Stages of the current plan, null if the plan needs to be rebuilt. */
+    private List<System[]> stages = null;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param pool pool to execute the concurrent stages on
+     * @param storage storage of the archetypes, used to delay changes during concurrent stages
+     */
+    SystemScheduler(final ForkJoinPool pool, final ArchetypeStorage storage) {
+        this(pool, storage, new FrameProfiler());
+    }
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param pool pool to execute the concurrent stages on
+     * @param storage storage of the archetypes, used to delay changes during concurrent stages
+     * @param profiler profiler to record the execution time of each system
+     */
+    SystemScheduler(
+            final ForkJoinPool pool,
+            final ArchetypeStorage storage,
+            final FrameProfiler profiler) {
+        this.pool = pool;
+        this.storage = storage;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Rebuild the stages on the next call of {@link #execute}.
+     *
+     * <p>Call this each time a system is added or removed.
+     */
+    void invalidate() {
+        stages = null;
+    }
+
+    /**
+     * Execute the given systems.
+     *
+     * @param systems all systems of the game, in the order they were added
+     * @param headless if true, {@link System#executeHeadless} will be called instead of {@link
+     *     System#execute}
+     */
+    void execute(final Collection<System> systems, final boolean headless) {
+        if (stages == null) stages = plan(systems);
+        for (System[] stage : stages) {
+            if (stage.length == 1) {
+                if (stage[0].isRunning()) execute(stage[0], headless);
+            } else executeConcurrently(stage, headless);
+        }
+    }
+
+    private void execute(final System system, final boolean headless) {
+        if (!profiler.isEnabled()) {
+            run(system, headless);
+            return;
+        }
+        long start = java.lang.System.nanoTime();
+        run(system, headless);
+        profiler.recordSystem(system, java.lang.System.nanoTime() - start);
+    }
+
+    private static void run(final System system, final boolean headless) {
+        system.beginRun();
+        if (headless) system.executeHeadless();
+        else system.execute();
+    }
+
+    /**
+     * Divide the given systems into stages.
+     *
+     * @param systems the systems to divide, in the order they were added
+     * @return the stages, in the order they have to be executed
+     */
+    static List<System[]> plan(final Collection<System> systems) {
+        List<System[]> stages = new ArrayList<>();
+        List<List<System>> levels = new ArrayList<>();
+        for (System system : systems) {
+            if (!system.declaresAccess()) {
+                flush(levels, stages);
+                stages.add(new System[] {system});
+                continue;
+            }
+            // the level of a system is one higher than the level of its latest dependency
+            int level = 0;
+            for (int i = levels.size() - 1; i >= 0 && level == 0; i--)
+                for (System other : levels.get(i))
+                    if (system.conflictsWith(other)) {
+                        level = i + 1;
+                        break;
+                    }
+            if (level == levels.size()) levels.add(new ArrayList<>());
+            levels.get(level).add(system);
+        }
+        flush(levels, stages);
+        return stages;
+    }
+
+    private static void flush(final List<List<System>> levels, final List<System[]> stages) {
+        for (List<System> level : levels) stages.add(level.toArray(new System[0]));
+        levels.clear();
+    }
+
+    private void executeConcurrently(final System[] stage, final boolean headless) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(stage.length);
+        for (System system : stage)
+            if (system.isRunning()) tasks.add(ForkJoinTask.adapt(() -> execute(system, headless)));
+        if (tasks.isEmpty()) return;
+        for (System system : stage) system.concurrent(true);
+        storage.beginIteration();
+        try {
+            pool.invoke(
+                    new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            invokeAll(tasks);
+                        }
+                    });
+        } finally {
+            storage.endIteration();
+            for (System system : stage) system.concurrent(false);
+        }
+        for (System system : stage) system.runDeferred();
+    }
+}
@@ -6,10 +6,11 @@ import core.Component;
 import core.Entity;
 import core.systems.VelocitySystem;
 import core.utils.components.draw.Animation;
+import core.utils.components.draw.AnimationSet;
 import core.utils.components.draw.CoreAnimations;
 import core.utils.components.draw.IPath;
+import core.utils.components.draw.TextureMap;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
@@ -18,11 +19,15 @@ import java.util.logging.Logger;
 /**
  * Store all {@link Animation}s for an entity.
  *
- * <p>At creation, the component will read in each subdirectory in the given path and create an
- * animation for each subdirectory.
+ * <p>At creation, the component will create an animation for each subdirectory in the given path.
+ * The subdirectories are looked up in the cached {@link AnimationSet} of the path, so creating many
+ * entities of the same type does not touch the file system.
  *
  * <p>Each Animation will be created with default settings. If you want to change these settings,
- * use the methods from {@link Animation}.
+ * use the methods from {@link Animation} and replace the animation with {@link #animation}.
+ *
+ * <p>The animations are shared by all entities with the same path, the component only stores the
+ * time since the current animation was started. Use {@link #advance} to play it.
  *
  * <p>Use {@link #currentAnimation} to set the current animation.
  *
@@ -47,9 +52,14 @@ import java.util.logging.Logger;
  * @see IPath
  */
 public final class DrawComponent extends Component {
-    private final Map<String, Animation> animationMap;
     private final Logger LOGGER = Logger.getLogger(this.getClass().getName());
+    /* Shared with the AnimationSet of the path until an animation is replaced. */
+    private Map<String, Animation> animationMap;
+    /* True if animationMap is owned by this component and can be changed. */
+    private boolean copied;
     private Animation currentAnimation;
+    /* Seconds since the current animation was started. */
+    private float playbackTime = 0;
 
     /**
      * Create a new DrawComponent and add it to the associated entity.
@@ -75,52 +85,34 @@ public final class DrawComponent extends Component {
             throws IOException {
         super(entity);
         // fetch available animations
-        try {
-            ClassLoader classLoader = getClass().getClassLoader();
-            final String directoryPath = classLoader.getResource(pathRelativeToAssets).getFile();
-
-            File directory = new File(directoryPath);
-            animationMap = new HashMap<>();
-            for (File subdir : directory.listFiles()) {
-                final List<String> texturePaths = new ArrayList<>();
-                for (File file : subdir.listFiles()) {
-                    if (file.isFile()) {
-                        texturePaths.add(
-                                String.format(
-                                        "%s/%s/%s",
-                                        pathRelativeToAssets, subdir.getName(), file.getName()));
-                    }
-                }
-                if (texturePaths.stream().findAny().isPresent()) {
-                    animationMap.put(subdir.getName(), Animation.of(texturePaths));
-                }
-            }
-            currentAnimation(
-                    CoreAnimations.IDLE_DOWN,
-                    CoreAnimations.IDLE_LEFT,
-                    CoreAnimations.IDLE_RIGHT,
-                    CoreAnimations.IDLE_UP,
-                    CoreAnimations.IDLE);
-
-            // if no idle animation exists, set the missing texture animation as idle
-            if (currentAnimation == null) {
-                animationMap.put(CoreAnimations.IDLE.pathString(), Animation.defaultAnimation());
-                currentAnimation(CoreAnimations.IDLE);
-            }
-        } catch (NullPointerException np) {
+        AnimationSet animations = AnimationSet.of(pathRelativeToAssets).orElse(null);
+        if (animations == null) {
             // The component gets registered at the entity in super().
             // This means that if the files can't be loaded, the component is considered "defective"
             // and will likely throw exceptions.
             // For that reason, we remove the defective component from the entity.
             entity.removeComponent(DrawComponent.class);
-            // We convert the "NullPointerException" to a "FileNotFoundException" because the only
-            // reason for a NullPointerException is if the directory does not exist.
             throw new FileNotFoundException(
                     "Path "
                             + pathRelativeToAssets
                             + " not found. DrawComponent was removed from Entity: "
                             + entity);
         }
+        animationMap = animations.animations();
+        // decode the textures in the background, so the first draw does not have to load them
+        TextureMap.instance().preload(animations.frames());
+        currentAnimation(
+                CoreAnimations.IDLE_DOWN,
+                CoreAnimations.IDLE_LEFT,
+                CoreAnimations.IDLE_RIGHT,
+                CoreAnimations.IDLE_UP,
+                CoreAnimations.IDLE);
+
+        // if no idle animation exists, set the missing texture animation as idle
+        if (currentAnimation == null) {
+            animation(CoreAnimations.IDLE, Animation.defaultAnimation());
+            currentAnimation(CoreAnimations.IDLE);
+        }
     }
 
     /**
@@ -137,6 +129,7 @@ public final class DrawComponent extends Component {
     public DrawComponent(final Entity entity, final Animation idle) {
         super(entity);
         animationMap = new HashMap<>();
+        copied = true;
         animationMap.put(CoreAnimations.IDLE_LEFT.pathString(), idle);
         animationMap.put(CoreAnimations.IDLE_RIGHT.pathString(), idle);
         currentAnimation = idle;
@@ -153,7 +146,8 @@ public final class DrawComponent extends Component {
      */
     public DrawComponent(final Entity entity, final HashMap<String, Animation> animationMap) {
         super(entity);
-        this.animationMap = animationMap;
+        this.animationMap = new HashMap<>(animationMap);
+        copied = true;
         currentAnimation(CoreAnimations.IDLE_LEFT);
     }
 
@@ -174,6 +168,9 @@ public final class DrawComponent extends Component {
      *
      * <p>If the given animation is not stored in this component, a warning is logged.
      *
+     * <p>If the animation changes, it is played from the beginning. Setting the current animation
+     * again does not restart it.
+     *
      * @param animationName Path of the new current animation (this is the name of the directory).
      *     If more than one path will be given, the first one that exists will be set as the new
      *     current animation.
@@ -183,6 +180,7 @@ public final class DrawComponent extends Component {
         for (IPath animationPath : animationName) {
             Animation animation = animationMap.get(animationPath.pathString());
             if (animation != null) {
+                if (animation != currentAnimation) playbackTime = 0;
                 currentAnimation = animation;
                 return;
             } else
@@ -206,6 +204,26 @@ public final class DrawComponent extends Component {
         return Optional.ofNullable(animationMap.get(path.pathString()));
     }
 
+    /**
+     * Store the given animation at the given path, replacing the animation stored there.
+     *
+     * <p>Animations are shared between entities, so use this to change an animation of a single
+     * entity, e.g. {@code dc.animation(path, dc.getAnimation(path).get().withLoop(false))}. If the
+     * replaced animation is the current animation, the given animation becomes the current one.
+     *
+     * @param path Path of the animation
+     * @param animation the new animation
+     */
+    public void animation(final IPath path, final Animation animation) {
+        // the map of an animation set is shared and immutable
+        if (!copied) {
+            animationMap = new HashMap<>(animationMap);
+            copied = true;
+        }
+        Animation replaced = animationMap.put(path.pathString(), animation);
+        if (replaced != null && replaced == currentAnimation) currentAnimation = animation;
+    }
+
     /**
      * Check if the component stores an animation with the given path.
      *
@@ -249,13 +267,55 @@ public final class DrawComponent extends Component {
      * @return true if the current animation has finished playing
      */
     public boolean isCurrentAnimationFinished() {
-        return currentAnimation.isFinished();
+        return currentAnimation.isFinished(playbackTime);
+    }
+
+    /**
+     * Get the texture of the current animation to draw in this frame.
+     *
+     * @return path of the texture, null if there is no current animation
+     */
+    public String currentTexturePath() {
+        return currentAnimation == null ? null : currentAnimation.frame(playbackTime);
+    }
+
+    /**
+     * Play the current animation for the given time.
+     *
+     * <p>A looping animation starts over after its {@link Animation#duration()}, the playback time
+     * is wrapped to the current pass.
+     *
+     * @param seconds time to advance the animation, normally the duration of the frame
+     */
+    public void advance(final float seconds) {
+        playbackTime += seconds;
+        // keep the time small, a large float would lose the precision to select the frame
+        if (currentAnimation != null && currentAnimation.isLooping())
+            playbackTime %= currentAnimation.duration();
+    }
+
+    /**
+     * @return seconds since the current animation or the current pass of a looping animation was
+     *     started
+     */
+    public float playbackTime() {
+        return playbackTime;
+    }
+
+    /**
+     * Set the time since the current animation was started, e.g. to synchronize the animation with
+     * another client.
+     *
+     * @param seconds the new playback time
+     */
+    public void playbackTime(final float seconds) {
+        playbackTime = seconds;
     }
 
     /**
-     * @return animation map.
+     * @return copy of the animation map.
      */
     public HashMap<String, Animation> animationMap() {
-        return (HashMap<String, Animation>) this.animationMap;
+        return new HashMap<>(animationMap);
     }
 }
@@ -99,6 +99,7 @@ public final class PositionComponent extends Component {
      */
     public void position(final Point position) {
         this.position = position;
+        markChanged();
     }
 
     /**
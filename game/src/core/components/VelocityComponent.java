@@ -91,6 +91,7 @@ public final class VelocityComponent extends Component {
      */
     public void currentXVelocity(float currentXVelocity) {
         this.currentXVelocity = currentXVelocity;
+        markChanged();
     }
 
     /**
@@ -118,6 +119,7 @@ public final class VelocityComponent extends Component {
      */
     public void currentYVelocity(float currentYVelocity) {
         this.currentYVelocity = currentYVelocity;
+        markChanged();
     }
 
     /**
@@ -146,6 +148,7 @@ public final class VelocityComponent extends Component {
      */
     public void xVelocity(float xVelocity) {
         this.xVelocity = xVelocity;
+        markChanged();
     }
 
     /**
@@ -174,5 +177,6 @@ public final class VelocityComponent extends Component {
      */
     public void yVelocity(float yVelocity) {
         this.yVelocity = yVelocity;
+        markChanged();
     }
 }
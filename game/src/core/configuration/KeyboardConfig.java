@@ -9,4 +9,6 @@ public class KeyboardConfig {
     public static final ConfigKey<Integer> TOGGLE_FULLSCREEN =
             new ConfigKey<>(
                     new String[] {"graphics", "fullscreen"}, new ConfigIntValue(Input.Keys.F11));
+    public static final ConfigKey<Integer> TOGGLE_PROFILER =
+            new ConfigKey<>(new String[] {"debug", "profiler"}, new ConfigIntValue(Input.Keys.F3));
 }
@@ -0,0 +1,72 @@
+package core.hud;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Align;
+
+import core.utils.profiling.FrameProfiler;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Shows the frame time and the slowest systems of a {@link FrameProfiler} in the top left corner
+ * of the screen.
+ *
+ * <p>The text is refreshed a few times per second, so reading the statistics does not slow down
+ * each frame. Add the overlay to the stage and toggle it with {@link #setVisible}.
+ */
+public final class ProfilerOverlay extends Table {
+    /** Seconds between two refreshes of the text. */
+    private static final float REFRESH_INTERVAL = 0.5f;
+    /** Maximal number of systems shown. */
+    private static final int MAX_SYSTEMS = 8;
+
+    private final FrameProfiler profiler;
+    private final Label label;
+    private float sinceRefresh = REFRESH_INTERVAL;
+
+    /**
+     * Create a new overlay.
+     *
+     * @param profiler profiler to show the statistics of
+     */
+    public ProfilerOverlay(final FrameProfiler profiler) {
+        this.profiler = profiler;
+        label = new Label("", UITools.DEFAULT_SKIN);
+        setFillParent(true);
+        top().left().pad(10);
+        add(label).align(Align.topLeft);
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        sinceRefresh += delta;
+        if (!isVisible() || sinceRefresh < REFRESH_INTERVAL) return;
+        sinceRefresh = 0;
+        label.setText(text());
+    }
+
+    private String text() {
+        StringBuilder text = new StringBuilder();
+        text.append(
+                String.format(
+                        Locale.ROOT,
+                        "frame p50 %.2f ms, p99 %.2f ms, %.0f KB/frame, gc %.2f ms/frame%n",
+                        profiler.getFrameTimeP50Millis(),
+                        profiler.getFrameTimeP99Millis(),
+                        profiler.getAllocatedBytesPerFrame() / 1024,
+                        profiler.getGcMillisPerFrame()));
+        text.append(
+                String.format(
+                        Locale.ROOT,
+                        "entities +%.1f -%.1f per frame%n",
+                        profiler.getEntitiesAddedPerFrame(),
+                        profiler.getEntitiesRemovedPerFrame()));
+        List<FrameProfiler.SystemStats> systems = profiler.systemStats();
+        for (int i = 0; i < Math.min(MAX_SYSTEMS, systems.size()); i++)
+            text.append(systems.get(i)).append('\n');
+        return text.toString();
+    }
+}
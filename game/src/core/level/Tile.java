@@ -5,7 +5,6 @@ import com.badlogic.gdx.utils.Array;
 
 import core.Entity;
 import core.level.elements.ILevel;
-import core.level.elements.astar.TileConnection;
 import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
@@ -26,7 +25,6 @@ public abstract class Tile {
 
     protected ILevel level;
     protected LevelElement levelElement;
-    protected transient Array<Connection<Tile>> connections = new Array<>();
     protected int index;
 
     /**
@@ -103,6 +101,7 @@ public abstract class Tile {
      */
     public void levelElement(LevelElement newLevelElement) {
         this.levelElement = newLevelElement;
+        if (level instanceof TileLevel tileLevel) tileLevel.tileUpdated(this);
     }
 
     /**
@@ -139,26 +138,18 @@ public abstract class Tile {
         this.index = index;
     }
 
-    /**
-     * connects to tile together. this mean you can go from one tile to another. Connections are
-     * needed to calculate a path through the dungeon.
-     *
-     * @param to Tile to connect with.
-     */
-    public void addConnection(Tile to) {
-        if (connections == null) {
-            connections = new Array<>();
-        }
-        connections.add(new TileConnection(this, to));
-    }
-
     /**
      * Used by libGDX pathfinding
      *
+     * <p>The tile is connected with its accessible neighbours in the {@link TileGrid} of its
+     * level. The grid caches the connections and rebuilds them when the tile or a neighbour changes
+     * its element, so the returned array is shared and must not be changed.
+     *
      * @return all connections to other tile
      */
     public Array<Connection<Tile>> connections() {
-        return connections;
+        if (level instanceof TileLevel tileLevel) return tileLevel.grid().connections(this);
+        return new Array<>();
     }
 
     /**
@@ -0,0 +1,203 @@
+package core.level;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.utils.Array;
+
+import core.level.elements.astar.TileConnection;
+import core.level.utils.Coordinate;
+import core.level.utils.LevelElement;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Index of the accessibility of the tiles of a {@link TileLevel}, kept next to the tiles.
+ *
+ * <p>The {@link Tile}s in the layout stay the owners of their state. For each cell of the layout,
+ * the grid additionally stores the {@link LevelElement} of the tile in a byte array, so searches
+ * that visit many cells, e.g. the pathfinding, read one array instead of following a reference to
+ * each tile.
+ *
+ * <p>The tiles are connected with their four accessible neighbours. The searches on the grid read
+ * the accessibility directly; for the searches that need {@link Connection}s (see {@link
+ * #connections}), the connections of each cell are cached and rebuilt when the cell or one of its
+ * neighbours changes its element.
+ *
+ * <p>The level updates the grid when a tile is added, removed or changed. The grid is changed on
+ * the game thread only, and can be read from any thread.
+ */
+public final class TileGrid {
+    /* Element of the cells without a tile. */
+    private static final byte EMPTY = -1;
+    private static final LevelElement[] ELEMENTS = LevelElement.values();
+    /* Offsets of the four neighbours of a tile, in the order of the connections. */
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+    /* Connections of the cells without connections, must not be changed. */
+    private static final Array<Connection<Tile>> NO_CONNECTIONS = new Array<>(0);
+
+    private final Tile[][] layout;
+    private final int width;
+    private final int height;
+    private final byte[] elements;
+    /* Cached connections of each cell, replaced as a whole so readers never see a partial array. */
+    private final AtomicReferenceArray<Array<Connection<Tile>>> connections;
+
+    /**
+     * Create an empty grid for the given layout.
+     *
+     * <p>The cells are filled by {@link #update} when the tiles are added to the level.
+     *
+     * @param layout layout of the level
+     */
+    TileGrid(final Tile[][] layout) {
+        this.layout = layout;
+        height = layout.length;
+        width = height == 0 ? 0 : layout[0].length;
+        elements = new byte[width * height];
+        Arrays.fill(elements, EMPTY);
+        connections = new AtomicReferenceArray<>(width * height);
+        for (int i = 0; i < width * height; i++) connections.set(i, NO_CONNECTIONS);
+    }
+
+    /**
+     * Create a grid with the tiles of the given layout.
+     *
+     * @param layout layout of the level
+     * @return grid with the elements of the tiles
+     */
+    public static TileGrid of(final Tile[][] layout) {
+        TileGrid grid = new TileGrid(layout);
+        for (Tile[] row : layout) for (Tile tile : row) if (tile != null) grid.update(tile);
+        return grid;
+    }
+
+    /**
+     * @return number of cells in x direction
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return number of cells in y direction
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Get the tile of a cell.
+     *
+     * @param x x coordinate of the cell
+     * @param y y coordinate of the cell
+     * @return the tile, null if the cell is outside of the grid
+     */
+    public Tile tile(final int x, final int y) {
+        return inside(x, y) ? layout[y][x] : null;
+    }
+
+    /**
+     * Get the type of the tile of a cell.
+     *
+     * @param x x coordinate of the cell
+     * @param y y coordinate of the cell
+     * @return the element, null if the cell is outside of the grid or has no tile
+     */
+    public LevelElement element(final int x, final int y) {
+        if (!inside(x, y)) return null;
+        byte element = elements[y * width + x];
+        return element == EMPTY ? null : ELEMENTS[element];
+    }
+
+    /**
+     * Check if the tile of a cell can be walked on.
+     *
+     * @param x x coordinate of the cell
+     * @param y y coordinate of the cell
+     * @return true if the cell has an accessible tile, false otherwise
+     */
+    public boolean isAccessible(final int x, final int y) {
+        if (!inside(x, y)) return false;
+        byte element = elements[y * width + x];
+        return element != EMPTY && ELEMENTS[element].value();
+    }
+
+    /**
+     * Get the connections of a tile to its accessible neighbours.
+     *
+     * <p>The connections are in the order west, east, south, north. Tiles that are not accessible
+     * or not stored in the grid have no connections.
+     *
+     * <p>The returned array is shared by all callers and must not be changed.
+     *
+     * @param tile tile to get the connections of
+     * @return cached array with the connections
+     */
+    public Array<Connection<Tile>> connections(final Tile tile) {
+        Coordinate c = tile.coordinate();
+        if (tile(c.x, c.y) != tile) return NO_CONNECTIONS;
+        return connections.get(c.y * width + c.x);
+    }
+
+    /* Rebuild the cached connections of a cell and of its neighbours. */
+    private void connect(final int x, final int y) {
+        buildConnections(x, y);
+        for (int i = 0; i < DX.length; i++) buildConnections(x + DX[i], y + DY[i]);
+    }
+
+    private void buildConnections(final int x, final int y) {
+        if (!inside(x, y)) return;
+        if (!isAccessible(x, y)) {
+            connections.set(y * width + x, NO_CONNECTIONS);
+            return;
+        }
+        Tile tile = layout[y][x];
+        Array<Connection<Tile>> cell = new Array<>(DX.length);
+        for (int i = 0; i < DX.length; i++) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (isAccessible(nx, ny)) cell.add(new TileConnection(tile, layout[ny][nx]));
+        }
+        connections.set(y * width + x, cell);
+    }
+
+    /**
+     * Copy the element of a tile into its cell.
+     *
+     * <p>If the element of the cell changes, the connections of the cell and its neighbours are
+     * rebuilt. A tile that replaces another tile always changes the element, because the cell is
+     * cleared when the old tile is removed.
+     *
+     * <p>Does nothing if the tile is not stored in the layout at its coordinate.
+     *
+     * @param tile the added or changed tile
+     */
+    void update(final Tile tile) {
+        Coordinate c = tile.coordinate();
+        if (tile(c.x, c.y) != tile) return;
+        LevelElement element = tile.levelElement();
+        byte newElement = element == null ? EMPTY : (byte) element.ordinal();
+        if (elements[c.y * width + c.x] == newElement) return;
+        elements[c.y * width + c.x] = newElement;
+        connect(c.x, c.y);
+    }
+
+    /**
+     * Clear the cell of a removed tile.
+     *
+     * <p>Does nothing if the tile is not stored in the layout at its coordinate.
+     *
+     * @param tile the removed tile
+     */
+    void remove(final Tile tile) {
+        Coordinate c = tile.coordinate();
+        if (tile(c.x, c.y) != tile) return;
+        elements[c.y * width + c.x] = EMPTY;
+        connect(c.x, c.y);
+    }
+
+    private boolean inside(final int x, final int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
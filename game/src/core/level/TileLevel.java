@@ -1,8 +1,17 @@
 package core.level;
 
+import com.badlogic.gdx.ai.pfa.GraphPath;
+
 import core.level.elements.ILevel;
-import core.level.elements.astar.TileConnection;
+import core.level.elements.astar.FlowField;
+import core.level.elements.astar.FlowFieldService;
+import core.level.elements.astar.JumpPointSearch;
+import core.level.elements.astar.PathService;
+import core.level.elements.astar.PathfindingMode;
+import core.level.elements.astar.SectorGraph;
 import core.level.elements.astar.TileHeuristic;
+import core.level.elements.astar.TilePath;
+import core.level.elements.astar.TilePathFinder;
 import core.level.elements.tile.*;
 import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
@@ -12,10 +21,25 @@ import core.level.utils.TileTextureFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A level is a 2D-Array of Tiles.
  *
+ * <p>The types and textures of the tiles are also stored in a compact {@link TileGrid}, which
+ * connects each tile with its accessible neighbours. The pathfinding runs on this grid.
+ *
+ * <p>Paths are searched with hierarchical pathfinding on a {@link SectorGraph} by default, which is
+ * built on the first search and updated when tiles are added or removed. Use {@link
+ * #pathfindingMode(PathfindingMode)} to select another algorithm. The {@link PathService} of the
+ * level caches the paths until the {@link #version()} of the level changes. The flow field to a
+ * target tile is shared the same way (see {@link FlowFieldService}).
+ *
+ * <p>Changing a tile only touches the tile and its neighbours: the textures of the 3x3
+ * neighbourhood are computed again, and the indices of the other tiles stay the same. The index
+ * of a removed tile is reused for the next added tile. Use {@link #editTiles} to change many
+ * tiles at once.
+ *
  * @author Andre Matutat
  */
 public class TileLevel implements ILevel {
@@ -23,6 +47,7 @@ public class TileLevel implements ILevel {
     protected Tile startTile;
     protected int nodeCount = 0;
     protected Tile[][] layout;
+    protected final TileGrid grid;
 
     protected ArrayList<FloorTile> floorTiles = new ArrayList<>();
     protected ArrayList<WallTile> wallTiles = new ArrayList<>();
@@ -30,10 +55,24 @@ public class TileLevel implements ILevel {
     protected ArrayList<DoorTile> doorTiles = new ArrayList<>();
     protected ArrayList<ExitTile> exitTiles = new ArrayList<>();
     protected ArrayList<SkipTile> skipTiles = new ArrayList<>();
+    /* Incremented whenever a tile is added or removed. */
+    private final AtomicInteger version = new AtomicInteger();
+    private final FlowFieldService flowFields;
+    private volatile PathfindingMode pathfindingMode = PathfindingMode.HIERARCHICAL;
+    /* Abstract graph for hierarchical pathfinding, created on the first search. */
+    private volatile SectorGraph sectorGraph;
+    /* Path cache of the current mode, created on the first search. */
+    private volatile PathService paths;
+    /* Stack of the indices of removed tiles. */
+    private int[] freeIndices = new int[16];
+    private int freeCount = 0;
+    /* Number of nested editTiles calls that are running. */
+    private int editDepth = 0;
+    /* Tiles that were added or removed in the running edit. */
+    private final List<Coordinate> editedTiles = new ArrayList<>();
+    /* Tiles whose neighbourhood gets new textures at the end of the running edit. */
+    private final List<Coordinate> retextureAround = new ArrayList<>();
 
-    private static final Coordinate CONNECTION_OFFSETS[] = {
-        new Coordinate(0, 1), new Coordinate(0, -1), new Coordinate(1, 0), new Coordinate(-1, 0),
-    };
     /**
      * Create a new level
      *
@@ -41,6 +80,8 @@ public class TileLevel implements ILevel {
      */
     public TileLevel(Tile[][] layout) {
         this.layout = layout;
+        grid = new TileGrid(layout);
+        flowFields = new FlowFieldService(grid, version::get);
         putTilesInLists();
         if (startTile == null) randomStart();
         if (exitTiles.size() == 0) randomEnd();
@@ -88,6 +129,12 @@ public class TileLevel implements ILevel {
         return tileLayout;
     }
 
+    /**
+     * Get the number of node indices, including the indices of removed tiles that were not
+     * reused yet.
+     *
+     * @return nodeCount
+     */
     @Override
     public int getNodeCount() {
         return nodeCount;
@@ -99,23 +146,180 @@ public class TileLevel implements ILevel {
     }
 
     /**
-     * Check each tile around the tile, if it is accessible add it to the connectionList.
+     * Searches a path with the algorithm of the {@link #pathfindingMode()}.
      *
-     * @param checkTile Tile to check for.
+     * <p>The path is shared with all callers that search the same path until the level changes,
+     * so it can not be modified (see {@link PathService}).
+     *
+     * <p>Throws an IllegalArgumentException if start or end is non-accessible. Tiles that are not
+     * stored in the layout at their coordinate are searched with the indexed A* of {@link
+     * core.level.elements.IPathable}.
+     *
+     * @param start Start tile
+     * @param end End tile
+     * @return Generated path
+     */
+    @Override
+    public GraphPath<Tile> findPath(Tile start, Tile end) {
+        if (!start.isAccessible() || !end.isAccessible() || !inLayout(start) || !inLayout(end))
+            return ILevel.super.findPath(start, end);
+        return paths().findPath(start, end);
+    }
+
+    /**
+     * @return the algorithm paths are searched with
+     */
+    public PathfindingMode pathfindingMode() {
+        return pathfindingMode;
+    }
+
+    /**
+     * Select the algorithm to search paths with.
+     *
+     * <p>The cached paths of the previous algorithm are dropped.
+     *
+     * @param mode the new algorithm
+     */
+    public synchronized void pathfindingMode(PathfindingMode mode) {
+        pathfindingMode = mode;
+        paths = null;
+    }
+
+    /**
+     * Get the flow field to the given tile.
+     *
+     * <p>The field is shared by all callers with the same target until the level changes.
+     *
+     * @param target Tile to walk to
+     * @return Flow field with the distance of each tile to the target
+     */
+    @Override
+    public FlowField flowFieldTo(Tile target) {
+        return flowFields.fieldTo(target);
+    }
+
+    /**
+     * Get the version of the level.
+     *
+     * <p>The version is incremented whenever a tile is added or removed, e.g. by {@link
+     * #changeTileElementType}. An {@link #editTiles edit} increments the version only once.
+     *
+     * @return the current version
+     */
+    public int version() {
+        return version.get();
+    }
+
+    /**
+     * Change the type of tile (including changing texture)
+     *
+     * <p>The textures of the neighbours of the tile are computed again, because they may depend
+     * on the new type. Tiles of other levels are changed by the default implementation.
+     *
+     * @param tile The Tile you want to change
+     * @param changeInto The LevelElement to change the Tile into.
+     */
+    @Override
+    public void changeTileElementType(Tile tile, LevelElement changeInto) {
+        if (tile.level() != this || !inLayout(tile)) {
+            ILevel.super.changeTileElementType(tile, changeInto);
+            return;
+        }
+        editTiles(
+                () -> {
+                    Coordinate c = tile.coordinate();
+                    removeTile(tile);
+                    Tile newTile =
+                            TileFactory.createTile(
+                                    TileTextureFactory.findTexturePath(tile, layout, changeInto),
+                                    c,
+                                    changeInto,
+                                    tile.designLabel());
+                    layout[c.y][c.x] = newTile;
+                    addTile(newTile);
+                    retextureAround.add(c);
+                });
+    }
+
+    /**
+     * Run several changes of tiles as one edit.
+     *
+     * <p>The textures around the changed tiles are computed once, and the version of the level is
+     * incremented once at the end of the edit, so the cached paths and flow fields are dropped
+     * only once. Edits can be nested; the outermost edit finishes the changes.
+     *
+     * @param edits changes of the tiles, e.g. calls of {@link #changeTileElementType}
+     */
+    public void editTiles(Runnable edits) {
+        editDepth++;
+        try {
+            edits.run();
+        } finally {
+            if (--editDepth == 0) finishEdit();
+        }
+    }
+
+    private void finishEdit() {
+        for (Coordinate c : retextureAround) {
+            for (int y = c.y - 1; y <= c.y + 1; y++) {
+                for (int x = c.x - 1; x <= c.x + 1; x++) {
+                    Tile tile = grid.tile(x, y);
+                    if (tile != null)
+                        tile.texturePath(TileTextureFactory.findTexturePath(tile, layout));
+                }
+            }
+        }
+        retextureAround.clear();
+        if (editedTiles.isEmpty()) return;
+        version.incrementAndGet();
+        SectorGraph graph = sectorGraph;
+        if (graph != null) editedTiles.forEach(graph::tileChanged);
+        editedTiles.clear();
+    }
+
+    /**
+     * @return the compact copy of the tiles of this level
      */
-    public void addConnectionsToNeighbours(Tile checkTile) {
-        for (Coordinate v : CONNECTION_OFFSETS) {
-            Coordinate c =
-                    new Coordinate(checkTile.coordinate().x + v.x, checkTile.coordinate().y + v.y);
-            Tile t = tileAt(c);
-            if (t != null
-                    && t.isAccessible()
-                    && !checkTile.connections().contains(new TileConnection(checkTile, t), false)) {
-                checkTile.addConnection(t);
+    public TileGrid grid() {
+        return grid;
+    }
+
+    private PathService paths() {
+        PathService service = paths;
+        if (service == null) {
+            synchronized (this) {
+                if (paths == null)
+                    paths = new PathService(pathFinder(pathfindingMode), version::get);
+                service = paths;
             }
         }
+        return service;
     }
 
+    private TilePathFinder pathFinder(PathfindingMode mode) {
+        return switch (mode) {
+            case A_STAR -> (start, end) -> TilePath.copyOf(ILevel.super.findPath(start, end));
+            case HIERARCHICAL -> {
+                if (sectorGraph == null) sectorGraph = new SectorGraph(grid);
+                yield sectorGraph;
+            }
+            case JUMP_POINT -> new JumpPointSearch(grid);
+        };
+    }
+
+    private boolean inLayout(Tile tile) {
+        return tileAt(tile.coordinate()) == tile;
+    }
+
+    /**
+     * Does nothing: the tiles are connected implicitly with their accessible neighbours in the
+     * {@link TileGrid} of the level.
+     *
+     * @param checkTile Tile to check for.
+     */
+    @Override
+    public void addConnectionsToNeighbours(Tile checkTile) {}
+
     @Override
     public void addFloorTile(FloorTile tile) {
         floorTiles.add(tile);
@@ -190,21 +394,19 @@ public class TileLevel implements ILevel {
             case EXIT -> exitTiles.remove(tile);
         }
 
-        tile.connections()
-                .forEach(
-                        x ->
-                                x.getToNode()
-                                        .connections()
-                                        .removeValue(
-                                                new TileConnection(x.getToNode(), tile), false));
-        if (tile.isAccessible()) removeIndex(tile.index());
+        if (tile.isAccessible()) releaseIndex(tile.index());
+        grid.remove(tile);
+        tileChanged(tile);
+    }
+
+    private int nextIndex() {
+        return freeCount > 0 ? freeIndices[--freeCount] : nodeCount++;
     }
 
-    private void removeIndex(int index) {
-        Arrays.stream(layout)
-                .flatMap(x -> Arrays.stream(x).filter(y -> y.index() > index))
-                .forEach(x -> x.index(x.index() - 1));
-        nodeCount--;
+    private void releaseIndex(int index) {
+        if (freeCount == freeIndices.length)
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        freeIndices[freeCount++] = index;
     }
 
     @Override
@@ -217,19 +419,25 @@ public class TileLevel implements ILevel {
             case EXIT -> addExitTile((ExitTile) tile);
             case DOOR -> addDoorTile((DoorTile) tile);
         }
-        if (tile.isAccessible()) {
-            this.addConnectionsToNeighbours(tile);
-            tile.connections()
-                    .forEach(
-                            x -> {
-                                if (!x.getToNode()
-                                        .connections()
-                                        .contains(new TileConnection(x.getToNode(), tile), false))
-                                    x.getToNode().addConnection(tile);
-                            });
-            tile.index(nodeCount++);
-        }
+        if (tile.isAccessible()) tile.index(nextIndex());
         tile.level(this);
+        grid.update(tile);
+        tileChanged(tile);
+    }
+
+    /* Called by a tile of this level if its type was changed. */
+    void tileUpdated(Tile tile) {
+        grid.update(tile);
+        tileChanged(tile);
+    }
+
+    private void tileChanged(Tile tile) {
+        if (editDepth > 0) {
+            editedTiles.add(tile.coordinate());
+            return;
+        }
+        version.incrementAndGet();
+        if (sectorGraph != null) sectorGraph.tileChanged(tile.coordinate());
     }
 
     @Override
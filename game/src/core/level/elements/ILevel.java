@@ -1,6 +1,8 @@
 package core.level.elements;
 
 import core.level.Tile;
+import core.level.TileGrid;
+import core.level.elements.astar.FlowField;
 import core.level.elements.tile.*;
 import core.level.utils.LevelElement;
 import core.level.utils.TileTextureFactory;
@@ -210,4 +212,17 @@ public interface ILevel extends ITileable {
     default Tile randomFloorTile() {
         return randomTile(LevelElement.FLOOR);
     }
+
+    /**
+     * Get the flow field to the given tile.
+     *
+     * <p>Entities can follow the field to the target in constant time per step, see {@link
+     * FlowField#next}.
+     *
+     * @param target Tile to walk to
+     * @return Flow field with the distance of each tile to the target
+     */
+    default FlowField flowFieldTo(Tile target) {
+        return FlowField.of(TileGrid.of(layout()), target);
+    }
 }
@@ -0,0 +1,125 @@
+package core.level.elements.astar;
+
+import core.level.Tile;
+import core.level.TileGrid;
+import core.level.utils.Coordinate;
+
+import java.util.Arrays;
+
+/**
+ * Distance of every tile of a level to one target tile.
+ *
+ * <p>The distances are computed once with a breadth-first search from the target over the
+ * accessible tiles. Any number of entities can then walk to the target by stepping to the
+ * neighbour with the smaller distance ({@link #next}), which takes constant time per step, no
+ * matter how far away the target is.
+ *
+ * <p>A flow field can not be changed, so it can be shared by all entities and threads. It belongs
+ * to the grid it was computed for; if a tile of the level changes, a new field is needed (see
+ * {@link FlowFieldService}).
+ */
+public final class FlowField {
+    /** Distance of the tiles that can not reach the target. */
+    public static final int UNREACHABLE = -1;
+
+    /* Offsets of the four neighbours of a tile. */
+    private static final int[] DX = {0, 0, 1, -1};
+    private static final int[] DY = {1, -1, 0, 0};
+
+    private final TileGrid grid;
+    private final Tile target;
+    private final int width;
+    private final int height;
+    private final int[] distance;
+
+    private FlowField(final TileGrid grid, final Tile target) {
+        this.grid = grid;
+        this.target = target;
+        width = grid.width();
+        height = grid.height();
+        distance = new int[width * height];
+        Arrays.fill(distance, UNREACHABLE);
+    }
+
+    /**
+     * Compute the flow field to the given target.
+     *
+     * <p>The target itself does not need to be accessible, e.g. if the hero stands in a door.
+     *
+     * @param grid grid of the level
+     * @param target tile to walk to
+     * @return the flow field to the target
+     */
+    public static FlowField of(final TileGrid grid, final Tile target) {
+        FlowField field = new FlowField(grid, target);
+        Coordinate c = target.coordinate();
+        if (field.inside(c.x, c.y)) field.search(c.y * field.width + c.x);
+        return field;
+    }
+
+    private void search(final int origin) {
+        int[] queue = new int[distance.length];
+        int head = 0;
+        int tail = 0;
+        distance[origin] = 0;
+        queue[tail++] = origin;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            for (int i = 0; i < DX.length; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (!grid.isAccessible(nx, ny)) continue;
+                int next = ny * width + nx;
+                if (distance[next] != UNREACHABLE) continue;
+                distance[next] = distance[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * @return the tile this field leads to
+     */
+    public Tile target() {
+        return target;
+    }
+
+    /**
+     * Get the number of steps from the given tile to the target.
+     *
+     * @param tile tile to start from
+     * @return number of steps, {@link #UNREACHABLE} if there is no way to the target
+     */
+    public int distance(final Tile tile) {
+        if (tile == null) return UNREACHABLE;
+        Coordinate c = tile.coordinate();
+        if (!inside(c.x, c.y) || grid.tile(c.x, c.y) != tile) return UNREACHABLE;
+        return distance[c.y * width + c.x];
+    }
+
+    /**
+     * Get the next tile on the way from the given tile to the target.
+     *
+     * @param tile tile to start from
+     * @return the neighbour that is one step closer to the target, null if the given tile is the
+     *     target or can not reach it
+     */
+    public Tile next(final Tile tile) {
+        int current = distance(tile);
+        if (current == UNREACHABLE || current == 0) return null;
+        Coordinate c = tile.coordinate();
+        for (int i = 0; i < DX.length; i++) {
+            int nx = c.x + DX[i];
+            int ny = c.y + DY[i];
+            if (inside(nx, ny) && distance[ny * width + nx] == current - 1)
+                return grid.tile(nx, ny);
+        }
+        return null;
+    }
+
+    private boolean inside(final int x, final int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
@@ -0,0 +1,59 @@
+package core.level.elements.astar;
+
+import core.level.Tile;
+import core.level.TileGrid;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Keeps the {@link FlowField} of a level to the current target.
+ *
+ * <p>All entities that chase the same target (usually the hero) share one field. The field is
+ * computed again only if the target moves to another tile or the version of the level changes, so
+ * the cost of the chase does not depend on the number of chasing entities.
+ *
+ * <p>Can be used from any thread.
+ */
+public final class FlowFieldService {
+    private final TileGrid grid;
+    private final IntSupplier version;
+    private volatile Cached cached;
+
+    /**
+     * Create a flow field service.
+     *
+     * @param grid grid of the level to compute the fields on
+     * @param version supplies the current version of the level
+     */
+    public FlowFieldService(final TileGrid grid, final IntSupplier version) {
+        this.grid = grid;
+        this.version = version;
+    }
+
+    /**
+     * Get the flow field to the given target.
+     *
+     * @param target tile to walk to
+     * @return the shared flow field to the target
+     */
+    public FlowField fieldTo(final Tile target) {
+        int current = version.getAsInt();
+        Cached field = cached;
+        if (field != null && field.isFor(target, current)) return field.field;
+        synchronized (this) {
+            field = cached;
+            if (field == null || !field.isFor(target, current)) {
+                field = new Cached(FlowField.of(grid, target), current);
+                cached = field;
+            }
+            return field.field;
+        }
+    }
+
+    /* Field and the version of the level it was computed for. */
+    private record Cached(FlowField field, int version) {
+        private boolean isFor(final Tile target, final int currentVersion) {
+            return field.target() == target && version == currentVersion;
+        }
+    }
+}
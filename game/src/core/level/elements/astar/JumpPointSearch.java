@@ -0,0 +1,170 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+
+import core.level.Tile;
+import core.level.TileGrid;
+import core.level.utils.Coordinate;
+
+/**
+ * Jump point search (JPS) for the four-connected grid of a level.
+ *
+ * <p>Every step costs 1, so many shortest paths of the same length exist between two tiles. JPS
+ * only follows one of them: it moves vertically first and turns into a horizontal line at any
+ * tile, but a horizontal line only turns into a vertical one where a wall forces it to. Instead of
+ * adding each tile to the open list, the search jumps along straight lines to the next tile where
+ * such a turn is possible (a jump point), so only a few tiles are ever stored.
+ *
+ * <p>The search runs directly on the accessibility of the cells of the {@link TileGrid}, without
+ * the {@link com.badlogic.gdx.ai.pfa.Connection}s of the tiles. The Manhattan distance is used as
+ * heuristic, which never overestimates the cost on this grid, so the paths are shortest paths.
+ *
+ * <p>Searches can run on any thread. Each thread reuses its own buffers and the open list is a heap
+ * of primitive entries, so a search only allocates the returned path.
+ */
+public final class JumpPointSearch implements TilePathFinder {
+    private static final int NONE = -1;
+
+    private final TileGrid grid;
+    private final int width;
+    private final int height;
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * Create a jump point search on the given level.
+     *
+     * @param grid grid of the level to search paths in
+     */
+    public JumpPointSearch(final TileGrid grid) {
+        this.grid = grid;
+        width = grid.width();
+        height = grid.height();
+    }
+
+    @Override
+    public GraphPath<Tile> findPath(final Tile start, final Tile end) {
+        Search search = searches.get();
+        search.begin();
+        int startCell = cell(start.coordinate());
+        int endCell = cell(end.coordinate());
+        search.reach(startCell, NONE, 0, manhattan(startCell, endCell));
+
+        while (!search.open.isEmpty()) {
+            int cell = (int) search.open.poll();
+            if (search.closed[cell] == search.generation) continue;
+            search.closed[cell] = search.generation;
+            if (cell == endCell) return toPath(search, endCell);
+
+            int x = cell % width;
+            int y = cell / width;
+            int parent = search.parent[cell];
+            if (parent == NONE) {
+                jump(search, cell, 1, 0, endCell);
+                jump(search, cell, -1, 0, endCell);
+                jump(search, cell, 0, 1, endCell);
+                jump(search, cell, 0, -1, endCell);
+            } else if (parent / width == y) {
+                // arrived horizontally: go on, or turn where a wall forced the jump to stop
+                int dx = Integer.signum(x - parent % width);
+                jump(search, cell, dx, 0, endCell);
+                for (int dy = -1; dy <= 1; dy += 2)
+                    if (!free(x - dx, y + dy) && free(x, y + dy))
+                        jump(search, cell, 0, dy, endCell);
+            } else {
+                // arrived vertically: go on, or turn to both sides
+                jump(search, cell, 0, Integer.signum(y - parent / width), endCell);
+                jump(search, cell, 1, 0, endCell);
+                jump(search, cell, -1, 0, endCell);
+            }
+        }
+        return new TilePath(new Tile[0]);
+    }
+
+    private void jump(
+            final Search search, final int from, final int dx, final int dy, final int endCell) {
+        int x = from % width;
+        int y = from / width;
+        int point = dx != 0 ? jumpHorizontal(x, y, dx, endCell) : jumpVertical(x, y, dy, endCell);
+        if (point == NONE) return;
+        int cost = search.cost[from] + manhattan(from, point);
+        search.reach(point, from, cost, manhattan(point, endCell));
+    }
+
+    /* Next jump point on the horizontal line, NONE if the line ends at a wall. */
+    private int jumpHorizontal(int x, final int y, final int dx, final int endCell) {
+        while (true) {
+            x += dx;
+            if (!free(x, y)) return NONE;
+            int cell = y * width + x;
+            if (cell == endCell) return cell;
+            if ((!free(x - dx, y + 1) && free(x, y + 1))
+                    || (!free(x - dx, y - 1) && free(x, y - 1))) return cell;
+        }
+    }
+
+    /* Next jump point on the vertical line: a tile where a horizontal line finds a jump point. */
+    private int jumpVertical(final int x, int y, final int dy, final int endCell) {
+        while (true) {
+            y += dy;
+            if (!free(x, y)) return NONE;
+            int cell = y * width + x;
+            if (cell == endCell
+                    || jumpHorizontal(x, y, 1, endCell) != NONE
+                    || jumpHorizontal(x, y, -1, endCell) != NONE) return cell;
+        }
+    }
+
+    /* Fill the straight lines between the jump points. */
+    private GraphPath<Tile> toPath(final Search search, final int endCell) {
+        int length = 1 + search.cost[endCell];
+        Tile[] tiles = new Tile[length];
+        int index = length - 1;
+        int cell = endCell;
+        tiles[index] = grid.tile(cell % width, cell / width);
+        for (int parent = search.parent[cell]; parent != NONE; parent = search.parent[cell]) {
+            int step = parent / width == cell / width ? 1 : width;
+            if (parent > cell) step = -step;
+            while (cell != parent) {
+                cell -= step;
+                tiles[--index] = grid.tile(cell % width, cell / width);
+            }
+        }
+        return new TilePath(tiles);
+    }
+
+    private boolean free(final int x, final int y) {
+        return grid.isAccessible(x, y);
+    }
+
+    private int manhattan(final int from, final int to) {
+        return Math.abs(from % width - to % width) + Math.abs(from / width - to / width);
+    }
+
+    private int cell(final Coordinate coordinate) {
+        return coordinate.y * width + coordinate.x;
+    }
+
+    /* Buffers of the searches of one thread, valid for the tiles reached in this generation. */
+    private final class Search {
+        private final int[] cost = new int[width * height];
+        private final int[] parent = new int[width * height];
+        private final int[] reached = new int[width * height];
+        private final int[] closed = new int[width * height];
+        /* Entries are the priority in the upper and the cell in the lower 32 bits. */
+        private final OpenList open = new OpenList();
+        private int generation = 0;
+
+        private void begin() {
+            generation++;
+            open.clear();
+        }
+
+        private void reach(final int cell, final int from, final int newCost, final int heuristic) {
+            if (reached[cell] == generation && cost[cell] <= newCost) return;
+            reached[cell] = generation;
+            cost[cell] = newCost;
+            parent[cell] = from;
+            open.add(((long) (newCost + heuristic) << 32) | cell);
+        }
+    }
+}
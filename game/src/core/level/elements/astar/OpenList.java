@@ -0,0 +1,48 @@
+package core.level.elements.astar;
+
+import java.util.Arrays;
+
+/**
+ * Open list of the searches in this package: a binary min heap of longs, so the entries are not
+ * boxed.
+ *
+ * <p>The searches store the priority in the upper and the cell in the lower 32 bits of an entry,
+ * so {@link #poll()} returns the cell with the lowest priority.
+ */
+final class OpenList {
+    private long[] heap = new long[64];
+    private int size = 0;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(final long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size++;
+        while (i > 0 && heap[(i - 1) / 2] > value) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = value;
+    }
+
+    long poll() {
+        long result = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+
+import core.level.Tile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Searches the paths of a level and caches the results.
+ *
+ * <p>Many entities search the same path again and again, e.g. all monsters that chase the hero
+ * search a path to the tile of the hero in every frame. The last {@link #CAPACITY} paths are kept
+ * in a least recently used cache, keyed by the index of the start and the end tile, so most of
+ * these requests are answered without a search.
+ *
+ * <p>The cache is cleared as soon as the version of the level changes. The level increments its
+ * version whenever a tile is added or removed, because this can change all paths of the level.
+ *
+ * <p>The searches run on a {@link TilePathFinder}, e.g. a {@link SectorGraph}. The returned paths
+ * are shared, so the finder should return {@link TilePath}s, which can not be changed.
+ *
+ * <p>Can be used from any thread.
+ */
+public final class PathService {
+    /** Number of paths in the cache. */
+    public static final int CAPACITY = 256;
+
+    private final TilePathFinder finder;
+    private final IntSupplier version;
+    private final Map<Long, GraphPath<Tile>> cache =
+            new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, GraphPath<Tile>> eldest) {
+                    return size() > CAPACITY;
+                }
+            };
+    /* Version of the level the cached paths were searched on. */
+    private int cachedVersion;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    /**
+     * Create a path service.
+     *
+     * @param finder algorithm to search the paths with
+     * @param version supplies the current version of the level
+     */
+    public PathService(final TilePathFinder finder, final IntSupplier version) {
+        this.finder = finder;
+        this.version = version;
+        cachedVersion = version.getAsInt();
+    }
+
+    /**
+     * Get the path between two accessible tiles of the level.
+     *
+     * <p>Returns the cached path if the same path was searched since the last change of the level.
+     *
+     * @param start start tile
+     * @param end end tile
+     * @return path from start to end (both included), empty if there is no path
+     */
+    public GraphPath<Tile> findPath(final Tile start, final Tile end) {
+        int current = version.getAsInt();
+        long key = ((long) start.index() << 32) | (end.index() & 0xffffffffL);
+        synchronized (cache) {
+            if (current != cachedVersion) {
+                cache.clear();
+                cachedVersion = current;
+            }
+            GraphPath<Tile> path = cache.get(key);
+            if (path != null) return path;
+        }
+
+        GraphPath<Tile> path = finder.findPath(start, end);
+        searches.incrementAndGet();
+        synchronized (cache) {
+            // the level may have changed during the search
+            if (current == cachedVersion) cache.put(key, path);
+        }
+        return path;
+    }
+
+    /**
+     * @return number of paths that were not found in the cache and had to be searched
+     */
+    public int searches() {
+        return searches.get();
+    }
+}
@@ -0,0 +1,18 @@
+package core.level.elements.astar;
+
+/**
+ * The algorithms a {@link core.level.TileLevel} can search its paths with.
+ *
+ * <p>All modes move between the four direct neighbours of a tile, with a cost of 1 per step.
+ */
+public enum PathfindingMode {
+    /**
+     * Indexed A* of gdx-ai on the connections of the tiles ({@link
+     * core.level.elements.IPathable#findPath}).
+     */
+    A_STAR,
+    /** Hierarchical pathfinding on a {@link SectorGraph}, near optimal paths. */
+    HIERARCHICAL,
+    /** Jump point search directly on the layout, see {@link JumpPointSearch}. */
+    JUMP_POINT
+}
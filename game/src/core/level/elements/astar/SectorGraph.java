@@ -0,0 +1,420 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.IntArray;
+
+import core.level.Tile;
+import core.level.TileGrid;
+import core.level.utils.Coordinate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Abstract graph of a level for hierarchical pathfinding (HPA*).
+ *
+ * <p>The layout is split into sectors of {@link #SECTOR_SIZE} x {@link #SECTOR_SIZE} tiles. Where
+ * two neighbouring sectors share a run of accessible tiles on their border, the tiles at the middle
+ * of the run (or at both ends of a long run) are transitions between the sectors. The transitions
+ * are the nodes of the abstract graph; the distances between the transitions of a sector are
+ * precomputed with a breadth-first search that does not leave the sector.
+ *
+ * <p>A path is searched on the abstract graph first, and then refined segment by segment with
+ * searches inside a single sector. The cost of a search depends on the number of sectors the path
+ * crosses and not on the number of tiles in the level. The paths are near optimal: they may take a
+ * few more steps than the shortest path, because they always cross a border at a transition.
+ *
+ * <p>Use {@link #tileChanged} if a tile of the level was replaced. The sector of the tile and its
+ * neighbours are built again before the next search.
+ *
+ * <p>Searches can run on any thread. Each thread reuses its own search buffers: the records of the
+ * abstract search are kept in arrays indexed by cell and the open list is a heap of primitive
+ * entries. So a search only allocates the returned path, and grows the buffers of the thread if a
+ * path is longer than any path before.
+ */
+public final class SectorGraph implements TilePathFinder {
+    /** Width and height of a sector in tiles. */
+    public static final int SECTOR_SIZE = 16;
+
+    /* Runs of accessible border tiles longer than this get a transition at both ends. */
+    private static final int LONG_ENTRANCE = 6;
+    private static final int UNREACHABLE = -1;
+    /* Parent of the first transitions of the abstract search. */
+    private static final int NONE = -1;
+
+    private final TileGrid grid;
+    private final int width;
+    private final int height;
+    private final int sectorsX;
+    private final int sectorsY;
+    /* Transitions to the sector on the right and above, as cells on the side of this sector. */
+    private final int[][] east;
+    private final int[][] north;
+    private final Sector[] sectors;
+    private final boolean[] dirty;
+    private volatile boolean changed = false;
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(Search::new);
+
+    /**
+     * Create the abstract graph of the given level.
+     *
+     * @param grid grid of the level to search paths in
+     */
+    public SectorGraph(final TileGrid grid) {
+        this.grid = grid;
+        width = grid.width();
+        height = grid.height();
+        sectorsX = (width + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        sectorsY = (height + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        east = new int[sectorsX * sectorsY][];
+        north = new int[sectorsX * sectorsY][];
+        sectors = new Sector[sectorsX * sectorsY];
+        dirty = new boolean[sectorsX * sectorsY];
+        for (int s = 0; s < sectors.length; s++) buildBorders(s);
+        for (int s = 0; s < sectors.length; s++) sectors[s] = buildSector(s);
+    }
+
+    /**
+     * Mark the tile at the given coordinate as changed.
+     *
+     * <p>The abstract graph around the tile is built again before the next search.
+     *
+     * @param coordinate coordinate of the changed tile
+     */
+    public synchronized void tileChanged(final Coordinate coordinate) {
+        if (coordinate.x < 0 || coordinate.y < 0 || coordinate.x >= width || coordinate.y >= height)
+            return;
+        dirty[(coordinate.y / SECTOR_SIZE) * sectorsX + coordinate.x / SECTOR_SIZE] = true;
+        changed = true;
+    }
+
+    @Override
+    public GraphPath<Tile> findPath(final Tile start, final Tile end) {
+        if (changed) update();
+        Search search = searches.get();
+        int startCell = cell(start.coordinate());
+        int endCell = cell(end.coordinate());
+        int startSector = sectorOf(startCell);
+        int endSector = sectorOf(endCell);
+        IntArray cells = search.cells;
+        cells.clear();
+
+        Local fromStart = search.fromStart.search(startSector, startCell);
+        // short paths do not need the abstract graph
+        if (startSector == endSector && fromStart.reaches(endCell)) {
+            fromStart.appendPath(endCell, true, cells);
+            return toPath(cells);
+        }
+
+        Local toEnd = search.toEnd.search(endSector, endCell);
+        IntArray transitions = search.transitions;
+        if (!searchAbstract(search, startCell, endCell, transitions))
+            return new TilePath(new Tile[0]);
+
+        fromStart.appendPath(transitions.get(0), true, cells);
+        for (int i = 1; i < transitions.size; i++) {
+            int from = transitions.get(i - 1);
+            int to = transitions.get(i);
+            if (sectorOf(from) != sectorOf(to)) cells.add(to);
+            else {
+                cells.pop();
+                search.segment.search(sectorOf(from), from).appendPath(to, true, cells);
+            }
+        }
+        cells.pop();
+        toEnd.appendPath(transitions.peek(), false, cells);
+        return toPath(cells);
+    }
+
+    private GraphPath<Tile> toPath(final IntArray cells) {
+        Tile[] tiles = new Tile[cells.size];
+        for (int i = 0; i < tiles.length; i++) {
+            int cell = cells.get(i);
+            tiles[i] = grid.tile(cell % width, cell / width);
+        }
+        return new TilePath(tiles);
+    }
+
+    /*
+     * A* on the transitions, from the start tile to the virtual goal behind the end tile. Fills the
+     * transitions of the path in walking order, returns false if there is no path.
+     */
+    private boolean searchAbstract(
+            final Search search, final int startCell, final int endCell, final IntArray path) {
+        Local fromStart = search.fromStart;
+        Local toEnd = search.toEnd;
+        search.begin();
+        int goal = width * height;
+
+        Sector first = sectors[sectorOf(startCell)];
+        for (int node : first.nodes)
+            if (fromStart.reaches(node))
+                search.reach(node, NONE, fromStart.distance(node), manhattan(node, endCell));
+
+        while (!search.open.isEmpty()) {
+            long entry = search.open.poll();
+            int cell = (int) entry;
+            // skip entries of cells that were queued again with a lower cost
+            if (search.closed[cell] == search.generation) continue;
+            if ((int) (entry >>> 32) != search.cost[cell] + search.heuristic[cell]) continue;
+            if (cell == goal) break;
+            search.closed[cell] = search.generation;
+            int cost = search.cost[cell];
+            int sectorIndex = sectorOf(cell);
+            Sector sector = sectors[sectorIndex];
+            int slot = Arrays.binarySearch(sector.nodes, cell);
+            if (slot < 0) continue;
+
+            if (sectorIndex == toEnd.sector && toEnd.reaches(cell))
+                search.reach(goal, cell, cost + toEnd.distance(cell), 0);
+            for (int other = 0; other < sector.nodes.length; other++) {
+                int distance = sector.distance(slot, other);
+                if (other != slot && distance != UNREACHABLE) {
+                    int node = sector.nodes[other];
+                    search.reach(node, cell, cost + distance, manhattan(node, endCell));
+                }
+            }
+            int x = cell % width;
+            int y = cell / width;
+            if (x + 1 < width) crossBorder(search, cell, cell + 1, sectorIndex, endCell);
+            if (x > 0) crossBorder(search, cell, cell - 1, sectorIndex, endCell);
+            if (y + 1 < height) crossBorder(search, cell, cell + width, sectorIndex, endCell);
+            if (y > 0) crossBorder(search, cell, cell - width, sectorIndex, endCell);
+        }
+        if (search.reached[goal] != search.generation) return false;
+        path.clear();
+        for (int cell = search.parent[goal]; cell != NONE; cell = search.parent[cell])
+            path.add(cell);
+        path.reverse();
+        return true;
+    }
+
+    /* Step from a transition to the transition on the other side of the border, if there is one. */
+    private void crossBorder(
+            final Search search,
+            final int cell,
+            final int neighbour,
+            final int sectorIndex,
+            final int endCell) {
+        int neighbourSector = sectorOf(neighbour);
+        if (neighbourSector == sectorIndex) return;
+        if (Arrays.binarySearch(sectors[neighbourSector].nodes, neighbour) >= 0)
+            search.reach(
+                    neighbour, cell, search.cost[cell] + 1, manhattan(neighbour, endCell));
+    }
+
+    private int manhattan(final int from, final int to) {
+        return Math.abs(from % width - to % width) + Math.abs(from / width - to / width);
+    }
+
+    private synchronized void update() {
+        if (!changed) return;
+        boolean[] rebuild = new boolean[sectors.length];
+        for (int s = 0; s < sectors.length; s++) {
+            if (!dirty[s]) continue;
+            dirty[s] = false;
+            int sx = s % sectorsX;
+            int sy = s / sectorsX;
+            buildBorders(s);
+            if (sx > 0) buildBorders(s - 1);
+            if (sy > 0) buildBorders(s - sectorsX);
+            rebuild[s] = true;
+            if (sx > 0) rebuild[s - 1] = true;
+            if (sx + 1 < sectorsX) rebuild[s + 1] = true;
+            if (sy > 0) rebuild[s - sectorsX] = true;
+            if (sy + 1 < sectorsY) rebuild[s + sectorsX] = true;
+        }
+        for (int s = 0; s < sectors.length; s++)
+            if (rebuild[s]) sectors[s] = buildSector(s);
+        changed = false;
+    }
+
+    private void buildBorders(final int s) {
+        int x0 = (s % sectorsX) * SECTOR_SIZE;
+        int y0 = (s / sectorsX) * SECTOR_SIZE;
+        int x1 = Math.min(x0 + SECTOR_SIZE, width) - 1;
+        int y1 = Math.min(y0 + SECTOR_SIZE, height) - 1;
+        east[s] = new int[0];
+        north[s] = new int[0];
+        if (x1 + 1 < width) east[s] = entrances(x1, y0, 0, 1, y1 - y0 + 1, 1, 0);
+        if (y1 + 1 < height) north[s] = entrances(x0, y1, 1, 0, x1 - x0 + 1, 0, 1);
+    }
+
+    /* Transitions along a border, as cells on the near side of the border. */
+    private int[] entrances(
+            final int x,
+            final int y,
+            final int stepX,
+            final int stepY,
+            final int length,
+            final int acrossX,
+            final int acrossY) {
+        List<Integer> cells = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int cx = x + i * stepX;
+            int cy = y + i * stepY;
+            boolean open =
+                    i < length
+                            && grid.isAccessible(cx, cy)
+                            && grid.isAccessible(cx + acrossX, cy + acrossY);
+            if (open && runStart < 0) runStart = i;
+            if (open || runStart < 0) continue;
+            int runEnd = i - 1;
+            if (runEnd - runStart + 1 > LONG_ENTRANCE) {
+                cells.add((y + runStart * stepY) * width + x + runStart * stepX);
+                cells.add((y + runEnd * stepY) * width + x + runEnd * stepX);
+            } else {
+                int middle = (runStart + runEnd) / 2;
+                cells.add((y + middle * stepY) * width + x + middle * stepX);
+            }
+            runStart = -1;
+        }
+        return cells.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Sector buildSector(final int s) {
+        int sx = s % sectorsX;
+        int sy = s / sectorsX;
+        List<Integer> nodes = new ArrayList<>();
+        for (int cell : east[s]) nodes.add(cell);
+        for (int cell : north[s]) nodes.add(cell);
+        if (sx > 0) for (int cell : east[s - 1]) nodes.add(cell + 1);
+        if (sy > 0) for (int cell : north[s - sectorsX]) nodes.add(cell + width);
+        int[] sorted = nodes.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+
+        int n = sorted.length;
+        int[] distances = new int[n * n];
+        Local local = searches.get().segment;
+        for (int i = 0; i < n; i++) {
+            local.search(s, sorted[i]);
+            for (int j = 0; j < n; j++) distances[i * n + j] = local.distance(sorted[j]);
+        }
+        return new Sector(sorted, distances);
+    }
+
+    private int cell(final Coordinate coordinate) {
+        return coordinate.y * width + coordinate.x;
+    }
+
+    private int sectorOf(final int cell) {
+        return (cell / width / SECTOR_SIZE) * sectorsX + (cell % width) / SECTOR_SIZE;
+    }
+
+    /* Transitions of a sector and the distances between them. */
+    private record Sector(int[] nodes, int[] distances) {
+        private int distance(final int from, final int to) {
+            return distances[from * nodes.length + to];
+        }
+    }
+
+    /* Buffers of the searches of one thread, valid for the cells reached in this generation. */
+    private final class Search {
+        private final Local fromStart = new Local();
+        private final Local toEnd = new Local();
+        private final Local segment = new Local();
+        /* Abstract search, indexed by cell; the last slot is the virtual goal. */
+        private final int[] cost = new int[width * height + 1];
+        private final int[] heuristic = new int[width * height + 1];
+        private final int[] parent = new int[width * height + 1];
+        private final int[] reached = new int[width * height + 1];
+        private final int[] closed = new int[width * height + 1];
+        private final OpenList open = new OpenList();
+        private int generation = 0;
+        private final IntArray transitions = new IntArray();
+        private final IntArray cells = new IntArray();
+
+        private void begin() {
+            generation++;
+            open.clear();
+        }
+
+        private void reach(final int cell, final int from, final int newCost, final int estimate) {
+            boolean known = reached[cell] == generation;
+            if (known && (closed[cell] == generation || cost[cell] <= newCost)) return;
+            reached[cell] = generation;
+            cost[cell] = newCost;
+            heuristic[cell] = estimate;
+            parent[cell] = from;
+            open.add(((long) (newCost + estimate) << 32) | cell);
+        }
+    }
+
+    /* Breadth-first search from one tile that does not leave the sector of the tile. */
+    private final class Local {
+        private final int[] distance = new int[SECTOR_SIZE * SECTOR_SIZE];
+        private final int[] parent = new int[SECTOR_SIZE * SECTOR_SIZE];
+        private final int[] queue = new int[SECTOR_SIZE * SECTOR_SIZE];
+        private int sector;
+        private int x0;
+        private int y0;
+        private int sectorWidth;
+
+        private Local search(final int sector, final int origin) {
+            this.sector = sector;
+            x0 = (sector % sectorsX) * SECTOR_SIZE;
+            y0 = (sector / sectorsX) * SECTOR_SIZE;
+            sectorWidth = Math.min(SECTOR_SIZE, width - x0);
+            int sectorHeight = Math.min(SECTOR_SIZE, height - y0);
+            Arrays.fill(distance, 0, sectorWidth * sectorHeight, UNREACHABLE);
+
+            int head = 0;
+            int tail = 0;
+            int o = local(origin);
+            distance[o] = 0;
+            parent[o] = o;
+            queue[tail++] = o;
+            while (head < tail) {
+                int current = queue[head++];
+                int lx = current % sectorWidth;
+                int ly = current / sectorWidth;
+                int row = sectorWidth;
+                if (lx + 1 < sectorWidth) tail = visit(tail, current, current + 1);
+                if (lx > 0) tail = visit(tail, current, current - 1);
+                if (ly + 1 < sectorHeight) tail = visit(tail, current, current + row);
+                if (ly > 0) tail = visit(tail, current, current - row);
+            }
+            return this;
+        }
+
+        private int visit(final int tail, final int from, final int to) {
+            if (distance[to] != UNREACHABLE
+                    || !grid.isAccessible(x0 + to % sectorWidth, y0 + to / sectorWidth))
+                return tail;
+            distance[to] = distance[from] + 1;
+            parent[to] = from;
+            queue[tail] = to;
+            return tail + 1;
+        }
+
+        private int local(final int cell) {
+            return (cell / width - y0) * sectorWidth + cell % width - x0;
+        }
+
+        private int global(final int local) {
+            return (y0 + local / sectorWidth) * width + x0 + local % sectorWidth;
+        }
+
+        private boolean reaches(final int cell) {
+            return sectorOf(cell) == sector && distance[local(cell)] != UNREACHABLE;
+        }
+
+        private int distance(final int cell) {
+            return sectorOf(cell) == sector ? distance[local(cell)] : UNREACHABLE;
+        }
+
+        /* Append the cells between the origin and the given cell, in walking order if set. */
+        private void appendPath(final int cell, final boolean fromOrigin, final IntArray cells) {
+            int first = cells.size;
+            int current = local(cell);
+            while (parent[current] != current) {
+                cells.add(global(current));
+                current = parent[current];
+            }
+            cells.add(global(current));
+            if (!fromOrigin) return;
+            for (int i = first, j = cells.size - 1; i < j; i++, j--) cells.swap(i, j);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+
+import core.level.Tile;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A path of tiles that can not be changed.
+ *
+ * <p>Paths are cached and shared by all entities that walk from the same start to the same end
+ * tile (see {@link PathService}), so they must not be modified. Unlike {@link
+ * com.badlogic.gdx.ai.pfa.DefaultGraphPath}, each iteration gets its own iterator, so a path can
+ * be read by several threads at once.
+ */
+public final class TilePath implements GraphPath<Tile> {
+    private final Tile[] tiles;
+
+    /**
+     * Create a path.
+     *
+     * @param tiles tiles of the path, in walking order
+     */
+    public TilePath(final Tile[] tiles) {
+        this.tiles = tiles;
+    }
+
+    /**
+     * Copy the given path.
+     *
+     * @param path path to copy
+     * @return a path with the same tiles
+     */
+    public static TilePath copyOf(final GraphPath<Tile> path) {
+        Tile[] tiles = new Tile[path.getCount()];
+        for (int i = 0; i < tiles.length; i++) tiles[i] = path.get(i);
+        return new TilePath(tiles);
+    }
+
+    @Override
+    public int getCount() {
+        return tiles.length;
+    }
+
+    @Override
+    public Tile get(int index) {
+        return tiles[index];
+    }
+
+    @Override
+    public void add(Tile node) {
+        throw new UnsupportedOperationException("A TilePath can not be changed.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A TilePath can not be changed.");
+    }
+
+    @Override
+    public void reverse() {
+        throw new UnsupportedOperationException("A TilePath can not be changed.");
+    }
+
+    @Override
+    public Iterator<Tile> iterator() {
+        return Arrays.asList(tiles).iterator();
+    }
+}
@@ -0,0 +1,22 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+
+import core.level.Tile;
+
+/**
+ * Searches paths between the tiles of a level.
+ *
+ * @see PathfindingMode
+ */
+@FunctionalInterface
+public interface TilePathFinder {
+    /**
+     * Search a path between two accessible tiles.
+     *
+     * @param start start tile
+     * @param end end tile
+     * @return path from start to end (both included), empty if there is no path
+     */
+    GraphPath<Tile> findPath(Tile start, Tile end);
+}
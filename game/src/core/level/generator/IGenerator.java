@@ -1,10 +1,26 @@
 package core.level.generator;
 
+import core.level.TileLevel;
 import core.level.elements.ILevel;
+import core.level.elements.tile.FloorTile;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates levels in stages: the {@link #layout(LevelSize, SplittableRandom) layout} of the level
+ * elements, post-generation steps that wrap another generator (e.g. {@link
+ * core.level.generator.postGeneration.WallGenerator}), and finally the textures and tile objects,
+ * which are created by the {@link TileLevel}.
+ *
+ * <p>All random decisions are taken from the {@link SplittableRandom} of the stage, which is split
+ * from the seed of the level. The same seed gives the same level, on every node and on every
+ * thread, so levels can be generated in the background.
+ */
 public interface IGenerator {
     /**
      * Get a level with the given configuration.
@@ -13,7 +29,29 @@ public interface IGenerator {
      * @param size Size of the level
      * @return The level
      */
-    ILevel level(DesignLabel designLabel, LevelSize size);
+    default ILevel level(DesignLabel designLabel, LevelSize size) {
+        return level(designLabel, size, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Get the level of the given seed.
+     *
+     * <p>The same configuration and seed give the same level.
+     *
+     * @param designLabel Design of the level
+     * @param size Size of the level
+     * @param seed Seed of the level
+     * @return The level
+     */
+    default ILevel level(DesignLabel designLabel, LevelSize size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ILevel level = new TileLevel(layout(size, random.split()), designLabel);
+        // the level picks its start with a shared random, so pick it again from the seed
+        List<FloorTile> floorTiles = level.floorTiles();
+        if (!floorTiles.isEmpty())
+            level.startTile(floorTiles.get(random.nextInt(floorTiles.size())));
+        return level;
+    }
 
     /**
      * Get a level with a random configuration.
@@ -50,5 +88,18 @@ public interface IGenerator {
      * @param size Size of the level
      * @return The layout
      */
-    LevelElement[][] layout(LevelSize size);
+    default LevelElement[][] layout(LevelSize size) {
+        return layout(size, new SplittableRandom());
+    }
+
+    /**
+     * Get a level layout with the given configuration.
+     *
+     * <p>The same size and random sequence give the same layout.
+     *
+     * @param size Size of the level
+     * @param random Source of all random decisions of the layout
+     * @return The layout
+     */
+    LevelElement[][] layout(LevelSize size, SplittableRandom random);
 }
@@ -1,11 +1,9 @@
 package core.level.generator.perlinNoise;
 
-import core.level.utils.Coordinate;
-
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /** area providing some methods to get areas from perlin noise */
 public class NoiseArea {
@@ -31,6 +29,13 @@ public class NoiseArea {
         }
         size = i;
     }
+
+    private NoiseArea(final boolean[][] contains, final int size) {
+        width = contains.length;
+        height = contains[0].length;
+        area = contains;
+        this.size = size;
+    }
     /**
      * checks whether the given coordinates are in the area
      *
@@ -117,55 +122,121 @@ public class NoiseArea {
     /**
      * generates areas from perlin noise
      *
+     * <p>the areas are ordered by their first field, column by column
+     *
      * @param values the NoiseAreaValues
      * @return all found areas
      */
     public static NoiseArea[] areas(final NoiseAreaValues values) {
-        final ArrayList<NoiseArea> alRes = new ArrayList<>();
-        for (int x = 0; x < values.noiseValues.length; x++) {
-            allPixel:
-            for (int y = 0; y < values.noiseValues[x].length; y++) {
-                for (final NoiseArea f : alRes) {
-                    if (f.contains(x, y)) continue allPixel;
-                }
-                if (checkBound(values.noiseValues[x][y], values)) {
-                    final boolean[][] isContained =
-                            floodFill(
-                                    new NoiseAreaValues(
-                                            values.min,
-                                            values.max,
-                                            values.noiseValues,
-                                            new Coordinate(x, y),
-                                            values.outerBound));
-                    alRes.add(new NoiseArea(isContained));
-                }
+        final Labels labels = label(values);
+        final int width = values.noiseValues.length;
+        final int height = values.noiseValues[0].length;
+        final boolean[][][] areas = new boolean[labels.count()][width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                final int label = labels.labels()[x * height + y];
+                if (label > 0) areas[label - 1][x][y] = true;
+            }
+        }
+        final NoiseArea[] res = new NoiseArea[areas.length];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = new NoiseArea(areas[i], labels.sizes()[i + 1]);
+        }
+        return res;
+    }
+
+    /**
+     * generates the biggest area from perlin noise
+     *
+     * <p>if several areas have the biggest size, the first one of {@link #areas} is returned
+     *
+     * @param values the NoiseAreaValues
+     * @return the biggest area, null if no field is in the bounds
+     */
+    public static NoiseArea biggestArea(final NoiseAreaValues values) {
+        final Labels labels = label(values);
+        int biggest = 0;
+        for (int label = 1; label <= labels.count(); label++) {
+            if (labels.sizes()[label] > labels.sizes()[biggest]) biggest = label;
+        }
+        if (biggest == 0) return null;
+
+        final int width = values.noiseValues.length;
+        final int height = values.noiseValues[0].length;
+        final boolean[][] area = new boolean[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                area[x][y] = labels.labels()[x * height + y] == biggest;
             }
         }
-        return alRes.toArray(new NoiseArea[0]);
+        return new NoiseArea(area, labels.sizes()[biggest]);
     }
 
-    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
-    private static boolean[][] floodFill(final NoiseAreaValues values) {
-        final boolean[][] res =
-                new boolean[values.noiseValues.length][values.noiseValues[0].length];
-        final ArrayList<Coordinate> queue = new ArrayList<>();
-        queue.add(values.startField);
-
-        while (!queue.isEmpty()) {
-            final Coordinate aktFeld = queue.remove(0);
-            final int x = aktFeld.x;
-            final int y = aktFeld.y;
-
-            if (checkBound(values.noiseValues[x][y], values) && !res[x][y]) {
-                res[x][y] = true;
-
-                if (x > 0) queue.add(new Coordinate(x - 1, y));
-                if (x < values.noiseValues.length - 1) queue.add(new Coordinate(x + 1, y));
-                if (y > 0) queue.add(new Coordinate(x, y - 1));
-                if (y < values.noiseValues[x].length - 1) queue.add(new Coordinate(x, y + 1));
+    /*
+     * Labels the connected fields in the bounds with a two pass union find.
+     *
+     * The first pass gives each field the label of its left or upper neighbour, or a new label,
+     * and joins the labels if both neighbours are in the bounds. The second pass replaces each
+     * label by the number of its area, counted from 1 in the order of the first field of the
+     * areas, and counts the fields of each area. Fields outside the bounds keep the label 0.
+     */
+    private static Labels label(final NoiseAreaValues values) {
+        final double[][] noise = values.noiseValues;
+        final int width = noise.length;
+        final int height = noise[0].length;
+        final int[] labels = new int[width * height];
+        // parent of each provisional label, a root is its own parent
+        int[] parent = new int[16];
+        int next = 1;
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (!checkBound(noise[x][y], values)) continue;
+                final int i = x * height + y;
+                final int left = x > 0 ? labels[i - height] : 0;
+                final int up = y > 0 ? labels[i - 1] : 0;
+                if (left == 0 && up == 0) {
+                    if (next == parent.length) parent = Arrays.copyOf(parent, next * 2);
+                    parent[next] = next;
+                    labels[i] = next++;
+                } else if (left == 0 || up == 0) {
+                    labels[i] = left + up;
+                } else {
+                    labels[i] = union(parent, left, up);
+                }
             }
         }
-        return res;
+
+        // number of the area of each root, 0 if it was not reached yet
+        final int[] areaOf = new int[next];
+        final int[] sizes = new int[next];
+        int count = 0;
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == 0) continue;
+            final int root = find(parent, labels[i]);
+            if (areaOf[root] == 0) areaOf[root] = ++count;
+            labels[i] = areaOf[root];
+            sizes[labels[i]]++;
+        }
+        return new Labels(labels, Arrays.copyOf(sizes, count + 1), count);
+    }
+
+    private static int find(final int[] parent, int label) {
+        while (parent[label] != label) {
+            // path halving
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+
+    private static int union(final int[] parent, final int a, final int b) {
+        final int rootA = find(parent, a);
+        final int rootB = find(parent, b);
+        final int root = Math.min(rootA, rootB);
+        parent[rootA] = root;
+        parent[rootB] = root;
+        return root;
     }
 
     private static boolean checkBound(final double value, final NoiseAreaValues values) {
@@ -174,4 +245,10 @@ public class NoiseArea {
         }
         return (value >= values.min && value <= values.max);
     }
+
+    /*
+     * Area number of each field (index x * height + y, 0 outside the bounds) and the number of
+     * fields of each area (index 1 to count).
+     */
+    private record Labels(int[] labels, int[] sizes, int count) {}
 }
@@ -9,9 +9,9 @@ import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 
 public class PerlinNoiseGenerator implements IGenerator {
-    private static final Random GLOBAL_RANDOM = new Random();
     private static final int SMALL_MIN_X_SIZE = 30;
     private static final int SMALL_MIN_Y_SIZE = 30;
     private static final int SMALL_MAX_X_SIZE = 40;
@@ -25,14 +25,18 @@ public class PerlinNoiseGenerator implements IGenerator {
     private static final int BIG_MAX_X_SIZE = 150;
     private static final int BIG_MAX_Y_SIZE = 150;
 
+    /**
+     * Generates the layout of a level.
+     *
+     * <p>The noise is computed with a {@link Random} that is seeded from the given random.
+     *
+     * @param size the level size
+     * @param random source of all random decisions of the layout
+     * @return the layout
+     */
     @Override
-    public ILevel level(DesignLabel designLabel, LevelSize size) {
-        return level(designLabel, size, GLOBAL_RANDOM);
-    }
-
-    @Override
-    public LevelElement[][] layout(LevelSize size) {
-        return layout(size, new Random());
+    public LevelElement[][] layout(LevelSize size, SplittableRandom random) {
+        return layout(size, new Random(random.nextLong()));
     }
 
     /**
@@ -93,14 +97,7 @@ public class PerlinNoiseGenerator implements IGenerator {
                         randomGenerator);
         final double[][] noise = pNoise.noiseAll(1);
 
-        final NoiseArea[] areas = NoiseArea.areas(new NoiseAreaValues(0.4, 0.6, noise, false));
-        NoiseArea area = areas[0];
-        for (final NoiseArea f : areas) {
-            if (area.size() < f.size()) {
-                area = f;
-            }
-        }
-        return area;
+        return NoiseArea.biggestArea(new NoiseAreaValues(0.4, 0.6, noise, false));
     }
 
     private static LevelElement[][] toLevelElementArray(NoiseArea playingArea, Random random) {
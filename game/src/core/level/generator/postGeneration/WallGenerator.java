@@ -1,12 +1,11 @@
 package core.level.generator.postGeneration;
 
-import core.level.TileLevel;
-import core.level.elements.ILevel;
 import core.level.generator.IGenerator;
-import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 
+import java.util.SplittableRandom;
+
 /**
  * Generator to generate Walls and Holes on a pre-generated level layout Works on every layout with
  * only SKIP and FLOOR LevelElements.
@@ -30,22 +29,25 @@ public class WallGenerator implements IGenerator {
         this.preGenerator = precedingGenerator;
     }
 
+    /**
+     * Generates the layout of the preceding generator and adds the walls.
+     *
+     * <p>Placing the walls does not need random decisions, so the random is passed to the
+     * preceding generator.
+     *
+     * @param size Size of the level
+     * @param random Source of all random decisions of the layout
+     * @return The layout with walls
+     */
     @Override
-    public ILevel level(DesignLabel designLabel, LevelSize size) {
-        runPreGeneration(size);
-        placeWalls();
-        return new TileLevel(layout, designLabel);
-    }
-
-    @Override
-    public LevelElement[][] layout(LevelSize size) {
-        runPreGeneration(size);
+    public synchronized LevelElement[][] layout(LevelSize size, SplittableRandom random) {
+        runPreGeneration(size, random);
         placeWalls();
         return layout;
     }
 
-    private void runPreGeneration(LevelSize size) {
-        LevelElement[][] preLayout = preGenerator.layout(size);
+    private void runPreGeneration(LevelSize size, SplittableRandom random) {
+        LevelElement[][] preLayout = preGenerator.layout(size, random);
         // Surround layout with 2 layers of LevelElement.SKIP
         this.layout = new LevelElement[preLayout.length + 4][preLayout[0].length + 4];
         for (int i = 0; i < this.layout.length; i++) {
@@ -1,19 +1,15 @@
 package core.level.generator.randomwalk;
 
-import core.level.TileLevel;
-import core.level.elements.ILevel;
 import core.level.generator.IGenerator;
 import core.level.utils.Coordinate;
-import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class RandomWalkGenerator implements IGenerator {
     private record MinMaxValue(int min, int max) {}
 
-    private static final Random RANDOM = new Random();
     private static final int SMALL_MIN_X_SIZE = 10;
     private static final int SMALL_MIN_Y_SIZE = 10;
     private static final int SMALL_MAX_X_SIZE = 30;
@@ -29,34 +25,35 @@ public class RandomWalkGenerator implements IGenerator {
     private static final int MIN_STEPS_FACTOR = 4;
     private static final int MAX_STEPS_FACTOR = 2;
 
-    @Override
-    public ILevel level(DesignLabel designLabel, LevelSize size) {
-        return new TileLevel(layout(size), designLabel);
-    }
-
     /**
      * Generates the floor layout to a specified level size
      *
      * @param size size of the level to be generated
+     * @param random source of the random steps of the walk
      * @return layout of the level
      */
-    public LevelElement[][] layout(LevelSize size) {
+    @Override
+    public LevelElement[][] layout(LevelSize size, SplittableRandom random) {
         return switch (size) {
             case SMALL -> drunkWalk(
                     new MinMaxValue(SMALL_MIN_X_SIZE, SMALL_MAX_X_SIZE),
-                    new MinMaxValue(SMALL_MIN_Y_SIZE, SMALL_MAX_Y_SIZE));
+                    new MinMaxValue(SMALL_MIN_Y_SIZE, SMALL_MAX_Y_SIZE),
+                    random);
             case LARGE -> drunkWalk(
                     new MinMaxValue(BIG_MIN_X_SIZE, BIG_MAX_X_SIZE),
-                    new MinMaxValue(BIG_MIN_Y_SIZE, BIG_MAX_Y_SIZE));
+                    new MinMaxValue(BIG_MIN_Y_SIZE, BIG_MAX_Y_SIZE),
+                    random);
             default -> drunkWalk(
                     new MinMaxValue(MEDIUM_MIN_X_SIZE, MEDIUM_MAX_X_SIZE),
-                    new MinMaxValue(MEDIUM_MIN_Y_SIZE, MEDIUM_MAX_Y_SIZE));
+                    new MinMaxValue(MEDIUM_MIN_Y_SIZE, MEDIUM_MAX_Y_SIZE),
+                    random);
         };
     }
 
-    private LevelElement[][] drunkWalk(MinMaxValue minMaxValueX, MinMaxValue minMaxValueY) {
-        int xSize = RANDOM.nextInt(minMaxValueX.min(), minMaxValueX.max());
-        int ySize = RANDOM.nextInt(minMaxValueY.min(), minMaxValueY.max());
+    private LevelElement[][] drunkWalk(
+            MinMaxValue minMaxValueX, MinMaxValue minMaxValueY, SplittableRandom random) {
+        int xSize = random.nextInt(minMaxValueX.min(), minMaxValueX.max());
+        int ySize = random.nextInt(minMaxValueY.min(), minMaxValueY.max());
         LevelElement[][] layout = new LevelElement[ySize][xSize];
         for (int y = 0; y < ySize; y++) {
             for (int x = 0; x < xSize; x++) {
@@ -64,21 +61,21 @@ public class RandomWalkGenerator implements IGenerator {
             }
         }
 
-        Coordinate position = new Coordinate(RANDOM.nextInt(0, xSize), RANDOM.nextInt(0, ySize));
+        Coordinate position = new Coordinate(random.nextInt(0, xSize), random.nextInt(0, ySize));
         int steps =
-                RANDOM.nextInt(
+                random.nextInt(
                         (xSize * ySize) / MIN_STEPS_FACTOR, (xSize * ySize) / MAX_STEPS_FACTOR);
         for (; steps > 0; steps--) {
             layout[position.y][position.x] = LevelElement.FLOOR;
 
-            if (RANDOM.nextBoolean()) {
-                if (RANDOM.nextBoolean()) {
+            if (random.nextBoolean()) {
+                if (random.nextBoolean()) {
                     position.x = Math.min(position.x + 1, xSize - 1);
                 } else {
                     position.x = Math.max(position.x - 1, 0);
                 }
             } else {
-                if (RANDOM.nextBoolean()) {
+                if (random.nextBoolean()) {
                     position.y = Math.min(position.y + 1, ySize - 1);
                 } else {
                     position.y = Math.max(position.y - 1, 0);
@@ -87,20 +84,20 @@ public class RandomWalkGenerator implements IGenerator {
         }
 
         // pick random floor tile as exit
-        Coordinate c = randomFloor(layout);
+        Coordinate c = randomFloor(layout, random);
         layout[c.y][c.x] = LevelElement.EXIT;
 
         return layout;
     }
 
-    private Coordinate randomFloor(LevelElement[][] layout) {
+    private Coordinate randomFloor(LevelElement[][] layout, SplittableRandom random) {
         Coordinate coordinate =
-                new Coordinate(RANDOM.nextInt(layout[0].length), RANDOM.nextInt(layout.length));
+                new Coordinate(random.nextInt(layout[0].length), random.nextInt(layout.length));
         LevelElement randomTile = layout[coordinate.y][coordinate.x];
         if (randomTile == LevelElement.FLOOR) {
             return coordinate;
         } else {
-            return randomFloor(layout);
+            return randomFloor(layout, random);
         }
     }
 }
@@ -12,6 +12,7 @@ import dslToGame.graph.Graph;
 import dslToGame.graph.Node;
 
 import java.util.HashMap;
+import java.util.SplittableRandom;
 
 /**
  * Generates a space-based level whose structure is defined by the given graph
@@ -49,8 +50,21 @@ public class GraphLevelGenerator implements IGenerator {
         else return (ILevel) new GraphLevel(root, size, designLabel).rootRoom();
     }
 
+    /**
+     * The rooms of a graph level are generated with their own seeds, so the seed is not used.
+     *
+     * @param designLabel Design of the level
+     * @param size Size of the level
+     * @param seed Seed of the level, not used
+     * @return The level
+     */
+    @Override
+    public ILevel level(DesignLabel designLabel, LevelSize size, long seed) {
+        return level(designLabel, size);
+    }
+
     @Override
-    public LevelElement[][] layout(LevelSize size) {
+    public LevelElement[][] layout(LevelSize size, SplittableRandom random) {
         throw new UnsupportedOperationException("This Method is not supported for GraphLevel");
     }
 
@@ -6,6 +6,7 @@ import core.Entity;
 import core.Game;
 import core.components.PositionComponent;
 import core.level.Tile;
+import core.level.elements.astar.FlowField;
 import core.utils.Point;
 import core.utils.components.MissingComponentException;
 
@@ -127,6 +128,22 @@ public class LevelUtils {
         else return calculatePath(entity, entity);
     }
 
+    /**
+     * Get the flow field to the tile of the hero.
+     *
+     * <p>The field is shared by all entities that chase the hero, and is only computed again when
+     * the hero moves to another tile or the level changes. Each entity can take its next step with
+     * {@link FlowField#next}, instead of searching its own path to the hero.
+     *
+     * @return Flow field to the hero, empty if there is no hero or the hero is not on a tile.
+     */
+    public static Optional<FlowField> flowFieldToHero() {
+        return Game.hero()
+                .map(Game::positionOf)
+                .map(Game::tileAT)
+                .map(tile -> Game.currentLevel().flowFieldTo(tile));
+    }
+
     /**
      * Get the last Tile in the given GraphPath.
      *
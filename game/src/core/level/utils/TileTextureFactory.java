@@ -69,22 +69,31 @@ public class TileTextureFactory {
     /**
      * Checks which texture must be used for the passed tile based on the surrounding tiles.
      *
+     * <p>The texture only depends on the eight neighbours of the tile, so only these are read
+     * from the layout, no matter how large the level is.
+     *
      * @param element Tile to check for
      * @param layout The level
      * @param elementType The type ot the tile if different than the attribute
      * @return Path to texture
      */
     public static String findTexturePath(Tile element, Tile[][] layout, LevelElement elementType) {
-        LevelElement[][] elementLayout = new LevelElement[layout.length][layout[0].length];
-        for (int x = 0; x < layout[0].length; x++) {
-            for (int y = 0; y < layout.length; y++) {
-                elementLayout[y][x] = layout[y][x].levelElement();
+        Coordinate c = element.coordinate();
+        int minX = Math.max(0, c.x - 1);
+        int minY = Math.max(0, c.y - 1);
+        int maxX = Math.min(layout[0].length - 1, c.x + 1);
+        int maxY = Math.min(layout.length - 1, c.y + 1);
+        // neighbours outside the level stay outside of the copy
+        LevelElement[][] elementLayout = new LevelElement[maxY - minY + 1][maxX - minX + 1];
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                elementLayout[y - minY][x - minX] = layout[y][x].levelElement();
             }
         }
-        elementLayout[element.coordinate().y][element.coordinate().x] = elementType;
+        Coordinate position = new Coordinate(c.x - minX, c.y - minY);
+        elementLayout[position.y][position.x] = elementType;
         return findTexturePath(
-                new LevelPart(
-                        elementType, element.designLabel(), elementLayout, element.coordinate()));
+                new LevelPart(elementType, element.designLabel(), elementLayout, position));
     }
 
     private static String findTexturePathFloor(LevelPart levelPart) {
@@ -2,9 +2,9 @@ package core.systems;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.math.collision.BoundingBox;
 
+import core.Changed;
+import core.ComponentFilter;
 import core.Entity;
 import core.Game;
 import core.System;
@@ -12,6 +12,7 @@ import core.components.CameraComponent;
 import core.components.PositionComponent;
 import core.utils.Constants;
 import core.utils.Point;
+import core.utils.VisibleArea;
 import core.utils.components.MissingComponentException;
 
 /**
@@ -21,8 +22,12 @@ import core.utils.components.MissingComponentException;
  * <p>The camera will follow an entity with a {@link CameraComponent}. If there is no entity with a
  * {@link CameraComponent}, the start tile of the current level will be in focus.
  *
- * <p>In {@link #isPointInFrustum(float, float)} also checks if points are visible on screen and
- * should be rendered.
+ * <p>The camera is only moved if the position of the focused entity was changed since the last
+ * frame, or if the focused entity was added or removed.
+ *
+ * <p>After moving the camera, the system computes the {@link #visibleArea()} for the frame. {@link
+ * #isPointInFrustum(float, float)} uses it to check if points are visible on screen and should be
+ * rendered.
  *
  * @see CameraComponent
  */
@@ -31,14 +36,32 @@ public final class CameraSystem extends System {
     private static final OrthographicCamera CAMERA =
             new OrthographicCamera(Constants.viewportWidth(), Constants.viewportHeight());
 
+    private static final ComponentFilter POSITION_CHANGED = Changed.of(PositionComponent.class);
+
+    /* Margin around a point, so sprites that start outside the screen are still drawn. */
+    private static final float OFFSET = 1f;
+
+    private static volatile VisibleArea visibleArea = VisibleArea.of(CAMERA.frustum);
+
+    /* Whether an entity was added or removed since the last frame. */
+    private boolean refocus = true;
+
     public CameraSystem() {
         super(CameraComponent.class, PositionComponent.class);
+        onEntityAdd = entity -> refocus = true;
+        onEntityRemove = entity -> refocus = true;
     }
 
+    /** There is no screen in headless mode, so there is nothing to focus. */
+    @Override
+    public void executeHeadless() {}
+
     @Override
     public void execute() {
-        if (entityStream().findAny().isEmpty()) focus();
-        else entityStream().forEach(this::focus);
+        if (entities().isEmpty()) focus();
+        else if (refocus) entities().forEach(this::focus);
+        else entityStream(POSITION_CHANGED).forEach(this::focus);
+        refocus = false;
         // Check if Gdx.graphics is null which happens when the game is run in headless mode (e.g.
         // in tests)
         if (Gdx.graphics != null) {
@@ -47,6 +70,7 @@ public final class CameraSystem extends System {
             CAMERA.viewportHeight = Constants.viewportWidth() / aspectRatio;
         }
         CAMERA.update();
+        visibleArea = VisibleArea.of(CAMERA.frustum);
     }
 
     private void focus() {
@@ -73,14 +97,22 @@ public final class CameraSystem extends System {
     /**
      * Checks if point (x,y) is probably visible on screen. Points that are not visible should not
      * be rendered.
+     *
+     * <p>Uses the {@link #visibleArea()} of the current frame and needs no allocation.
      */
     public static boolean isPointInFrustum(float x, float y) {
-        final float OFFSET = 1f;
-        BoundingBox bounds =
-                new BoundingBox(
-                        new Vector3(x - OFFSET, y - OFFSET, 0),
-                        new Vector3(x + OFFSET, y + OFFSET, 0));
-        return CAMERA.frustum.boundsInFrustum(bounds);
+        return visibleArea.contains(x, y, OFFSET);
+    }
+
+    /**
+     * Get the area of the world that is visible in the current frame.
+     *
+     * <p>The area is computed each time this system is executed.
+     *
+     * @return the visible area
+     */
+    public static VisibleArea visibleArea() {
+        return visibleArea;
     }
 
     /**
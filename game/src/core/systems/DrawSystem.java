@@ -2,12 +2,14 @@ package core.systems;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
-import core.Entity;
+import core.Archetype;
+import core.Component;
+import core.Game;
 import core.System;
 import core.components.DrawComponent;
 import core.components.PositionComponent;
-import core.utils.components.MissingComponentException;
 import core.utils.components.draw.Animation;
+import core.utils.components.draw.DrawLayer;
 import core.utils.components.draw.Painter;
 import core.utils.components.draw.PainterConfig;
 
@@ -20,9 +22,12 @@ import java.util.Map;
  * <p>Each entity with a {@link DrawComponent} and a {@link PositionComponent} will be drawn on the
  * screen.
  *
- * <p>The system will get the current animation from the {@link DrawComponent} and will get the next
- * animation frame from the {@link Animation}, and then draw it on the current position stored in
- * the {@link PositionComponent}.
+ * <p>The system will get the current animation frame from the {@link DrawComponent}, draw it on the
+ * current position stored in the {@link PositionComponent}, and then advance the animation by the
+ * duration of the frame ({@link Game#frameDelta()}).
+ *
+ * <p>The sprites are drawn in the {@link DrawLayer#ENTITY} layer, above the level, when the {@link
+ * Painter} is flushed at the end of the frame.
  *
  * <p>This system will not set the current animation. This must be done by other systems.
  *
@@ -62,32 +67,44 @@ public final class DrawSystem extends System {
      */
     @Override
     public void execute() {
-        entityStream().map(this::buildDataObject).forEach(this::draw);
+        forEachArchetype(this::draw);
+    }
+
+    /**
+     * Will advance the current animation of each entity without drawing it.
+     *
+     * <p>Other systems check the state of the animations (e.g. {@link
+     * DrawComponent#isCurrentAnimationFinished()}), so the animations have to be played in headless
+     * mode as well.
+     */
+    @Override
+    public void executeHeadless() {
+        forEachArchetype(this::advance);
     }
 
-    private void draw(DSData dsd) {
-        final Animation animation = dsd.ac.currentAnimation();
-        if (animation != null) {
-            String currentAnimationTexture = animation.nextAnimationTexturePath();
-            if (currentAnimationTexture != null && !configs.containsKey(currentAnimationTexture)) {
+    private void advance(Archetype archetype) {
+        float delta = Game.frameDelta();
+        Component[] draws = archetype.column(DrawComponent.class);
+        for (int i = 0; i < archetype.size(); i++) ((DrawComponent) draws[i]).advance(delta);
+    }
+
+    private void draw(Archetype archetype) {
+        Component[] draws = archetype.column(DrawComponent.class);
+        Component[] positions = archetype.column(PositionComponent.class);
+        for (int i = 0; i < archetype.size(); i++)
+            draw((DrawComponent) draws[i], (PositionComponent) positions[i]);
+    }
+
+    private void draw(DrawComponent dc, PositionComponent pc) {
+        String currentAnimationTexture = dc.currentTexturePath();
+        if (currentAnimationTexture != null) {
+            if (!configs.containsKey(currentAnimationTexture)) {
                 configs.put(currentAnimationTexture, new PainterConfig(currentAnimationTexture));
             }
             painter.draw(
-                    dsd.pc.position(),
-                    currentAnimationTexture,
-                    configs.get(currentAnimationTexture));
+                    pc.position(), currentAnimationTexture, configs.get(currentAnimationTexture));
         }
-    }
-
-    private DSData buildDataObject(Entity e) {
-        DrawComponent dc =
-                e.fetch(DrawComponent.class)
-                        .orElseThrow(() -> MissingComponentException.build(e, DrawComponent.class));
-        PositionComponent pc =
-                e.fetch(PositionComponent.class)
-                        .orElseThrow(
-                                () -> MissingComponentException.build(e, PositionComponent.class));
-        return new DSData(e, dc, pc);
+        dc.advance(Game.frameDelta());
     }
 
     /** DrawSystem cant be paused */
@@ -97,8 +114,6 @@ public final class DrawSystem extends System {
         run = true;
     }
 
-    private record DSData(Entity e, DrawComponent ac, PositionComponent pc) {}
-
     /**
      * @return the {@link #painter} of the Drawsystem
      */
@@ -4,6 +4,7 @@ import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 
 import core.Entity;
+import core.EntityView;
 import core.Game;
 import core.System;
 import core.components.UIComponent;
@@ -77,9 +78,13 @@ public final class HudSystem extends System {
 
     @Override
     public void execute() {
-
-        if (entityStream().anyMatch(x -> pausesGame(x))) pauseGame();
-        else unpauseGame();
+        EntityView entities = entities();
+        for (int i = 0; i < entities.size(); i++)
+            if (pausesGame(entities.get(i))) {
+                pauseGame();
+                return;
+            }
+        unpauseGame();
     }
 
     private boolean pausesGame(Entity x) {
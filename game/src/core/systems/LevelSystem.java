@@ -1,6 +1,7 @@
 package core.systems;
 
 import core.Entity;
+import core.EntityView;
 import core.Game;
 import core.System;
 import core.components.PlayerComponent;
@@ -9,15 +10,21 @@ import core.level.Tile;
 import core.level.elements.ILevel;
 import core.level.generator.IGenerator;
 import core.level.utils.DesignLabel;
-import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 import core.utils.IVoidFunction;
 import core.utils.components.MissingComponentException;
+import core.utils.components.draw.AssetManifest;
+import core.utils.components.draw.LevelChunks;
 import core.utils.components.draw.Painter;
-import core.utils.components.draw.PainterConfig;
+import core.utils.components.draw.TextureMap;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -29,13 +36,23 @@ import java.util.logging.Logger;
  * LevelSize}. Use {@link #generator(IGenerator)} to change the used level generator. Use {@link
  * #levelSize(LevelSize)} to set the size of the next levels that get loaded.
  *
- * <p>Each frame, this system will draw the level on the screen. The system will also check if one
- * of the entities managed by this system is positioned on the end tile of the level. If so, the
- * next level will be loaded.
+ * <p>Each frame, this system will draw the visible part of the level on the screen, see {@link
+ * LevelChunks}. The system will also check if one of the entities managed by this system is
+ * positioned on the end tile of the level. If so, the next level will be loaded.
  *
  * <p>If a new level is loaded, the system will trigger the onLevelLoad callback given in the
  * constructor of this system.
  *
+ * <p>Each level is generated from its own seed, which is derived from the seed of the system (see
+ * {@link #seed(long)}) and the number of the level. Systems with the same seed generate the same
+ * levels, and systems with different seeds generate unrelated levels. Use {@link
+ * #loadLevelAsync(LevelSize, DesignLabel)} to generate the next level on a background thread; the
+ * level is set on the game thread in the first frame after it was generated.
+ *
+ * <p>Use {@link #prefetch(int, LevelSize, DesignLabel)} to generate the next levels in the
+ * background while the current level is played. If the next requested level was prefetched, it is
+ * swapped in without waiting for the generator.
+ *
  * <p>An entity needs a {@link PositionComponent} and a {@link PlayerComponent} to be managed by
  * this system.
  *
@@ -53,11 +70,41 @@ public final class LevelSystem extends System {
      * @see ILevel
      */
     private static ILevel currentLevel;
+    /** Maximum number of levels that are prefetched. */
+    public static final int MAX_PREFETCH = 4;
+    /* Generates the levels of loadLevelAsync and the prefetched levels, one after another. */
+    private static final ExecutorService GENERATION =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "level-generation");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
 
     private final IVoidFunction onLevelLoad;
     private final Painter painter;
     private final Logger levelAPI_logger = Logger.getLogger(this.getClass().getName());
     private IGenerator gen;
+    /* Pre-built vertices of the current level, created on the first draw of a level. */
+    private LevelChunks chunks;
+    /* Offset between the randoms of two following levels, an odd 64 bit constant. */
+    private static final long LEVEL_GAMMA = 0xBB67AE8584CAA73BL;
+    /* Hash of the seed of the system, see #levelRandom. */
+    private long baseSeed = new SplittableRandom().nextLong();
+    /* Number of the next generated level in the seed sequence. */
+    private long levelNumber = 0;
+    /* Level that is generated in the background, set when it is done. */
+    private CompletableFuture<ILevel> nextLevel;
+    /* Size, design and number of nextLevel, to generate it again if the generation failed. */
+    private LevelSize nextLevelSize;
+    private DesignLabel nextLevelDesign;
+    private long nextLevelNumber;
+    /* Prefetched levels, in the order of their numbers. */
+    private final Deque<Prefetch> prefetched = new ArrayDeque<>();
+    private int prefetchCount = 0;
+    /* Size and design of the prefetched levels, null for the level size and random designs. */
+    private LevelSize prefetchSize;
+    private DesignLabel prefetchDesign;
 
     /**
      * Create a new {@link LevelSize} and register it at the game.
@@ -104,6 +151,41 @@ public final class LevelSystem extends System {
         LevelSystem.levelSize = levelSize;
     }
 
+    /**
+     * Restart the seed sequence of the generated levels.
+     *
+     * <p>All systems with the same seed generate the same sequence of levels, if the same sizes
+     * and designs are requested. The seed is hashed, so the sequences of neighbouring seeds do not
+     * share any levels.
+     *
+     * @param seed The new seed.
+     */
+    public void seed(long seed) {
+        baseSeed = new SplittableRandom(seed).nextLong();
+        levelNumber = 0;
+        discardPrefetched();
+    }
+
+    /**
+     * Generate the next levels in the background while the current level is played.
+     *
+     * <p>After each level load, the system generates levels until the given number of levels is
+     * ready. At most {@link #MAX_PREFETCH} levels are kept. The prefetched levels are discarded if
+     * a level with other parameters is requested, or if the generator, the seed or this
+     * configuration is changed.
+     *
+     * @param count Number of levels to keep ready, 0 to disable the prefetching.
+     * @param size Size of the prefetched levels, null for the configured level size.
+     * @param design Design of the prefetched levels, null for random designs.
+     */
+    public void prefetch(int count, LevelSize size, DesignLabel design) {
+        prefetchCount = Math.max(0, Math.min(count, MAX_PREFETCH));
+        prefetchSize = size;
+        prefetchDesign = design;
+        discardPrefetched();
+        if (currentLevel != null) prefetchLevels();
+    }
+
     /**
      * Set the current level to the given level.
      *
@@ -112,24 +194,163 @@ public final class LevelSystem extends System {
      * @param level The level to be set.
      */
     public void loadLevel(ILevel level) {
+        cancelNextLevel();
         currentLevel = level;
         onLevelLoad.execute();
+        prefetchLevels();
     }
 
     /**
      * Load a new level.
      *
+     * <p>The textures of the design are loaded in the background, see {@link TextureMap#preload}.
+     *
      * <p>Will trigger the onLevelLoad callback.
      *
      * @param size The wanted size of the new level.
      * @param label The wanted design of the new level.
      */
     public void loadLevel(LevelSize size, DesignLabel label) {
-        currentLevel = gen.level(label, size);
-        onLevelLoad.execute();
+        preload(label);
+        long number = levelNumber++;
+        CompletableFuture<ILevel> prefetched = takePrefetched(size, label, number);
+        ILevel level = null;
+        if (prefetched != null) {
+            level =
+                    prefetched
+                            .exceptionally(
+                                    error -> {
+                                        levelAPI_logger.log(
+                                                Level.SEVERE,
+                                                "The prefetched level could not be generated.",
+                                                error);
+                                        return null;
+                                    })
+                            .join();
+        }
+        loadLevel(level != null ? level : gen.level(label, size, seedOf(number)));
         levelAPI_logger.info("A new level was loaded.");
     }
 
+    /**
+     * Generate a new level on a background thread.
+     *
+     * <p>The current level stays active until the new level is generated. The new level is set on
+     * the game thread when this system is executed after the generation, which will trigger the
+     * onLevelLoad callback. A level that is still generated is replaced by the new one.
+     *
+     * <p>If the level was prefetched, it is set in the same execution of this system in which it
+     * was requested.
+     *
+     * <p>If the generation fails, the error is logged and the level is generated again with the
+     * same size, design and seed on the game thread.
+     *
+     * @param size The wanted size of the new level.
+     * @param label The wanted design of the new level.
+     * @return The future of the new level.
+     */
+    public CompletableFuture<ILevel> loadLevelAsync(LevelSize size, DesignLabel label) {
+        cancelNextLevel();
+        preload(label);
+        long number = levelNumber++;
+        CompletableFuture<ILevel> level = takePrefetched(size, label, number);
+        nextLevel = level != null ? level : generate(size, label, number);
+        nextLevelSize = size;
+        nextLevelDesign = label;
+        nextLevelNumber = number;
+        return nextLevel;
+    }
+
+    /**
+     * Generate a new level with the given size and a random design on a background thread.
+     *
+     * @param size Wanted size of the level.
+     * @return The future of the new level.
+     * @see #loadLevelAsync(LevelSize, DesignLabel)
+     */
+    public CompletableFuture<ILevel> loadLevelAsync(LevelSize size) {
+        return loadLevelAsync(size, designOf(levelNumber));
+    }
+
+    /**
+     * @return true if a level is generated in the background
+     */
+    public boolean isLoading() {
+        return nextLevel != null;
+    }
+
+    private void cancelNextLevel() {
+        if (nextLevel != null) nextLevel.cancel(false);
+        nextLevel = null;
+    }
+
+    private void preload(DesignLabel label) {
+        TextureMap.instance()
+                .preload(AssetManifest.instance().files("dungeon/" + label.name().toLowerCase()));
+    }
+
+    private CompletableFuture<ILevel> generate(LevelSize size, DesignLabel label, long number) {
+        IGenerator generator = gen;
+        long seed = seedOf(number);
+        return CompletableFuture.supplyAsync(() -> generator.level(label, size, seed), GENERATION);
+    }
+
+    /* Take the prefetched level if it fits the request, otherwise drop all prefetched levels. */
+    private CompletableFuture<ILevel> takePrefetched(
+            LevelSize size, DesignLabel label, long number) {
+        Prefetch next = prefetched.peekFirst();
+        if (next != null && next.isFor(gen, size, label, number)) return prefetched.poll().level();
+        discardPrefetched();
+        return null;
+    }
+
+    private void prefetchLevels() {
+        Prefetch next = prefetched.peekFirst();
+        DesignLabel design = prefetchDesign(levelNumber);
+        if (next != null && !next.isFor(gen, prefetchSize(), design, levelNumber))
+            discardPrefetched();
+        while (prefetched.size() < prefetchCount) {
+            long number = levelNumber + prefetched.size();
+            LevelSize size = prefetchSize();
+            design = prefetchDesign(number);
+            preload(design);
+            prefetched.add(
+                    new Prefetch(gen, size, design, number, generate(size, design, number)));
+        }
+    }
+
+    private void discardPrefetched() {
+        prefetched.forEach(prefetch -> prefetch.level().cancel(false));
+        prefetched.clear();
+    }
+
+    private LevelSize prefetchSize() {
+        return prefetchSize != null ? prefetchSize : levelSize;
+    }
+
+    private DesignLabel prefetchDesign(long number) {
+        return prefetchDesign != null ? prefetchDesign : designOf(number);
+    }
+
+    /*
+     * Each level of the sequence has its own random, so prefetching does not change the seeds. The
+     * randoms of the levels are LEVEL_GAMMA apart, far away from the few values drawn from each.
+     */
+    private SplittableRandom levelRandom(long number) {
+        return new SplittableRandom(baseSeed + number * LEVEL_GAMMA);
+    }
+
+    private long seedOf(long number) {
+        return levelRandom(number).nextLong();
+    }
+
+    private DesignLabel designOf(long number) {
+        SplittableRandom random = levelRandom(number);
+        random.nextLong();
+        DesignLabel[] designs = DesignLabel.values();
+        return designs[random.nextInt(designs.length)];
+    }
+
     /**
      * Load a new level with the configured size and the given design.
      *
@@ -149,7 +370,7 @@ public final class LevelSystem extends System {
      * @param size Wanted size of the level.
      */
     public void loadLevel(LevelSize size) {
-        loadLevel(size, DesignLabel.randomDesign());
+        loadLevel(size, designOf(levelNumber));
     }
 
     /**
@@ -158,25 +379,14 @@ public final class LevelSystem extends System {
      * <p>Will trigger the onLevelLoad callback.
      */
     public void loadLevel() {
-        loadLevel(levelSize(), DesignLabel.randomDesign());
+        loadLevel(levelSize(), designOf(levelNumber));
     }
 
     private void drawLevel() {
-        Map<String, PainterConfig> mapping = new HashMap<>();
-
-        Tile[][] layout = currentLevel.layout();
-        for (Tile[] tiles : layout) {
-            for (int x = 0; x < layout[0].length; x++) {
-                Tile t = tiles[x];
-                if (t.levelElement() != LevelElement.SKIP) {
-                    String texturePath = t.texturePath();
-                    if (!mapping.containsKey(texturePath)) {
-                        mapping.put(texturePath, new PainterConfig(texturePath));
-                    }
-                    painter.draw(t.position(), texturePath, mapping.get(texturePath));
-                }
-            }
-        }
+        if (currentLevel == null) return;
+        if (chunks == null || chunks.level() != currentLevel)
+            chunks = new LevelChunks(currentLevel);
+        chunks.draw(painter, CameraSystem.visibleArea());
     }
 
     /**
@@ -195,6 +405,7 @@ public final class LevelSystem extends System {
      */
     public void generator(IGenerator generator) {
         gen = generator;
+        discardPrefetched();
     }
 
     /**
@@ -224,14 +435,64 @@ public final class LevelSystem extends System {
      */
     @Override
     public void execute() {
-        if (currentLevel == null) loadLevel(levelSize);
-        else if (entityStream().anyMatch(this::isOnEndTile)) Game.handleHeroOnEndTile();
+        update();
         drawLevel();
     }
 
+    /** Will load a new level if needed, but will not draw it. */
+    @Override
+    public void executeHeadless() {
+        update();
+    }
+
+    private void update() {
+        if (nextLevel == null) {
+            if (currentLevel == null) loadLevel(levelSize);
+            else if (isAnyOnEndTile()) Game.handleHeroOnEndTile();
+        }
+        // a prefetched level is already done when it is requested
+        if (nextLevel != null && nextLevel.isDone()) {
+            CompletableFuture<ILevel> level = nextLevel;
+            nextLevel = null;
+            if (level.isCompletedExceptionally()) {
+                levelAPI_logger.log(
+                        Level.SEVERE,
+                        "The level could not be generated in the background.",
+                        level.handle((result, error) -> error).join());
+                // the same seed, so all nodes with the same seed still get the same level
+                loadLevel(gen.level(nextLevelDesign, nextLevelSize, seedOf(nextLevelNumber)));
+                levelAPI_logger.info("A new level was loaded.");
+            } else {
+                loadLevel(level.join());
+                levelAPI_logger.info("A new level was loaded.");
+            }
+        }
+    }
+
+    private boolean isAnyOnEndTile() {
+        EntityView entities = entities();
+        for (int i = 0; i < entities.size(); i++) if (isOnEndTile(entities.get(i))) return true;
+        return false;
+    }
+
     /** LevelSystem can't be paused. If it is paused, the level will not be shown anymore. */
     @Override
     public void stop() {
         run = true;
     }
+
+    /* A level that is generated in the background before it is requested. */
+    private record Prefetch(
+            IGenerator generator,
+            LevelSize size,
+            DesignLabel design,
+            long number,
+            CompletableFuture<ILevel> level) {
+        private boolean isFor(IGenerator gen, LevelSize size, DesignLabel design, long number) {
+            return generator == gen
+                    && this.size == size
+                    && this.design == design
+                    && this.number == number;
+        }
+    }
 }
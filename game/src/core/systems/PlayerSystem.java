@@ -17,9 +17,13 @@ public final class PlayerSystem extends System {
 
     @Override
     public void execute() {
-        entityStream().forEach(this::execute);
+        entities().forEach(this::execute);
     }
 
+    /** There is no input in headless mode, so the player can not be controlled. */
+    @Override
+    public void executeHeadless() {}
+
     private void execute(Entity entity) {
         entity.fetch(PlayerComponent.class)
                 .orElseThrow(() -> MissingComponentException.build(entity, PlayerComponent.class))
@@ -3,17 +3,19 @@ package core.systems;
 import contrib.components.HealthComponent;
 import contrib.components.ProjectileComponent;
 
+import core.Archetype;
+import core.Component;
 import core.Entity;
 import core.Game;
 import core.System;
 import core.components.DrawComponent;
 import core.components.PositionComponent;
 import core.components.VelocityComponent;
+import core.level.Tile;
 import core.utils.Point;
-import core.utils.components.MissingComponentException;
 import core.utils.components.draw.CoreAnimations;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
 
 /**
  * The VelocitySystem controls the movement of the entities in the game.
@@ -44,107 +46,99 @@ public final class VelocitySystem extends System {
 
     /** Create a new VelocitySystem */
     public VelocitySystem() {
-        super(VelocityComponent.class, PositionComponent.class, DrawComponent.class);
+        super(
+                Set.of(HealthComponent.class, ProjectileComponent.class),
+                Set.of(VelocityComponent.class, PositionComponent.class, DrawComponent.class),
+                VelocityComponent.class,
+                PositionComponent.class,
+                DrawComponent.class);
     }
 
     /** Updates the position of all entities based on their velocity */
     @Override
     public void execute() {
-        entityStream().map(this::buildDataObject).forEach(this::updatePosition);
+        forEachArchetype(this::updatePositions);
     }
 
-    private void updatePosition(VSData vsd) {
-        Point oldPosition = new Point(vsd.pc.position().x, vsd.pc.position().y);
-        float newX = vsd.pc.position().x + vsd.vc.currentXVelocity();
-        float newY = vsd.pc.position().y + vsd.vc.currentYVelocity();
+    private void updatePositions(Archetype archetype) {
+        Entity[] entities = archetype.entities();
+        Component[] velocities = archetype.column(VelocityComponent.class);
+        Component[] positions = archetype.column(PositionComponent.class);
+        Component[] draws = archetype.column(DrawComponent.class);
+        for (int i = 0; i < archetype.size(); i++)
+            updatePosition(
+                    entities[i],
+                    (VelocityComponent) velocities[i],
+                    (PositionComponent) positions[i],
+                    (DrawComponent) draws[i]);
+    }
+
+    private void updatePosition(
+            Entity e, VelocityComponent vc, PositionComponent pc, DrawComponent dc) {
+        float oldX = pc.position().x;
+        float oldY = pc.position().y;
+        float newX = oldX + vc.currentXVelocity();
+        float newY = oldY + vc.currentYVelocity();
         Point newPosition = new Point(newX, newY);
-        if (Game.tileAT(newPosition) != null && Game.tileAT(newPosition).isAccessible()) {
-            vsd.pc.position(newPosition);
-            movementAnimation(vsd);
-            if (newPosition.x != oldPosition.x || newPosition.y != oldPosition.y) {
+        Tile tile = Game.tileAT(newPosition);
+        if (tile != null && tile.isAccessible()) {
+            pc.position(newPosition);
+            movementAnimation(e, vc, dc);
+            if (newX != oldX || newY != oldY) {
                 Game.sendMovementUpdate(
-                        vsd.e.globalID(),
-                        newPosition,
-                        vsd.vc.currentXVelocity(),
-                        vsd.vc.currentYVelocity());
+                        e.globalID(), newPosition, vc.currentXVelocity(), vc.currentYVelocity());
             }
         }
 
         // remove projectiles that hit the wall or other non-accessible
         // tiles
-        else if (vsd.e.fetch(ProjectileComponent.class).isPresent()) Game.removeEntity(vsd.e);
+        else if (e.isPresent(ProjectileComponent.class)) Game.removeEntity(e);
 
-        vsd.vc.currentYVelocity(0);
-        vsd.vc.currentXVelocity(0);
+        vc.currentYVelocity(0);
+        vc.currentXVelocity(0);
     }
 
-    private VSData buildDataObject(Entity e) {
-        VelocityComponent vc =
-                e.fetch(VelocityComponent.class)
-                        .orElseThrow(
-                                () -> MissingComponentException.build(e, VelocityComponent.class));
-
-        PositionComponent pc =
-                e.fetch(PositionComponent.class)
-                        .orElseThrow(
-                                () -> MissingComponentException.build(e, PositionComponent.class));
+    private void movementAnimation(Entity e, VelocityComponent vc, DrawComponent dc) {
 
-        DrawComponent dc =
-                e.fetch(DrawComponent.class)
-                        .orElseThrow(() -> MissingComponentException.build(e, DrawComponent.class));
-
-        return new VSData(e, vc, pc, dc);
-    }
-
-    private void movementAnimation(VSData vsd) {
-
-        AtomicBoolean isDead = new AtomicBoolean(false);
-        vsd.e
-                .fetch(HealthComponent.class)
-                .ifPresent(
-                        component -> {
-                            isDead.set(component.isDead());
-                        });
-
-        if (isDead.get()) {
+        if (e.fetch(HealthComponent.class).map(HealthComponent::isDead).orElse(false)) {
             return;
         }
 
-        float x = vsd.vc.currentXVelocity();
-        float y = vsd.vc.currentYVelocity();
-        if (x > 0) vsd.dc.currentAnimation(CoreAnimations.RUN_RIGHT, CoreAnimations.RUN);
-        else if (x < 0) vsd.dc.currentAnimation(CoreAnimations.RUN_LEFT, CoreAnimations.RUN);
-        else if (y > 0) vsd.dc.currentAnimation(CoreAnimations.RUN_UP, CoreAnimations.RUN);
-        else if (y < 0) vsd.dc.currentAnimation(CoreAnimations.RUN_DOWN, CoreAnimations.RUN);
+        float x = vc.currentXVelocity();
+        float y = vc.currentYVelocity();
+        if (x > 0) dc.currentAnimation(CoreAnimations.RUN_RIGHT, CoreAnimations.RUN);
+        else if (x < 0) dc.currentAnimation(CoreAnimations.RUN_LEFT, CoreAnimations.RUN);
+        else if (y > 0) dc.currentAnimation(CoreAnimations.RUN_UP, CoreAnimations.RUN);
+        else if (y < 0) dc.currentAnimation(CoreAnimations.RUN_DOWN, CoreAnimations.RUN);
         // idle
         else {
             // each drawComponent has an idle animation, so no check is needed
-            if (vsd.dc.isCurrentAnimation(CoreAnimations.IDLE_LEFT)
-                    || vsd.dc.isCurrentAnimation(CoreAnimations.RUN_LEFT))
-                vsd.dc.currentAnimation(
+            if (dc.isCurrentAnimation(CoreAnimations.IDLE_LEFT)
+                    || dc.isCurrentAnimation(CoreAnimations.RUN_LEFT))
+                dc.currentAnimation(
                         CoreAnimations.IDLE_LEFT,
                         CoreAnimations.IDLE,
                         CoreAnimations.IDLE_RIGHT,
                         CoreAnimations.IDLE_DOWN,
                         CoreAnimations.IDLE_UP);
-            else if (vsd.dc.isCurrentAnimation(CoreAnimations.IDLE_RIGHT)
-                    || vsd.dc.isCurrentAnimation(CoreAnimations.RUN_RIGHT))
-                vsd.dc.currentAnimation(
+            else if (dc.isCurrentAnimation(CoreAnimations.IDLE_RIGHT)
+                    || dc.isCurrentAnimation(CoreAnimations.RUN_RIGHT))
+                dc.currentAnimation(
                         CoreAnimations.IDLE_RIGHT,
                         CoreAnimations.IDLE,
                         CoreAnimations.IDLE_LEFT,
                         CoreAnimations.IDLE_DOWN,
                         CoreAnimations.IDLE_UP);
-            else if (vsd.dc.isCurrentAnimation(CoreAnimations.IDLE_UP)
-                    || vsd.dc.isCurrentAnimation(CoreAnimations.RUN_DOWN))
-                vsd.dc.currentAnimation(
+            else if (dc.isCurrentAnimation(CoreAnimations.IDLE_UP)
+                    || dc.isCurrentAnimation(CoreAnimations.RUN_DOWN))
+                dc.currentAnimation(
                         CoreAnimations.IDLE_UP,
                         CoreAnimations.IDLE,
                         CoreAnimations.IDLE_DOWN,
                         CoreAnimations.IDLE_LEFT,
                         CoreAnimations.IDLE_RIGHT);
             else
-                vsd.dc.currentAnimation(
+                dc.currentAnimation(
                         CoreAnimations.IDLE_DOWN,
                         CoreAnimations.IDLE,
                         CoreAnimations.IDLE_UP,
@@ -152,6 +146,4 @@ public final class VelocitySystem extends System {
                         CoreAnimations.IDLE_RIGHT);
         }
     }
-
-    private record VSData(Entity e, VelocityComponent vc, PositionComponent pc, DrawComponent dc) {}
 }
@@ -1,6 +1,7 @@
 package core.utils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -10,166 +11,234 @@ import java.util.stream.Stream;
  * <p>Since the systems iterate over a set of entities, a {@link ConcurrentModificationException} is
  * normally thrown if the system adds or removes an entity from this set.
  *
- * <p>This class implements three different hash sets to enable delayed manipulation of the base
- * set.
+ * <p>Use {@link #add} and {@link #remove} to record a change. The changes are applied on the next
+ * call of {@link #update()}. Recording a change is lock-free, so it can be done from any thread
+ * (e.g. a network thread) without blocking the game loop.
  *
- * <p>{@link #current} contains the current "active" objects of the collection. Use this set to
- * iterate over and work with. Use {@link #stream()} to get this set as a stream.
+ * <p>{@link #update()} publishes the elements as an immutable snapshot. Use {@link #stream()} or
+ * {@link #snapshot()} to iterate over the current elements. Reading the snapshot needs no lock and
+ * no copy, and a snapshot is never changed by a later update, so it can be iterated while the set
+ * is updated. Each published snapshot gets a new {@link #epoch()}, which allows to check cheaply if
+ * the elements have changed since the last read.
  *
- * <p>Use {@link #add} to add the given object to {@link #toAdd}. After calling {@link #update()},
- * the objects inside this inner set will be added to {@link #current}.
+ * <p>Only one thread at a time should call {@link #update()} (normally the game loop). Concurrent
+ * calls are serialized.
  *
- * <p>Use {@link #remove} to add the given object to {@link #toRemove}. After calling {@link
- * #update()}, the objects inside this inner set will be removed from {@link #current}.
- *
- * <p>Use {@link #update()} to add or remove the objects to/from {@link #current}. If you do this
- * inside an iteration over this set, a {@link ConcurrentModificationException} will be thrown. It
- * is best to use this right before or right after iterating over the set.
- *
- * @param <T> Type of the elements to store in the sets.
+ * @param <T> Type of the elements to store in the set.
  * @see ConcurrentModificationException
- * @see HashSet
  */
 public final class DelayedSet<T> {
 
-    private final Set<T> current = Collections.synchronizedSet(new HashSet<>());
-    private final Set<T> toAdd = Collections.synchronizedSet(new HashSet<>());
-    private final Set<T> toRemove = Collections.synchronizedSet(new HashSet<>());
+    /* Changes recorded since the last update, in the order they were recorded. */
+    private final Queue<Change<T>> changes = new ConcurrentLinkedQueue<>();
+    /* Guards the fields below, which are only used by the updating thread. */
+    private final Object updateLock = new Object();
+    private final Map<T, Integer> indices = new HashMap<>();
+    private final Set<T> added = new LinkedHashSet<>();
+    private final Set<T> removed = new LinkedHashSet<>();
+    private Object[] elements = new Object[16];
+    private int size = 0;
+    private volatile Snapshot<T> current = new Snapshot<>(List.of(), 0);
 
     /**
-     * Update the {@link #current} set based on the elements in {@link #toAdd} and {@link
-     * #toRemove}.
-     *
-     * <p>Add all objects from {@link #toAdd} to {@link #current} and remove all objects from {@link
-     * #toRemove} from {@link #current}. Clears {@link #toRemove} and {@link #toAdd}.
+     * Apply all recorded changes.
      *
-     * <p>Note: First, all elements from {@link #toAdd} will be added, and then all elements from
-     * {@link #toRemove} will be removed.
+     * <p>Note: First, all recorded additions will be applied, and then all recorded removals.
      */
     public void update() {
-        synchronized (current) {
-            synchronized (toAdd) {
-                synchronized (toRemove) {
-                    current.addAll(toAdd);
-                    current.removeAll(toRemove);
-                    toAdd.clear();
-                    toRemove.clear();
-                }
+        update(t -> {}, t -> {});
+    }
+
+    /**
+     * Apply all recorded changes and report them.
+     *
+     * <p>The given functions are called exactly for the changes that are applied by this update,
+     * even if other threads record new changes meanwhile. First, {@code onAdd} is called for each
+     * added element, then {@code onRemove} for each removed element. The new snapshot is published
+     * after the functions were called.
+     *
+     * <p>An element that was added and removed since the last update is passed to both functions.
+     *
+     * @param onAdd Function to execute on each added element.
+     * @param onRemove Function to execute on each removed element.
+     */
+    public void update(final Consumer<T> onAdd, final Consumer<T> onRemove) {
+        if (changes.isEmpty()) return;
+        synchronized (updateLock) {
+            for (Change<T> change; (change = changes.poll()) != null; )
+                if (change.add) added.add(change.element);
+                else removed.add(change.element);
+            try {
+                added.forEach(onAdd);
+                removed.forEach(onRemove);
+                added.forEach(this::insert);
+                removed.forEach(this::delete);
+                publish();
+            } finally {
+                added.clear();
+                removed.clear();
             }
         }
     }
 
     /**
-     * Add the given object to {@link #toAdd}.
+     * Record the addition of the given object.
      *
-     * <p>After calling {@link #update}, the objects inside this inner set will be added to {@link
-     * #current}.
+     * <p>After calling {@link #update}, the object will be part of the set.
      *
      * @param t Object to add
      */
     public void add(T t) {
-        toAdd.add(t);
+        changes.add(new Change<>(t, true));
     }
 
     /**
-     * Add all objects from the given collection to {@link #toAdd}.
+     * Record the addition of all objects from the given collection.
      *
-     * <p>After calling {@link #update}, the objects inside this inner set will be added to {@link
-     * #current}.
+     * <p>After calling {@link #update}, the objects will be part of the set.
      *
      * @param collection Collection containing the objects to add
      */
     public void addAll(Collection<T> collection) {
-        toAdd.addAll(collection);
+        collection.forEach(this::add);
     }
 
     /**
-     * Add the given object to {@link #toRemove}.
+     * Record the removal of the given object.
      *
-     * <p>After calling {@link #update}, the objects inside this inner set will be removed from
-     * {@link #current}.
+     * <p>After calling {@link #update}, the object will no longer be part of the set.
      *
      * @param t Object to remove
      */
     public void remove(T t) {
-        toRemove.add(t);
+        changes.add(new Change<>(t, false));
     }
 
     /**
-     * Add all objects of the given collection to {@link #toRemove}.
+     * Record the removal of all objects of the given collection.
      *
-     * <p>After calling {@link #update}, the objects inside this inner set will be removed from
-     * {@link #current}.
+     * <p>After calling {@link #update}, the objects will no longer be part of the set.
      *
      * @param collection Contains all objects to remove
      */
     public void removeAll(Collection<T> collection) {
-        toRemove.addAll(collection);
+        collection.forEach(this::remove);
     }
 
     /**
-     * @return {@link #current} as stream
+     * @return the current snapshot as stream
      */
     public Stream<T> stream() {
-        synchronized (current) {
-            return new ArrayList<>(current).stream();
-        }
+        return current.elements.stream();
     }
 
     /**
-     * @return {@link #toAdd}
+     * Get the elements published by the last update.
+     *
+     * <p>The returned list is immutable and will not change on later updates.
+     *
+     * @return the current snapshot
+     */
+    public List<T> snapshot() {
+        return current.elements;
+    }
+
+    /**
+     * Get the number of the current snapshot.
+     *
+     * <p>The number is increased each time an update changes the elements.
+     *
+     * @return the epoch of the current snapshot
+     */
+    public long epoch() {
+        return current.epoch;
+    }
+
+    /**
+     * @return copy of the objects that will be added on the next update
      */
     public Set<T> toAdd() {
-        synchronized (toAdd) {
-            return new HashSet<>(toAdd);
-        }
+        return pending(true);
     }
 
     /**
-     * @return {@link #toRemove}
+     * @return copy of the objects that will be removed on the next update
      */
     public Set<T> toRemove() {
-        synchronized (toRemove) {
-            return new HashSet<>(toRemove);
-        }
+        return pending(false);
     }
 
     /**
-     * Execute the given function on each entity in the {@link #toAdd} set.
+     * Execute the given function on each object that will be added on the next update.
+     *
+     * <p>Changes that are recorded by other threads while this function is executed may or may not
+     * be visited. Use {@link #update(Consumer, Consumer)} to visit exactly the applied changes.
      *
-     * @param function Function to execute on each entity in the {@link #toAdd} set.
+     * @param function Function to execute on each object that will be added.
      */
     public void foreachEntityInAddSet(Consumer<T> function) {
-        synchronized (toAdd) {
-            toAdd.forEach(function);
-        }
+        pending(true).forEach(function);
     }
 
     /**
-     * Execute the given function on each entity in the {@link #toRemove} set.
+     * Execute the given function on each object that will be removed on the next update.
+     *
+     * <p>Changes that are recorded by other threads while this function is executed may or may not
+     * be visited. Use {@link #update(Consumer, Consumer)} to visit exactly the applied changes.
      *
-     * @param function Function to execute on each entity in the {@link #toRemove} set.
+     * @param function Function to execute on each object that will be removed.
      */
     public void foreachEntityInRemoveSet(Consumer<T> function) {
-        synchronized (toRemove) {
-            toRemove.forEach(function);
-        }
+        pending(false).forEach(function);
     }
 
     /**
-     * Add all objects in {@link #current} to {@link #toRemove}.
+     * Remove all objects and all recorded changes.
      *
-     * <p>This method will immediately clear all internal sets.
+     * <p>This method will immediately publish an empty snapshot.
      */
     public void clear() {
-        synchronized (current) {
-            synchronized (toAdd) {
-                synchronized (toRemove) {
-                    current.clear();
-                    toAdd.clear();
-                    toRemove.clear();
-                }
-            }
+        synchronized (updateLock) {
+            changes.clear();
+            indices.clear();
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            publish();
+        }
+    }
+
+    private Set<T> pending(final boolean add) {
+        Set<T> result = new LinkedHashSet<>();
+        for (Change<T> change : changes) if (change.add == add) result.add(change.element);
+        return result;
+    }
+
+    private void insert(final T t) {
+        if (indices.putIfAbsent(t, size) != null) return;
+        if (size == elements.length) elements = Arrays.copyOf(elements, size * 2);
+        elements[size++] = t;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void delete(final T t) {
+        Integer index = indices.remove(t);
+        if (index == null) return;
+        // move the last element into the gap
+        T last = (T) elements[--size];
+        elements[size] = null;
+        if (index < size) {
+            elements[index] = last;
+            indices.put(last, index);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private void publish() {
+        T[] copy = (T[]) Arrays.copyOf(elements, size);
+        current = new Snapshot<>(Collections.unmodifiableList(Arrays.asList(copy)), epoch() + 1);
+    }
+
+    private record Change<T>(T element, boolean add) {}
+
+    private record Snapshot<T>(List<T> elements, long epoch) {}
 }
@@ -0,0 +1,52 @@
+package core.utils;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Axis-aligned rectangle of the world that is visible on screen.
+ *
+ * <p>The {@link core.systems.CameraSystem} computes the area once per frame from the frustum of
+ * the camera, so checking if something is visible is a few comparisons and needs no allocation.
+ *
+ * @param minX left border of the area
+ * @param minY bottom border of the area
+ * @param maxX right border of the area
+ * @param maxY top border of the area
+ */
+public record VisibleArea(float minX, float minY, float maxX, float maxY) {
+
+    /**
+     * Get the area covered by the given frustum.
+     *
+     * <p>For an orthographic camera that is not rotated, this is exactly the visible area.
+     *
+     * @param frustum frustum of the camera
+     * @return the bounding rectangle of the frustum in the xy-plane
+     */
+    public static VisibleArea of(Frustum frustum) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (Vector3 point : frustum.planePoints) {
+            minX = Math.min(minX, point.x);
+            minY = Math.min(minY, point.y);
+            maxX = Math.max(maxX, point.x);
+            maxY = Math.max(maxY, point.y);
+        }
+        return new VisibleArea(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Check if a square around the given point overlaps this area.
+     *
+     * @param x x-coordinate of the center of the square
+     * @param y y-coordinate of the center of the square
+     * @param margin half of the width of the square
+     * @return true if the square is at least partially visible
+     */
+    public boolean contains(float x, float y, float margin) {
+        return x + margin >= minX && x - margin <= maxX && y + margin >= minY && y - margin <= maxY;
+    }
+}
@@ -1,6 +1,9 @@
 package core.utils.components.draw;
 
+import core.Dungeon;
+
 import java.io.File;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,9 +20,15 @@ import java.util.stream.Collectors;
  * <p>The {@link core.components.DrawComponent} will automatically create Animations on creation
  * based on the given path, so normally you don't have to create your own instances.
  *
- * <p>An Animation can have different configurations. Use {@link #setTimeBetweenFrames} to set the
- * time between two frames. Use {@link #setLoop} to define if the Animation stops at the last frame
- * or should loop (starts from the beginning, this is the default setting).
+ * <p>An Animation is an immutable definition that can be shared by any number of entities. The
+ * progress of the playback is stored in the {@link core.components.DrawComponent} as the time since
+ * the animation was started; {@link #frame(float)} selects the frame to show for that time. Use
+ * {@link #of} to get a shared instance, equal definitions are only stored once.
+ *
+ * <p>An Animation can have different configurations. The time between two frames is given in
+ * frames of the game loop (see {@link core.Dungeon#frameRate()}), use {@link
+ * #withTimeBetweenFrames} to change it. Use {@link #withLoop} to define if the Animation stops at
+ * the last frame or should loop (starts from the beginning, this is the default setting).
  *
  * @see core.components.DrawComponent
  * @see IPath
@@ -29,6 +38,8 @@ public final class Animation {
     private static final String MISSING_TEXTURE = "animation/missing_texture.png";
     private static final int DEFAULT_FRAME_TIME = 5;
     private static final boolean DEFAULT_IS_LOOP = true;
+    /* Weak in both key and value, so definitions that no entity uses anymore are dropped. */
+    private static final Map<Animation, WeakReference<Animation>> INTERNED = new WeakHashMap<>();
 
     /** The set of textures that build the animation. */
     private final List<String> animationFrames;
@@ -36,16 +47,10 @@ public final class Animation {
     /** The count of textures for the animation. */
     private final int frames;
 
-    /** Number of frames between switching to the next animation? */
-    private int timeBetweenFrames;
-
-    /** Index of the NEXT texture that will be returned. */
-    private int currentFrameIndex = 0;
-
-    /** How many frames since the last texture switching? */
-    private int frameTimeCounter = 0;
+    /** Number of frames of the game loop between switching to the next texture. */
+    private final int timeBetweenFrames;
 
-    private boolean looping;
+    private final boolean looping;
 
     /**
      * Creates an animation.
@@ -57,7 +62,7 @@ public final class Animation {
     public Animation(Collection<String> animationFrames, int frameTime, boolean looping) {
         assert (animationFrames != null && !animationFrames.isEmpty());
         assert (frameTime > 0);
-        this.animationFrames = new ArrayList<>(animationFrames);
+        this.animationFrames = List.copyOf(animationFrames);
         frames = animationFrames.size();
         this.timeBetweenFrames = frameTime;
         this.looping = looping;
@@ -94,7 +99,7 @@ public final class Animation {
         // sort the files in lexicographic order (like the most os)
         // animations will be played in order
         Collections.sort(fileNames);
-        return new Animation(fileNames, frameTime, loop);
+        return of(fileNames, frameTime, loop);
     }
 
     /**
@@ -114,9 +119,17 @@ public final class Animation {
         return Animation.of(fileNamesRelativeToResources, DEFAULT_FRAME_TIME, DEFAULT_IS_LOOP);
     }
 
+    /**
+     * Get the shared animation with the given configuration.
+     *
+     * @param fileNamesRelativeToResources The list of textures that builds the animation.
+     * @param frameTime How many frames to wait, before switching to the next texture?
+     * @param loop should the Animation continue to repeat ?
+     * @return the only instance of this configuration
+     */
     public static Animation of(
             List<String> fileNamesRelativeToResources, int frameTime, boolean loop) {
-        return new Animation(fileNamesRelativeToResources, frameTime, loop);
+        return intern(new Animation(fileNamesRelativeToResources, frameTime, loop));
     }
 
     /**
@@ -126,31 +139,56 @@ public final class Animation {
      * @return missing texture animation
      */
     public static Animation defaultAnimation() {
-        return new Animation(Set.of(MISSING_TEXTURE), DEFAULT_FRAME_TIME, DEFAULT_IS_LOOP);
+        return of(List.of(MISSING_TEXTURE), DEFAULT_FRAME_TIME, DEFAULT_IS_LOOP);
+    }
+
+    private static Animation intern(final Animation animation) {
+        synchronized (INTERNED) {
+            WeakReference<Animation> reference = INTERNED.get(animation);
+            Animation shared = reference != null ? reference.get() : null;
+            if (shared != null) return shared;
+            INTERNED.put(animation, new WeakReference<>(animation));
+            return animation;
+        }
     }
 
     /**
-     * Automatically updates currentFrame to next frame.
+     * Get the index of the frame to show after the animation was played for the given time.
      *
-     * @return The texture of the next animation step (draw this).
+     * @param seconds time since the start of the animation
+     * @return index of the frame to show
      */
-    public String nextAnimationTexturePath() {
-        if (isFinished()) {
-            return animationFrames.get(currentFrameIndex);
-        }
-        String stringToReturn = animationFrames.get(currentFrameIndex);
-        frameTimeCounter = (frameTimeCounter + 1) % timeBetweenFrames;
-        if (frameTimeCounter == 0) {
-            currentFrameIndex = (currentFrameIndex + 1) % frames;
-        }
-        return stringToReturn;
+    public int frameIndex(float seconds) {
+        float frameDuration = timeBetweenFrames / (float) Dungeon.frameRate();
+        int index = (int) (Math.max(0, seconds) / frameDuration);
+        return looping ? index % frames : Math.min(index, frames - 1);
     }
 
     /**
+     * Get the time the animation needs to show each of its frames once.
+     *
+     * @return duration of one pass through the frames in seconds
+     */
+    public float duration() {
+        return frames * timeBetweenFrames / (float) Dungeon.frameRate();
+    }
+
+    /**
+     * Get the texture to show after the animation was played for the given time.
+     *
+     * @param seconds time since the start of the animation
+     * @return The texture of the animation step (draw this).
+     */
+    public String frame(float seconds) {
+        return animationFrames.get(frameIndex(seconds));
+    }
+
+    /**
+     * @param seconds time since the start of the animation
      * @return true when last frame and is not looping, otherwise false
      */
-    public boolean isFinished() {
-        return !looping && currentFrameIndex == frames - 1;
+    public boolean isFinished(float seconds) {
+        return !looping && frameIndex(seconds) == frames - 1;
     }
 
     /**
@@ -163,19 +201,20 @@ public final class Animation {
     /**
      * Get the List of animation frames.
      *
-     * @return List containing the paths of the single frames of the animation.
+     * @return Immutable list containing the paths of the single frames of the animation.
      */
     public List<String> getAnimationFrames() {
         return animationFrames;
     }
 
     /**
-     * Set the time (in frames) between two animation frames.
+     * Get an animation with the same frames and the given time between two frames.
      *
      * @param timeBetweenFrames Time before switching to the next animation frame.
+     * @return the shared animation with this configuration
      */
-    public void setTimeBetweenFrames(int timeBetweenFrames) {
-        this.timeBetweenFrames = timeBetweenFrames;
+    public Animation withTimeBetweenFrames(int timeBetweenFrames) {
+        return of(animationFrames, timeBetweenFrames, looping);
     }
 
     public int timeBetweenFrames() {
@@ -183,16 +222,31 @@ public final class Animation {
     }
 
     /**
-     * Set if the Animation should stop at the end or start again if the last frame was played.
+     * Get an animation with the same frames that does or does not loop.
      *
-     * <p>If loop is set to false, this animation will stop at the last frame.
+     * <p>If loop is set to false, the animation will stop at the last frame.
      *
      * <p>If loop is set to true, after the last frame is played, the animation will restart at the
      * first frame in the list.
      *
      * @param loop true if you want to loop, false if not
+     * @return the shared animation with this configuration
      */
-    public void setLoop(boolean loop) {
-        this.looping = loop;
+    public Animation withLoop(boolean loop) {
+        return of(animationFrames, timeBetweenFrames, loop);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Animation other)) return false;
+        return timeBetweenFrames == other.timeBetweenFrames
+                && looping == other.looping
+                && animationFrames.equals(other.animationFrames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(animationFrames, timeBetweenFrames, looping);
     }
 }
@@ -0,0 +1,82 @@
+package core.utils.components.draw;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The animations stored in an asset directory, e.g. "character/knight".
+ *
+ * <p>Each subdirectory is one {@link Animation}, the files in the subdirectory are its frames in
+ * lexicographic order. The files are found with the {@link AssetManifest}.
+ *
+ * <p>Animation sets are immutable and cached, so the directory of an entity type is only read
+ * once, and all entities of this type share the same animations.
+ *
+ * @see core.components.DrawComponent
+ */
+public final class AnimationSet {
+    private static final Map<String, AnimationSet> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final Map<String, Animation> animations;
+    private final List<String> frames;
+
+    private AnimationSet(final String path, final List<String> files) {
+        this.path = path;
+        Map<String, List<String>> framesByName = new LinkedHashMap<>();
+        String prefix = path.endsWith("/") ? path : path + "/";
+        for (String file : files) {
+            String relative = file.substring(prefix.length());
+            int separator = relative.indexOf('/');
+            // files directly in the directory and in nested subdirectories are no frames
+            if (separator < 0 || relative.indexOf('/', separator + 1) >= 0) continue;
+            framesByName
+                    .computeIfAbsent(relative.substring(0, separator), name -> new ArrayList<>())
+                    .add(file);
+        }
+        Map<String, Animation> definitions = new LinkedHashMap<>();
+        framesByName.forEach((name, list) -> definitions.put(name, Animation.of(list)));
+        animations = Collections.unmodifiableMap(definitions);
+        frames = framesByName.values().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Get the animation set of the given directory.
+     *
+     * @param path path of the directory relative to the assets, e.g. "character/knight"
+     * @return the animation set, empty if the directory does not exist
+     */
+    public static Optional<AnimationSet> of(final String path) {
+        AnimationSet cached = CACHE.get(path);
+        if (cached != null) return Optional.of(cached);
+        List<String> files = AssetManifest.instance().files(path);
+        if (files.isEmpty()) return Optional.empty();
+        return Optional.of(CACHE.computeIfAbsent(path, p -> new AnimationSet(p, files)));
+    }
+
+    /**
+     * @return path of the directory of this set
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return the animations, by the name of their subdirectory
+     */
+    public Map<String, Animation> animations() {
+        return animations;
+    }
+
+    /**
+     * @return the frames of all animations
+     */
+    public List<String> frames() {
+        return frames;
+    }
+}
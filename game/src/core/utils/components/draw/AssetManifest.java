@@ -0,0 +1,118 @@
+package core.utils.components.draw;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Index of all asset files of the game.
+ *
+ * <p>The build writes the path of each file in the asset directory to {@value #FILE_NAME} (see the
+ * {@code assetManifest} task in build.gradle). The manifest is read from the classpath, so the
+ * assets can be listed without touching the file system, even if the game runs from a jar.
+ *
+ * <p>Directories that are not listed in the manifest (e.g. test resources, or if the game was
+ * started without the generated manifest) are scanned on the file system once and then added to
+ * the index.
+ *
+ * <p>All paths are relative to the asset directory and use '/' as separator.
+ */
+public final class AssetManifest {
+    /** Name of the manifest resource. */
+    public static final String FILE_NAME = "asset-manifest.txt";
+
+    private static final Logger LOGGER = Logger.getLogger(AssetManifest.class.getName());
+    private static AssetManifest instance;
+
+    private final NavigableSet<String> files = new TreeSet<>();
+    /* Directories that were already scanned on the file system. */
+    private final NavigableSet<String> scanned = new TreeSet<>();
+
+    /**
+     * Create a manifest with the given files.
+     *
+     * @param files paths of the asset files
+     */
+    AssetManifest(final Collection<String> files) {
+        this.files.addAll(files);
+    }
+
+    /**
+     * Get the manifest of the game, read from {@value #FILE_NAME} on first use.
+     *
+     * @return the manifest of the game
+     */
+    public static synchronized AssetManifest instance() {
+        if (instance == null) instance = new AssetManifest(read());
+        return instance;
+    }
+
+    /**
+     * Get all files in the given directory and its subdirectories.
+     *
+     * @param directory path of the directory, e.g. "character/knight"
+     * @return the paths of the files in lexicographic order, empty if the directory does not exist
+     */
+    public synchronized List<String> files(final String directory) {
+        String prefix = directory.endsWith("/") ? directory : directory + "/";
+        if (below(prefix).isEmpty() && scanned.add(prefix)) files.addAll(scan(prefix));
+        return List.copyOf(below(prefix));
+    }
+
+    private NavigableSet<String> below(final String prefix) {
+        return files.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static List<String> read() {
+        InputStream stream = AssetManifest.class.getClassLoader().getResourceAsStream(FILE_NAME);
+        if (stream == null) {
+            LOGGER.info(FILE_NAME + " not found, asset directories will be scanned on demand.");
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null; )
+                if (!line.isBlank()) lines.add(line.strip());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines;
+    }
+
+    private static List<String> scan(final String prefix) {
+        URL url = AssetManifest.class.getClassLoader().getResource(prefix);
+        if (url == null || !"file".equals(url.getProtocol())) return List.of();
+        try {
+            Path root = Paths.get(url.toURI());
+            try (Stream<Path> walk = Files.walk(root)) {
+                return walk.filter(Files::isRegularFile)
+                        .map(file -> prefix + relativePath(root, file))
+                        .toList();
+            }
+        } catch (IOException | URISyntaxException e) {
+            LOGGER.warning("Could not scan " + prefix + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static String relativePath(final Path root, final Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
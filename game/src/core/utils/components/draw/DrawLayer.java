@@ -0,0 +1,18 @@
+package core.utils.components.draw;
+
+/**
+ * Layers of the {@link Painter}.
+ *
+ * <p>The layers are drawn in the order of their declaration, so entities are drawn above the walls
+ * and the walls above the floor.
+ */
+public enum DrawLayer {
+    /** Floor, doors, holes and exits of the level. */
+    FLOOR,
+    /** Walls of the level. */
+    WALL,
+    /** Entities, like the hero, monsters and items. */
+    ENTITY,
+    /** Sprites on top of everything else. The scene2d stage is drawn after all layers. */
+    HUD
+}
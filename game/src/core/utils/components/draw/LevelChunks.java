@@ -0,0 +1,231 @@
+package core.utils.components.draw;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.utils.LevelElement;
+import core.utils.Point;
+import core.utils.VisibleArea;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Draws the tiles of a level from pre-built vertices.
+ *
+ * <p>The level is split into chunks of {@link #CHUNK_SIZE} x {@link #CHUNK_SIZE} tiles. The sprite
+ * vertices of a chunk are built once, grouped by {@link DrawLayer} and atlas page, and handed to
+ * the {@link Painter} as a few bulk commands. Only the chunks in the view of the camera are drawn,
+ * so the cost of a frame depends on the size of the screen and not on the size of the level.
+ *
+ * <p>A chunk is built again if one of its tiles was replaced (e.g. by {@link
+ * ILevel#changeTileElementType}) or got a new texture. This is checked for the visible chunks
+ * only, by comparing the tiles and texture paths with the ones the vertices were built from.
+ *
+ * <p>Has to be used on the render thread.
+ */
+public final class LevelChunks {
+    /** Width and height of a chunk in tiles. */
+    public static final int CHUNK_SIZE = 16;
+
+    private static final int SPRITE_SIZE = 20;
+    /* Tiles drawn around the visible area, to cover sprites that are larger than a tile. */
+    private static final int MARGIN = 1;
+
+    private final ILevel level;
+    private final Tile[][] layout;
+    private final int chunksX;
+    private final int chunksY;
+    private final Chunk[] chunks;
+    private final Map<String, PainterConfig> configs = new HashMap<>();
+    private int builds = 0;
+
+    /**
+     * Create the chunks for the given level.
+     *
+     * <p>The vertices are built when a chunk is drawn for the first time.
+     *
+     * @param level level to draw
+     */
+    public LevelChunks(ILevel level) {
+        this.level = level;
+        layout = level.layout();
+        int height = layout.length;
+        int width = height == 0 ? 0 : layout[0].length;
+        chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunks = new Chunk[chunksX * chunksY];
+        for (int cy = 0; cy < chunksY; cy++)
+            for (int cx = 0; cx < chunksX; cx++)
+                chunks[cy * chunksX + cx] =
+                        new Chunk(
+                                cx * CHUNK_SIZE,
+                                cy * CHUNK_SIZE,
+                                Math.min(CHUNK_SIZE, width - cx * CHUNK_SIZE),
+                                Math.min(CHUNK_SIZE, height - cy * CHUNK_SIZE));
+    }
+
+    /**
+     * @return the level these chunks belong to
+     */
+    public ILevel level() {
+        return level;
+    }
+
+    /**
+     * @return number of chunk builds so far
+     */
+    public int builds() {
+        return builds;
+    }
+
+    /**
+     * Record the visible chunks on the given painter.
+     *
+     * <p>Chunks whose tiles changed are built again before they are recorded.
+     *
+     * @param painter painter to record the vertices on
+     * @param area visible area of the world
+     */
+    public void draw(Painter painter, VisibleArea area) {
+        if (chunks.length == 0) return;
+        int minX = chunkIndex(area.minX() - MARGIN, chunksX);
+        int maxX = chunkIndex(area.maxX() + MARGIN, chunksX);
+        int minY = chunkIndex(area.minY() - MARGIN, chunksY);
+        int maxY = chunkIndex(area.maxY() + MARGIN, chunksY);
+        for (int cy = minY; cy <= maxY; cy++)
+            for (int cx = minX; cx <= maxX; cx++) {
+                Chunk chunk = chunks[cy * chunksX + cx];
+                if (chunk.isOutdated(layout)) {
+                    chunk.build(layout, this::config);
+                    builds++;
+                }
+                chunk.draw(painter);
+            }
+    }
+
+    private static int chunkIndex(final float coordinate, final int chunks) {
+        return Math.max(0, Math.min(chunks - 1, (int) Math.floor(coordinate / CHUNK_SIZE)));
+    }
+
+    private PainterConfig config(final String texturePath) {
+        return configs.computeIfAbsent(texturePath, path -> new PainterConfig(path));
+    }
+
+    /* Vertices of a rectangle of tiles. */
+    private static final class Chunk {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        /* Tiles and texture paths the vertices were built from, null if not built yet. */
+        private Tile[] tiles;
+        private String[] paths;
+        /* One run of vertices per layer and page. */
+        private DrawLayer[] layers = new DrawLayer[2];
+        private Texture[] pages = new Texture[2];
+        private float[][] vertices = new float[2][];
+        private int[] lengths = new int[2];
+        private int runs = 0;
+
+        private Chunk(final int x, final int y, final int width, final int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private boolean isOutdated(final Tile[][] layout) {
+            if (tiles == null) return true;
+            for (int i = 0; i < tiles.length; i++) {
+                Tile tile = layout[y + i / width][x + i % width];
+                // a tile returns the path it stores, so comparing the references is enough
+                if (tile != tiles[i] || (tile != null && tile.texturePath() != paths[i]))
+                    return true;
+            }
+            return false;
+        }
+
+        private void build(final Tile[][] layout, final Function<String, PainterConfig> configs) {
+            tiles = new Tile[width * height];
+            paths = new String[width * height];
+            Arrays.fill(lengths, 0);
+            runs = 0;
+            for (int i = 0; i < tiles.length; i++) {
+                Tile tile = layout[y + i / width][x + i % width];
+                tiles[i] = tile;
+                if (tile == null) continue;
+                String path = tile.texturePath();
+                paths[i] = path;
+                LevelElement element = tile.levelElement();
+                if (element == LevelElement.SKIP) continue;
+                PainterConfig config = configs.apply(path);
+                DrawLayer layer = element == LevelElement.WALL ? DrawLayer.WALL : DrawLayer.FLOOR;
+                add(layer, TextureMap.instance().textureAt(path), tile.position(), config);
+            }
+        }
+
+        private void add(
+                final DrawLayer layer,
+                final TextureRegion region,
+                final Point position,
+                final PainterConfig config) {
+            int run = run(layer, region.getTexture());
+            float[] v = vertices[run];
+            int i = lengths[run];
+            if (i + SPRITE_SIZE > v.length) v = vertices[run] = Arrays.copyOf(v, v.length * 2);
+
+            float x1 = position.x + config.xOffset;
+            float y1 = position.y + config.yOffset;
+            float x2 = x1 + config.xScaling;
+            float y2 = y1 + config.yScaling;
+            float color = Color.WHITE_FLOAT_BITS;
+            // same vertex order as SpriteBatch#draw(TextureRegion, float, float, float, float)
+            i = vertex(v, i, x1, y1, color, region.getU(), region.getV2());
+            i = vertex(v, i, x1, y2, color, region.getU(), region.getV());
+            i = vertex(v, i, x2, y2, color, region.getU2(), region.getV());
+            i = vertex(v, i, x2, y1, color, region.getU2(), region.getV2());
+            lengths[run] = i;
+        }
+
+        private static int vertex(
+                final float[] v,
+                final int i,
+                final float x,
+                final float y,
+                final float color,
+                final float u,
+                final float w) {
+            v[i] = x;
+            v[i + 1] = y;
+            v[i + 2] = color;
+            v[i + 3] = u;
+            v[i + 4] = w;
+            return i + 5;
+        }
+
+        private int run(final DrawLayer layer, final Texture page) {
+            for (int i = 0; i < runs; i++) if (layers[i] == layer && pages[i] == page) return i;
+            if (runs == layers.length) {
+                layers = Arrays.copyOf(layers, runs * 2);
+                pages = Arrays.copyOf(pages, runs * 2);
+                vertices = Arrays.copyOf(vertices, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            layers[runs] = layer;
+            pages[runs] = page;
+            if (vertices[runs] == null) vertices[runs] = new float[CHUNK_SIZE * SPRITE_SIZE];
+            return runs++;
+        }
+
+        private void draw(final Painter painter) {
+            for (int i = 0; i < runs; i++)
+                painter.draw(pages[i], vertices[i], lengths[i], layers[i]);
+        }
+    }
+}
@@ -1,34 +1,164 @@
 package core.utils.components.draw;
 
-import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import core.systems.CameraSystem;
 import core.utils.Point;
 
-/** Uses LibGDX to draw sprites on the various <code>SpriteBatch</code>es. */
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Uses LibGDX to draw sprites on the <code>SpriteBatch</code>.
+ *
+ * <p>{@link #draw} does not draw immediately, it only records the texture and the bounds of the
+ * sprite. {@link #flush()} draws all recorded sprites in a single pass between one {@link
+ * SpriteBatch#begin()} and {@link SpriteBatch#end()}, sorted by their {@link DrawLayer} and their
+ * atlas page. So the batch only has to be flushed to the GPU if the page changes, and no sprite
+ * objects are created while drawing.
+ *
+ * <p>{@link core.Game#render} calls {@link #flush()} once per frame after all systems were
+ * executed.
+ *
+ * <p>The painter is not thread safe, it has to be used on the render thread.
+ */
 public class Painter {
+    private static final int INITIAL_CAPACITY = 1024;
+
     private final SpriteBatch batch;
+    /* Ordinal of each atlas page, so the commands can be sorted by page. */
+    private final Map<Texture, Integer> textureIds = new IdentityHashMap<>();
+    /* Generation of the texture map the ordinals belong to, see TextureMap#generation. */
+    private int textureGeneration;
+    /* Recorded commands, reused in each frame. A command either draws a region or vertices. */
+    private TextureRegion[] textures = new TextureRegion[INITIAL_CAPACITY];
+    private Texture[] pages = new Texture[INITIAL_CAPACITY];
+    private float[][] vertices = new float[INITIAL_CAPACITY][];
+    private float[] bounds = new float[INITIAL_CAPACITY * 4];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size = 0;
 
     /** Uses LibGDX to draw sprites on the various <code>SpriteBatch</code>es. */
     public Painter(SpriteBatch batch) {
         this.batch = batch;
+        textureGeneration = TextureMap.instance().generation();
     }
 
+    /**
+     * Record a sprite to draw on the next {@link #flush()}.
+     *
+     * <p>Sprites outside the view of the camera are skipped.
+     *
+     * @param position position of the sprite
+     * @param texturePath path to the texture of the sprite
+     * @param config offset, scaling and layer of the sprite
+     */
     public void draw(Point position, String texturePath, PainterConfig config) {
         if (CameraSystem.isPointInFrustum(position.x, position.y)) {
-            Sprite sprite = new Sprite(TextureMap.instance().textureAt(texturePath));
-            // set up scaling of textures
-            sprite.setSize(config.xScaling, config.yScaling);
-            // where to draw the sprite
-            sprite.setPosition(position.x + config.xOffset, position.y + config.yOffset);
-
-            // need to be called before drawing
-            batch.begin();
-            // draw sprite
-            sprite.draw(batch);
-            // need to be called after drawing
-            batch.end();
+            TextureRegion texture = TextureMap.instance().textureAt(texturePath);
+            if (size == textures.length) grow();
+            textures[size] = texture;
+            pages[size] = texture.getTexture();
+            bounds[size * 4] = position.x + config.xOffset;
+            bounds[size * 4 + 1] = position.y + config.yOffset;
+            bounds[size * 4 + 2] = config.xScaling;
+            bounds[size * 4 + 3] = config.yScaling;
+            keys[size] = key(config.layer(), textureId(pages[size]), size);
+            size++;
         }
     }
+
+    /**
+     * Record pre-built sprite vertices to draw on the next {@link #flush()}.
+     *
+     * <p>The vertices have the format of {@link SpriteBatch#draw(Texture, float[], int, int)}, 20
+     * floats per sprite, and all sprites have to be on the given texture. The vertices are not
+     * culled and not copied, so the array must not be changed until the next flush.
+     *
+     * @param texture texture of all sprites
+     * @param spriteVertices vertices of the sprites
+     * @param length number of floats to draw, starting at index 0
+     * @param layer layer to draw on
+     */
+    public void draw(Texture texture, float[] spriteVertices, int length, DrawLayer layer) {
+        if (length == 0) return;
+        if (size == textures.length) grow();
+        pages[size] = texture;
+        vertices[size] = spriteVertices;
+        bounds[size * 4] = length;
+        keys[size] = key(layer, textureId(texture), size);
+        size++;
+    }
+
+    /**
+     * Draw all recorded sprites in one pass, ordered by layer and atlas page, and clear the
+     * records.
+     *
+     * <p>Sprites in the same layer on the same page are drawn in the order they were recorded. The
+     * pages changed since the last frame are uploaded before, see {@link TextureMap#upload()}.
+     */
+    public void flush() {
+        if (size == 0) return;
+        TextureMap.instance().upload();
+        Arrays.sort(keys, 0, size);
+        batch.begin();
+        for (int i = 0; i < size; i++) {
+            int command = (int) keys[i];
+            if (vertices[command] != null)
+                batch.draw(pages[command], vertices[command], 0, (int) bounds[command * 4]);
+            else
+                batch.draw(
+                        textures[command],
+                        bounds[command * 4],
+                        bounds[command * 4 + 1],
+                        bounds[command * 4 + 2],
+                        bounds[command * 4 + 3]);
+        }
+        batch.end();
+        Arrays.fill(textures, 0, size, null);
+        Arrays.fill(pages, 0, size, null);
+        Arrays.fill(vertices, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return number of sprites recorded since the last {@link #flush()}
+     */
+    public int pending() {
+        return size;
+    }
+
+    /*
+     * Sort key of a command: the layer in the highest bits, then the ordinal of the page, then
+     * the index of the command, so the sort is stable.
+     */
+    private static long key(final DrawLayer layer, final int texture, final int command) {
+        return ((long) layer.ordinal() << 56) | ((long) texture << 32) | command;
+    }
+
+    private int textureId(final Texture texture) {
+        int generation = TextureMap.instance().generation();
+        // the pages were disposed, so forget them and start the ordinals again
+        if (generation != textureGeneration) {
+            textureIds.clear();
+            textureGeneration = generation;
+        }
+        Integer id = textureIds.get(texture);
+        if (id == null) {
+            id = textureIds.size();
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        textures = Arrays.copyOf(textures, textures.length * 2);
+        pages = Arrays.copyOf(pages, pages.length * 2);
+        vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        keys = Arrays.copyOf(keys, keys.length * 2);
+    }
 }
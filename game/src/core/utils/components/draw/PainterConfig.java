@@ -1,6 +1,6 @@
 package core.utils.components.draw;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /** This class serves as a configuration class for the {@link Painter} class. */
 public class PainterConfig {
@@ -8,6 +8,7 @@ public class PainterConfig {
     float yOffset;
     float xScaling;
     float yScaling;
+    private DrawLayer layer = DrawLayer.ENTITY;
 
     private PainterConfig(float xOffset, float yOffset, float xScaling, float yScaling) {
         this.xOffset = xOffset;
@@ -16,15 +17,15 @@ public class PainterConfig {
         this.yScaling = yScaling;
     }
 
-    private PainterConfig(float xOffset, float yOffset, float xScaling, Texture texture) {
+    private PainterConfig(float xOffset, float yOffset, float xScaling, TextureRegion texture) {
         this(
                 xOffset,
                 yOffset,
                 xScaling,
-                ((float) texture.getHeight() / (float) texture.getWidth()));
+                ((float) texture.getRegionHeight() / (float) texture.getRegionWidth()));
     }
 
-    private PainterConfig(Texture texture) {
+    private PainterConfig(TextureRegion texture) {
         this(-0.85f, -0.5f, 1, texture);
     }
 
@@ -48,4 +49,20 @@ public class PainterConfig {
     public PainterConfig(float xScaling, float yScaling) {
         this(-0.85f, -0.5f, xScaling, yScaling);
     }
+
+    /**
+     * @return the layer to draw on, {@link DrawLayer#ENTITY} by default
+     */
+    public DrawLayer layer() {
+        return layer;
+    }
+
+    /**
+     * Set the layer to draw on.
+     *
+     * @param layer the new layer
+     */
+    public void layer(DrawLayer layer) {
+        this.layer = layer;
+    }
 }
@@ -1,13 +1,60 @@
 package core.utils.components.draw;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Packs the textures of the game into atlas pages and hands out regions of these pages.
+ *
+ * <p>The textures are packed when they are requested for the first time. Each design of the dungeon
+ * ({@code dungeon/<design>/...}) gets its own pages, all other textures are grouped by their top
+ * level directory ({@code character}, {@code items}, {@code objects}, ...). Because the sprites of
+ * a level or a character share a few large textures, the {@link Painter} rarely has to switch the
+ * bound texture.
+ *
+ * <p>Textures packed during a frame are uploaded to the GPU once per changed page by {@link
+ * #upload()}, which the {@link Painter} calls before drawing.
+ *
+ * <p>Textures that do not fit into a page get their own {@link Texture}.
+ *
+ * <p>Use {@link #preload} to decode textures in the background before they are needed. The files
+ * are loaded by an {@link AssetManager} and packed on the next {@link #upload()}, so drawing them
+ * for the first time does not have to read the file system.
+ */
 public class TextureMap {
+    /** Width and height of an atlas page in pixels. */
+    public static final int PAGE_SIZE = 2048;
+
+    private static final int PADDING = 2;
     private static final TextureMap INSTANCE = new TextureMap();
-    private final Map<String, Texture> textureMap = new HashMap<>();
+    private final Map<String, TextureRegion> textureMap = new HashMap<>();
+    /* One packer per page group, see #pageName. */
+    private final Map<String, PixmapPacker> packers = new HashMap<>();
+    /* Textures of the images that are too large for a page. */
+    private final List<Texture> standalone = new ArrayList<>();
+    /* Paths passed to #preload, handed to the asset manager on the next #upload. */
+    private final Queue<String> requested = new ConcurrentLinkedQueue<>();
+    private final Set<String> preloaded = ConcurrentHashMap.newKeySet();
+    /* Decodes the preloaded files in the background, created on first use. */
+    private AssetManager assets;
+    /* Number of calls of dispose. */
+    private int generation = 0;
 
     private TextureMap() {}
 
@@ -16,17 +63,149 @@ public class TextureMap {
     }
 
     /**
-     * Searches the HashMap for the matching texture and returns it. If the texture is not stored in
-     * the HashMap, it is created and saved in.
+     * Searches the HashMap for the matching texture region and returns it. If the texture is not
+     * stored in the HashMap, it is packed into the atlas page of its group and saved in.
+     *
+     * <p>The content of a newly packed texture is visible after the next {@link #upload()}.
      *
      * @param path to texture
-     * @return the Texture
+     * @return the region of the atlas page that contains the texture
+     */
+    public TextureRegion textureAt(String path) {
+        TextureRegion region = textureMap.get(path);
+        if (region == null) {
+            region = pack(path);
+            textureMap.put(path, region);
+        }
+        return region;
+    }
+
+    /**
+     * Load the given textures in the background.
+     *
+     * <p>Can be called from any thread. The loading starts with the next {@link #upload()}, and the
+     * textures are packed as soon as they are decoded. Textures that were already requested are
+     * ignored. Does nothing in headless mode, because nothing is drawn.
+     *
+     * @param paths paths to the textures
+     */
+    public void preload(Collection<String> paths) {
+        if (Gdx.graphics == null) return;
+        for (String path : paths) if (preloaded.add(path)) requested.add(path);
+    }
+
+    /**
+     * Pack the preloaded textures that were decoded since the last call, and upload all atlas
+     * pages that were changed since the last upload to the GPU.
+     *
+     * <p>Has to be called on the render thread.
+     */
+    public void upload() {
+        loadRequested();
+        for (PixmapPacker packer : packers.values())
+            packer.updatePageTextures(TextureFilter.Nearest, TextureFilter.Nearest, false);
+    }
+
+    /**
+     * @return number of atlas pages
      */
-    public Texture textureAt(String path) {
-        if (!textureMap.containsKey(path)) {
-            textureMap.put(path, new Texture(path));
+    public int pages() {
+        int pages = 0;
+        for (PixmapPacker packer : packers.values()) pages += packer.getPages().size;
+        return pages;
+    }
+
+    /**
+     * Get the number of times the atlas pages were disposed.
+     *
+     * <p>Code that keeps references to the pages, like the {@link Painter}, can compare this value
+     * to drop the references to disposed pages.
+     *
+     * @return number of calls of {@link #dispose()}
+     */
+    public int generation() {
+        return generation;
+    }
+
+    /** Dispose all atlas pages and forget all packed textures. */
+    public void dispose() {
+        generation++;
+        if (assets != null) assets.dispose();
+        assets = null;
+        packers.values().forEach(PixmapPacker::dispose);
+        packers.clear();
+        standalone.forEach(Texture::dispose);
+        standalone.clear();
+        textureMap.clear();
+        requested.clear();
+        preloaded.clear();
+    }
+
+    /**
+     * Get the name of the atlas page group of the given texture.
+     *
+     * @param path path to the texture
+     * @return {@code dungeon/<design>} for dungeon textures, the top level directory otherwise
+     */
+    static String pageName(String path) {
+        int end = path.indexOf('/');
+        if (end < 0) return "";
+        if (path.startsWith("dungeon/")) {
+            int design = path.indexOf('/', end + 1);
+            if (design >= 0) end = design;
         }
+        return path.substring(0, end);
+    }
 
-        return textureMap.get(path);
+    private void loadRequested() {
+        if (requested.isEmpty() && (assets == null || assets.isFinished())) return;
+        if (assets == null) assets = new AssetManager();
+        for (String path; (path = requested.poll()) != null; )
+            if (!textureMap.containsKey(path)) assets.load(path, Pixmap.class);
+        assets.update();
+        // copying a decoded texture into its page is cheap, so pack all that are ready
+        for (String path : assets.getAssetNames()) if (assets.isLoaded(path)) textureAt(path);
+    }
+
+    private TextureRegion pack(String path) {
+        boolean asset = assets != null && assets.contains(path);
+        // wait for the background loading instead of decoding the file a second time
+        Pixmap pixmap =
+                asset
+                        ? assets.<Pixmap>finishLoadingAsset(path)
+                        : new Pixmap(Gdx.files.internal(path));
+        try {
+            if (pixmap.getWidth() + 2 * PADDING > PAGE_SIZE
+                    || pixmap.getHeight() + 2 * PADDING > PAGE_SIZE) {
+                Texture texture = new Texture(pixmap);
+                standalone.add(texture);
+                return new TextureRegion(texture);
+            }
+
+            PixmapPacker packer =
+                    packers.computeIfAbsent(
+                            pageName(path),
+                            name ->
+                                    new PixmapPacker(
+                                            PAGE_SIZE,
+                                            PAGE_SIZE,
+                                            Pixmap.Format.RGBA8888,
+                                            PADDING,
+                                            true));
+            Rectangle rect = packer.pack(path, pixmap);
+            PixmapPacker.Page page = packer.getPage(path);
+            // a new page needs its texture object now, the pixels are uploaded again on #upload
+            if (page.getTexture() == null)
+                page.updateTexture(TextureFilter.Nearest, TextureFilter.Nearest, false);
+            return new TextureRegion(
+                    page.getTexture(),
+                    (int) rect.x,
+                    (int) rect.y,
+                    (int) rect.width,
+                    (int) rect.height);
+        } finally {
+            if (asset) assets.unload(path);
+            else pixmap.dispose();
+        }
     }
 }
@@ -0,0 +1,399 @@
+package core.utils.profiling;
+
+import com.google.gson.stream.JsonWriter;
+
+import core.System;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Records the duration of each frame and of each {@link System} in it.
+ *
+ * <p>For each of the latest frames, the profiler stores the frame time, the execution time and the
+ * entity count of each system, the number of entities added and removed, the bytes allocated by
+ * all threads and the time spent in garbage collection. The statistics (median, 99th percentile and
+ * mean) are computed over these frames.
+ *
+ * <p>The profiler is disabled by default. While it is disabled, all record-functions return
+ * immediately, so the game loop can call them unconditionally.
+ *
+ * <p>Use {@link #registerMBean()} to inspect the profiler with JMX, {@link
+ * core.hud.ProfilerOverlay} to show the slowest systems on the screen, and {@link #writeCsv} or
+ * {@link #writeJson} to dump the recorded frames for offline analysis.
+ *
+ * <p>{@link #beginFrame}, {@link #endFrame} and the churn-functions have to be called from the
+ * thread of the game loop. {@link #recordSystem} can be called from any thread. The statistics can
+ * be read from any thread.
+ */
+public final class FrameProfiler implements FrameProfilerMXBean {
+    /** Number of frames the statistics are computed over, 10 seconds at 60 frames per second. */
+    public static final int DEFAULT_WINDOW = 600;
+    /** Name of the MBean, see {@link #registerMBean()}. */
+    public static final String OBJECT_NAME = "core:type=FrameProfiler";
+
+    private static final Logger LOGGER = Logger.getLogger(FrameProfiler.class.getName());
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int window;
+    private final Map<System, SystemRecord> systems = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+    private boolean registered = false;
+
+    /* Statistics of the recorded frames, guarded by this. */
+    private long frames = 0;
+    private Series frameTimes;
+    private Series allocations;
+    private Series gcTimes;
+    private Series additions;
+    private Series removals;
+
+    /* State of the current frame, only used by the thread of the game loop. */
+    private long frameStart;
+    private long allocatedAtStart;
+    private long gcTimeAtStart;
+    private int added;
+    private int removed;
+    private boolean inFrame = false;
+
+    /** Create a new disabled profiler that keeps the latest {@link #DEFAULT_WINDOW} frames. */
+    public FrameProfiler() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a new disabled profiler.
+     *
+     * @param window number of frames to keep
+     */
+    public FrameProfiler(final int window) {
+        if (window <= 0) throw new IllegalArgumentException("The window must be positive.");
+        this.window = window;
+        reset();
+    }
+
+    /**
+     * Register this profiler as MBean at the platform MBean server, named {@value #OBJECT_NAME}.
+     *
+     * <p>Does nothing if this profiler is already registered. Logs a warning if the registration
+     * fails, e.g. because another profiler is registered.
+     */
+    public synchronized void registerMBean() {
+        if (registered) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (JMException e) {
+            LOGGER.warning("FrameProfiler could not be registered: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Start recording a frame. */
+    public void beginFrame() {
+        inFrame = enabled;
+        if (!inFrame) return;
+        added = 0;
+        removed = 0;
+        allocatedAtStart = allocatedBytes();
+        gcTimeAtStart = gcMillis();
+        frameStart = java.lang.System.nanoTime();
+    }
+
+    /** Record that an entity was added to the game in the current frame. */
+    public void entityAdded() {
+        if (inFrame) added++;
+    }
+
+    /** Record that an entity was removed from the game in the current frame. */
+    public void entityRemoved() {
+        if (inFrame) removed++;
+    }
+
+    /**
+     * Record the execution of a system in the current frame.
+     *
+     * @param system the executed system
+     * @param nanos execution time in nanoseconds
+     */
+    public void recordSystem(final System system, final long nanos) {
+        if (!inFrame) return;
+        systems.computeIfAbsent(system, SystemRecord::new).pending += nanos;
+    }
+
+    /**
+     * Finish recording the current frame.
+     *
+     * @param running all systems of the game; a system that was not executed in this frame is
+     *     recorded with an execution time of 0
+     */
+    public void endFrame(final Collection<System> running) {
+        if (!inFrame) return;
+        inFrame = false;
+        long frameTime = java.lang.System.nanoTime() - frameStart;
+        long allocated = Math.max(0, allocatedBytes() - allocatedAtStart);
+        long gcTime = Math.max(0, gcMillis() - gcTimeAtStart);
+        synchronized (this) {
+            systems.keySet().retainAll(running);
+            for (System system : running) {
+                SystemRecord record = systems.computeIfAbsent(system, SystemRecord::new);
+                if (record.times == null) record.times = new Series(window, frames);
+                record.times.add(record.pending);
+                record.pending = 0;
+                record.entities = system.entities().size();
+            }
+            frameTimes.add(frameTime);
+            allocations.add(allocated);
+            gcTimes.add(gcTime);
+            additions.add(added);
+            removals.add(removed);
+            frames++;
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        frames = 0;
+        frameTimes = new Series(window, 0);
+        allocations = new Series(window, 0);
+        gcTimes = new Series(window, 0);
+        additions = new Series(window, 0);
+        removals = new Series(window, 0);
+        systems.values().forEach(record -> record.times = null);
+    }
+
+    @Override
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    @Override
+    public synchronized double getFrameTimeP50Millis() {
+        return frameTimes.percentile(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized double getFrameTimeP99Millis() {
+        return frameTimes.percentile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized double getAllocatedBytesPerFrame() {
+        return allocations.mean();
+    }
+
+    @Override
+    public synchronized double getGcMillisPerFrame() {
+        return gcTimes.mean();
+    }
+
+    @Override
+    public synchronized double getEntitiesAddedPerFrame() {
+        return additions.mean();
+    }
+
+    @Override
+    public synchronized double getEntitiesRemovedPerFrame() {
+        return removals.mean();
+    }
+
+    @Override
+    public String[] getSystemSummary() {
+        return systemStats().stream().map(SystemStats::toString).toArray(String[]::new);
+    }
+
+    /**
+     * Get the statistics of each system, sorted by the 99th percentile of the execution time,
+     * slowest first.
+     *
+     * @return the statistics of each system that was recorded since the last reset
+     */
+    public synchronized List<SystemStats> systemStats() {
+        List<SystemStats> stats = new ArrayList<>();
+        for (SystemRecord record : systems.values()) {
+            if (record.times == null) continue;
+            stats.add(
+                    new SystemStats(
+                            record.name,
+                            record.entities,
+                            record.times.percentile(0.5),
+                            record.times.percentile(0.99),
+                            record.times.mean()));
+        }
+        stats.sort(Comparator.comparingLong(SystemStats::p99Nanos).reversed());
+        return stats;
+    }
+
+    /**
+     * Write the recorded frames in CSV format.
+     *
+     * <p>Each row contains one frame, oldest first: its number, the frame time, the allocated
+     * bytes, the garbage collection time, the number of added and removed entities, and the
+     * execution time of each system. All times are in milliseconds. The cell of a system is empty
+     * for the frames before the system was added.
+     *
+     * @param out where to write to
+     * @throws IOException if writing fails
+     */
+    public synchronized void writeCsv(final Writer out) throws IOException {
+        List<SystemRecord> records = new ArrayList<>();
+        for (SystemRecord record : systems.values()) if (record.times != null) records.add(record);
+        out.write("frame,frame_ms,allocated_bytes,gc_ms,added,removed");
+        for (SystemRecord record : records) out.write("," + record.name + "_ms");
+        out.write("\n");
+        for (long frame = frames - frameTimes.size(); frame < frames; frame++) {
+            out.write(Long.toString(frame));
+            out.write("," + millis(frameTimes.get(frame)));
+            out.write("," + allocations.get(frame));
+            out.write("," + gcTimes.get(frame));
+            out.write("," + additions.get(frame));
+            out.write("," + removals.get(frame));
+            for (SystemRecord record : records) {
+                out.write(",");
+                if (record.times.contains(frame)) out.write(millis(record.times.get(frame)));
+            }
+            out.write("\n");
+        }
+    }
+
+    /**
+     * Write the statistics of the recorded frames in JSON format.
+     *
+     * <p>The object contains the values of the {@link FrameProfilerMXBean} attributes and an array
+     * with the statistics of each system (see {@link #systemStats()}).
+     *
+     * @param out where to write to
+     * @throws IOException if writing fails
+     */
+    public synchronized void writeJson(final Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("frames").value(frames);
+        json.name("frameTimeP50Millis").value(getFrameTimeP50Millis());
+        json.name("frameTimeP99Millis").value(getFrameTimeP99Millis());
+        json.name("allocatedBytesPerFrame").value(getAllocatedBytesPerFrame());
+        json.name("gcMillisPerFrame").value(getGcMillisPerFrame());
+        json.name("entitiesAddedPerFrame").value(getEntitiesAddedPerFrame());
+        json.name("entitiesRemovedPerFrame").value(getEntitiesRemovedPerFrame());
+        json.name("systems").beginArray();
+        for (SystemStats stats : systemStats()) {
+            json.beginObject();
+            json.name("name").value(stats.name());
+            json.name("entities").value(stats.entities());
+            json.name("p50Millis").value(stats.p50Nanos() / NANOS_PER_MILLI);
+            json.name("p99Millis").value(stats.p99Nanos() / NANOS_PER_MILLI);
+            json.name("meanMillis").value(stats.meanNanos() / NANOS_PER_MILLI);
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    @Override
+    public String dumpCsv() {
+        StringWriter out = new StringWriter();
+        try {
+            writeCsv(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String dumpJson() {
+        StringWriter out = new StringWriter();
+        try {
+            writeJson(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()
+                || !bean.isThreadAllocatedMemoryEnabled()) return 0;
+        long sum = 0;
+        for (long bytes : bean.getThreadAllocatedBytes(bean.getAllThreadIds()))
+            if (bytes > 0) sum += bytes;
+        return sum;
+    }
+
+    private static long gcMillis() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            sum += Math.max(0, gc.getCollectionTime());
+        return sum;
+    }
+
+    /**
+     * Statistics of a system over the recorded frames.
+     *
+     * @param name simple class name of the system
+     * @param entities number of entities processed by the system in the latest frame
+     * @param p50Nanos median execution time in nanoseconds
+     * @param p99Nanos 99th percentile of the execution time in nanoseconds
+     * @param meanNanos mean execution time in nanoseconds
+     */
+    public record SystemStats(
+            String name, int entities, long p50Nanos, long p99Nanos, double meanNanos) {
+        @Override
+        public String toString() {
+            return String.format(
+                    Locale.ROOT,
+                    "%s: %d entities, p50 %.3f ms, p99 %.3f ms",
+                    name,
+                    entities,
+                    p50Nanos / NANOS_PER_MILLI,
+                    p99Nanos / NANOS_PER_MILLI);
+        }
+    }
+
+    private static final class SystemRecord {
+        private final String name;
+        /* Execution time in the current frame, only written by the thread executing the system. */
+        private long pending = 0;
+        private int entities = 0;
+        private Series times = null;
+
+        private SystemRecord(final System system) {
+            String simpleName = system.getClass().getSimpleName();
+            name = simpleName.isEmpty() ? system.getClass().getName() : simpleName;
+        }
+    }
+}
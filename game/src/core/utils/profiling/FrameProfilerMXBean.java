@@ -0,0 +1,74 @@
+package core.utils.profiling;
+
+/**
+ * Management interface of the {@link FrameProfiler}.
+ *
+ * <p>Registered as {@value FrameProfiler#OBJECT_NAME}, so the metrics of a running game can be
+ * inspected with a JMX client like JConsole or VisualVM.
+ */
+public interface FrameProfilerMXBean {
+    /**
+     * @return true if the frames are recorded
+     */
+    boolean isEnabled();
+
+    /**
+     * Start or stop recording frames.
+     *
+     * @param enabled true to record frames
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return number of frames recorded since the last reset
+     */
+    long getFrames();
+
+    /**
+     * @return median duration of the recorded frames in milliseconds
+     */
+    double getFrameTimeP50Millis();
+
+    /**
+     * @return 99th percentile of the duration of the recorded frames in milliseconds
+     */
+    double getFrameTimeP99Millis();
+
+    /**
+     * @return average number of bytes allocated per frame by all threads
+     */
+    double getAllocatedBytesPerFrame();
+
+    /**
+     * @return average time per frame spent in garbage collection in milliseconds
+     */
+    double getGcMillisPerFrame();
+
+    /**
+     * @return average number of entities added per frame
+     */
+    double getEntitiesAddedPerFrame();
+
+    /**
+     * @return average number of entities removed per frame
+     */
+    double getEntitiesRemovedPerFrame();
+
+    /**
+     * @return one line per system with its entity count and execution times, slowest first
+     */
+    String[] getSystemSummary();
+
+    /**
+     * @return the recorded frames in CSV format, see {@link FrameProfiler#writeCsv}
+     */
+    String dumpCsv();
+
+    /**
+     * @return the statistics in JSON format, see {@link FrameProfiler#writeJson}
+     */
+    String dumpJson();
+
+    /** Delete all recorded frames. */
+    void reset();
+}
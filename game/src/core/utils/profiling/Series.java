@@ -0,0 +1,90 @@
+package core.utils.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer that keeps one value for each of the latest frames.
+ *
+ * <p>The values are addressed by the number of the frame, so the series of different systems can be
+ * aligned, even if a system was added later than others.
+ *
+ * <p>Not thread safe, {@link FrameProfiler} synchronizes the access.
+ */
+final class Series {
+    private final long[] values;
+    /* Number of the frame of the first value ever added. */
+    private final long firstFrame;
+    private long count = 0;
+
+    /**
+     * Create a new series.
+     *
+     * @param capacity number of frames to keep
+     * @param firstFrame number of the frame of the first value that will be added
+     */
+    Series(final int capacity, final long firstFrame) {
+        values = new long[capacity];
+        this.firstFrame = firstFrame;
+    }
+
+    /**
+     * Add the value of the next frame, overwriting the value of the oldest frame if the series is
+     * full.
+     *
+     * @param value value to add
+     */
+    void add(final long value) {
+        values[(int) (count % values.length)] = value;
+        count++;
+    }
+
+    /**
+     * @param frame number of the frame
+     * @return true if the value of the given frame is still stored
+     */
+    boolean contains(final long frame) {
+        long index = frame - firstFrame;
+        return index >= 0 && index < count && index >= count - values.length;
+    }
+
+    /**
+     * @param frame number of the frame, see {@link #contains}
+     * @return value of the given frame
+     */
+    long get(final long frame) {
+        return values[(int) ((frame - firstFrame) % values.length)];
+    }
+
+    /**
+     * @return number of stored values
+     */
+    int size() {
+        return (int) Math.min(count, values.length);
+    }
+
+    /**
+     * @return the arithmetic mean of the stored values, 0 if there are none
+     */
+    double mean() {
+        int size = size();
+        if (size == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < size; i++) sum += values[i];
+        return sum / size;
+    }
+
+    /**
+     * Get the value that is greater than or equal to the given fraction of the stored values.
+     *
+     * @param fraction fraction between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return the percentile (nearest rank), 0 if there are no values
+     */
+    long percentile(final double fraction) {
+        int size = size();
+        if (size == 0) return 0;
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(fraction * size);
+        return sorted[Math.max(0, Math.min(size, rank) - 1)];
+    }
+}
@@ -850,4 +850,51 @@ public class CollisionSystemTest {
         assertEquals("One interaction ends for e3", 1, sc3OnLeave.getCount());
         cleanUpEnvironment();
     }*/
+
+    /**
+     * Checks that the end of a collision is detected once, even if the hitboxes no longer share a
+     * cell of the broadphase grid.
+     */
+    @Test
+    public void checkUpdateCollisionEndsAfterLeavingCell() {
+        prepareEnvironment();
+        CollisionSystem cs = new CollisionSystem();
+        Entity e1 = prepareEntityWithPosition(new Point(0, 0));
+        SimpleCounter sc1OnEnter = new SimpleCounter();
+        SimpleCounter sc1OnLeave = new SimpleCounter();
+        new CollideComponent(
+                e1,
+                new Point(0, 0),
+                new Point(1, 1),
+                (a, b, c) -> sc1OnEnter.inc(),
+                (a, b, c) -> sc1OnLeave.inc());
+        Entity e2 = prepareEntityWithPosition(new Point(0.5f, 0.5f));
+        SimpleCounter sc2OnEnter = new SimpleCounter();
+        SimpleCounter sc2OnLeave = new SimpleCounter();
+        new CollideComponent(
+                e2,
+                new Point(0, 0),
+                new Point(1, 1),
+                (a, b, c) -> sc2OnEnter.inc(),
+                (a, b, c) -> sc2OnLeave.inc());
+        cs.showEntity(e1);
+        cs.showEntity(e2);
+
+        cs.execute();
+        cs.execute();
+        assertEquals("Only one interaction begins for e1", 1, sc1OnEnter.getCount());
+        assertEquals("Only one interaction begins for e2", 1, sc2OnEnter.getCount());
+        assertEquals("No interaction ends for e1", 0, sc1OnLeave.getCount());
+
+        e1.fetch(PositionComponent.class)
+                .ifPresentOrElse(
+                        pc -> pc.position(new Point(10, 10)),
+                        () -> fail(MISSING_POSITION_COMPONENT));
+        cs.execute();
+        cs.execute();
+        assertEquals("Only one interaction ends for e1", 1, sc1OnLeave.getCount());
+        assertEquals("Only one interaction ends for e2", 1, sc2OnLeave.getCount());
+        assertEquals("No new interaction begins for e1", 1, sc1OnEnter.getCount());
+        cleanUpEnvironment();
+    }
 }
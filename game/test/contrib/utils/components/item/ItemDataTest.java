@@ -48,8 +48,8 @@ public class ItemDataTest {
                         item_description);
 
         assertEquals(type, itemData.itemType());
-        assertEquals(inventoryTexture, itemData.inventoryTexture().nextAnimationTexturePath());
-        assertEquals(worldTexture, itemData.worldTexture().nextAnimationTexturePath());
+        assertEquals(inventoryTexture, itemData.inventoryTexture().frame(0));
+        assertEquals(worldTexture, itemData.worldTexture().frame(0));
         assertEquals(item_name, itemData.itemName());
         assertEquals(item_description, itemData.description());
     }
@@ -0,0 +1,143 @@
+package core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ArchetypeTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void sameComponentsShareArchetype() {
+        Entity e1 = new Entity();
+        Entity e2 = new Entity();
+        new DummyComponent(e1);
+        new DummyComponent(e2);
+        assertSame(e1.archetype(), e2.archetype());
+        assertTrue(e1.archetype().has(DummyComponent.class));
+    }
+
+    @Test
+    public void addAndRemoveComponentChangesArchetype() {
+        Entity entity = new Entity();
+        Archetype empty = entity.archetype();
+        new DummyComponent(entity);
+        assertNotSame(empty, entity.archetype());
+        entity.removeComponent(DummyComponent.class);
+        assertSame(empty, entity.archetype());
+        assertFalse(entity.isPresent(DummyComponent.class));
+    }
+
+    @Test
+    public void iterateColumns() {
+        TestSystem system = new TestSystem();
+        Entity e1 = new Entity();
+        Entity e2 = new Entity();
+        DummyComponent c1 = new DummyComponent(e1);
+        DummyComponent c2 = new DummyComponent(e2);
+        new OtherComponent(e2);
+        system.showEntity(e1);
+        system.showEntity(e2);
+
+        system.execute();
+
+        assertEquals(2, system.seen.size());
+        assertTrue(system.seen.contains(c1));
+        assertTrue(system.seen.contains(c2));
+    }
+
+    @Test
+    public void replacedComponentIsVisible() {
+        TestSystem system = new TestSystem();
+        Entity entity = new Entity();
+        new DummyComponent(entity);
+        system.showEntity(entity);
+        DummyComponent replacement = new DummyComponent(entity);
+
+        system.execute();
+
+        assertEquals(1, system.seen.size());
+        assertSame(replacement, system.seen.get(0));
+    }
+
+    @Test
+    public void moveIsDelayedUntilIterationEnds() {
+        TestSystem system = new TestSystem();
+        Entity e1 = new Entity();
+        Entity e2 = new Entity();
+        new DummyComponent(e1);
+        new DummyComponent(e2);
+        system.showEntity(e1);
+        system.showEntity(e2);
+        system.onComponent =
+                (component) -> component.entity().removeComponent(DummyComponent.class);
+
+        system.execute();
+        assertEquals(2, system.seen.size());
+
+        system.seen.clear();
+        system.execute();
+        assertEquals(0, system.seen.size());
+    }
+
+    @Test
+    public void removeAllEntitiesClearsArchetypes() {
+        TestSystem system = new TestSystem();
+        Entity entity = new Entity();
+        new DummyComponent(entity);
+        system.showEntity(entity);
+        Game.removeAllEntities();
+
+        system.execute();
+
+        assertEquals(0, system.seen.size());
+        assertTrue(entity.isPresent(DummyComponent.class));
+    }
+
+    private static class TestSystem extends System {
+        private final List<Component> seen = new ArrayList<>();
+        private Consumer<Component> onComponent = (c) -> {};
+
+        public TestSystem() {
+            super(DummyComponent.class);
+        }
+
+        @Override
+        public void execute() {
+            forEachArchetype(
+                    archetype -> {
+                        Component[] column = archetype.column(DummyComponent.class);
+                        for (int i = 0; i < archetype.size(); i++) {
+                            seen.add(column[i]);
+                            onComponent.accept(column[i]);
+                        }
+                    });
+        }
+    }
+
+    private static class DummyComponent extends Component {
+        public DummyComponent(Entity entity) {
+            super(entity);
+        }
+    }
+
+    private static class OtherComponent extends Component {
+        public OtherComponent(Entity entity) {
+            super(entity);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package core;
+
+import static org.junit.Assert.assertEquals;
+
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import core.components.CameraComponent;
+import core.components.PositionComponent;
+import core.systems.CameraSystem;
+import core.utils.Point;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+public class ChangeDetectionTest {
+
+    @BeforeClass
+    public static void initGDX() {
+        GdxNativesLoader.load(); // load natives for headless testing
+    }
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void changedSincePreviousRun() {
+        TestSystem system = new TestSystem();
+        Entity first = new Entity();
+        Entity second = new Entity();
+        ValueComponent firstValue = new ValueComponent(first);
+        new ValueComponent(second);
+        system.showEntity(first);
+        system.showEntity(second);
+
+        system.beginRun();
+        assertEquals(List.of(first, second), system.changed());
+        assertEquals(List.of(first, second), system.added());
+
+        system.beginRun();
+        assertEquals(List.of(), system.changed());
+
+        firstValue.value(3);
+        system.beginRun();
+        assertEquals(List.of(first), system.changed());
+        assertEquals(List.of(), system.added());
+
+        system.beginRun();
+        assertEquals(List.of(), system.changed());
+    }
+
+    @Test
+    public void addedComponent() {
+        TestSystem system = new TestSystem();
+        Entity entity = new Entity();
+        new ValueComponent(entity);
+        system.showEntity(entity);
+        system.beginRun();
+        system.beginRun();
+        assertEquals(List.of(), system.added());
+
+        new ValueComponent(entity);
+        system.beginRun();
+        assertEquals(List.of(entity), system.added());
+        assertEquals(List.of(entity), system.changed());
+    }
+
+    @Test
+    public void withoutSchedulerEverythingChanged() {
+        TestSystem system = new TestSystem();
+        Entity entity = new Entity();
+        new ValueComponent(entity);
+        system.showEntity(entity);
+        assertEquals(List.of(entity), system.changed());
+    }
+
+    @Test
+    public void cameraFollowsMovedEntity() {
+        CameraSystem cameraSystem = new CameraSystem();
+        Entity hero = new Entity();
+        PositionComponent position = new PositionComponent(hero, new Point(1, 2));
+        new CameraComponent(hero);
+        cameraSystem.showEntity(hero);
+        SystemScheduler scheduler = new SystemScheduler(new ForkJoinPool(1), Game.archetypes());
+
+        scheduler.execute(List.of(cameraSystem), false);
+        scheduler.execute(List.of(cameraSystem), false);
+        assertEquals(1, CameraSystem.camera().position.x, 0.001);
+        assertEquals(2, CameraSystem.camera().position.y, 0.001);
+
+        // the camera only refocuses on changed positions, so the setter has to mark the change
+        position.position(new Point(5, 7));
+        scheduler.execute(List.of(cameraSystem), false);
+        assertEquals(5, CameraSystem.camera().position.x, 0.001);
+        assertEquals(7, CameraSystem.camera().position.y, 0.001);
+    }
+
+    private static class TestSystem extends System {
+        public TestSystem() {
+            super(ValueComponent.class);
+        }
+
+        @Override
+        public void execute() {}
+
+        private List<Entity> changed() {
+            return entityStream(Changed.of(ValueComponent.class)).collect(Collectors.toList());
+        }
+
+        private List<Entity> added() {
+            return entityStream(Added.of(ValueComponent.class)).collect(Collectors.toList());
+        }
+    }
+
+    private static class ValueComponent extends Component {
+        private int value = 0;
+
+        public ValueComponent(Entity entity) {
+            super(entity);
+        }
+
+        public void value(int value) {
+            this.value = value;
+            markChanged();
+        }
+    }
+}
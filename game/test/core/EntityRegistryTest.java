@@ -0,0 +1,80 @@
+package core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Optional;
+
+public class EntityRegistryTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void registerAndRelease() {
+        EntityRegistry registry = new EntityRegistry();
+        Entity entity = new Entity("a", 1, 1);
+        EntityHandle handle = registry.register(entity);
+        assertSame(handle, entity.handle());
+        assertSame(handle, registry.register(entity));
+        assertSame(entity, registry.get(handle));
+        assertEquals(1, registry.size());
+
+        registry.release(entity);
+        assertNull(registry.get(handle));
+        assertFalse(entity.handle().isValid());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void reuseSlots() {
+        EntityRegistry registry = new EntityRegistry();
+        Entity first = new Entity("a", 1, 1);
+        EntityHandle old = registry.register(first);
+        registry.release(first);
+        Entity second = new Entity("b", 2, 2);
+        EntityHandle reused = registry.register(second);
+
+        assertEquals(old.index(), reused.index());
+        assertNotEquals(old.generation(), reused.generation());
+        assertNull(registry.get(old));
+        assertSame(second, registry.get(reused));
+        assertEquals(1, registry.capacity());
+    }
+
+    @Test
+    public void clear() {
+        EntityRegistry registry = new EntityRegistry();
+        for (int i = 0; i < 100; i++) registry.register(new Entity("e", i, i));
+        registry.clear();
+        assertEquals(0, registry.size());
+        for (int i = 0; i < 100; i++) registry.register(new Entity("e", i, i));
+        assertEquals(100, registry.capacity());
+    }
+
+    @Test
+    public void gameLookup() {
+        Entity entity = new Entity();
+        EntityHandle handle = entity.handle();
+        assertTrue(handle.isValid());
+        assertEquals(Optional.of(entity), Game.entity(handle));
+
+        Game.removeEntity(entity);
+        Game.updateSystems();
+        assertEquals(Optional.empty(), Game.entity(handle));
+        assertFalse(entity.handle().isValid());
+
+        Game.addEntity(entity);
+        assertEquals(Optional.of(entity), Game.entity(entity.handle()));
+    }
+}
@@ -0,0 +1,82 @@
+package core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.stream.Stream;
+
+public class EntityViewTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+    }
+
+    @Test
+    public void addKeepsSortedOrder() {
+        EntityView view = new EntityView();
+        Entity e1 = new Entity();
+        Entity e2 = new Entity();
+        Entity e3 = new Entity();
+        assertTrue(view.add(e3));
+        assertTrue(view.add(e1));
+        assertTrue(view.add(e2));
+        assertFalse(view.add(e2));
+
+        assertEquals(3, view.size());
+        assertSame(e1, view.get(0));
+        assertSame(e2, view.get(1));
+        assertSame(e3, view.get(2));
+    }
+
+    @Test
+    public void remove() {
+        EntityView view = new EntityView();
+        Entity e1 = new Entity();
+        Entity e2 = new Entity();
+        view.add(e1);
+        view.add(e2);
+
+        assertTrue(view.remove(e1));
+        assertFalse(view.remove(e1));
+        assertFalse(view.contains(e1));
+        assertTrue(view.contains(e2));
+        assertEquals(1, view.size());
+    }
+
+    @Test
+    public void removeWhileIterating() {
+        EntityView view = new EntityView();
+        for (int i = 0; i < 5; i++) view.add(new Entity());
+        final int[] visited = {0};
+
+        view.forEach(
+                entity -> {
+                    visited[0]++;
+                    view.remove(entity);
+                });
+
+        assertEquals(5, visited[0]);
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    public void streamIsSnapshot() {
+        EntityView view = new EntityView();
+        Entity e1 = new Entity();
+        view.add(e1);
+        Stream<Entity> stream = view.stream();
+
+        view.clear();
+        view.add(new Entity());
+
+        assertEquals(1, view.size());
+        assertFalse(view.contains(e1));
+        assertEquals(1, stream.filter(e -> e == e1).count());
+    }
+}
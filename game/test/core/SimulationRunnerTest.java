@@ -0,0 +1,87 @@
+package core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SimulationRunnerTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void runExecutesHeadless() {
+        TestSystem system = new TestSystem();
+        int[] callbacks = {0};
+        SimulationRunner runner = new SimulationRunner(128, () -> callbacks[0]++);
+
+        runner.run(3);
+
+        assertEquals(3, runner.ticks());
+        assertEquals(3, callbacks[0]);
+        assertEquals(3, system.headless);
+        assertEquals(0, system.rendered);
+        assertFalse(runner.isRunning());
+    }
+
+    @Test
+    public void tickUpdatesEntities() {
+        TestSystem system = new TestSystem();
+        Entity entity = new Entity();
+        new DummyComponent(entity);
+        assertFalse(system.entities().contains(entity));
+
+        new SimulationRunner().tick();
+
+        assertEquals(1, system.entities().size());
+        assertEquals(1, system.seen);
+    }
+
+    @Test
+    public void tickLastsOneTickOfGameTime() {
+        TestSystem system = new TestSystem();
+
+        new SimulationRunner(128).tick();
+
+        assertEquals(1f / 128, system.delta, 0.00001f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTickRate() {
+        new SimulationRunner(0);
+    }
+
+    private static class TestSystem extends System {
+        private int headless = 0;
+        private int rendered = 0;
+        private int seen = 0;
+        private float delta = 0;
+
+        public TestSystem() {
+            super(DummyComponent.class);
+        }
+
+        @Override
+        public void execute() {
+            rendered++;
+        }
+
+        @Override
+        public void executeHeadless() {
+            headless++;
+            seen += entities().size();
+            delta = Game.frameDelta();
+        }
+    }
+
+    private static class DummyComponent extends Component {
+        public DummyComponent(Entity entity) {
+            super(entity);
+        }
+    }
+}
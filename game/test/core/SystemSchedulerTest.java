@@ -0,0 +1,169 @@
+package core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import contrib.systems.AISystem;
+import contrib.systems.CollisionSystem;
+import contrib.systems.HealthSystem;
+import contrib.systems.MultiplayerSynchronizationSystem;
+import contrib.systems.ProjectileSystem;
+import contrib.systems.XPSystem;
+
+import core.systems.CameraSystem;
+import core.systems.HudSystem;
+import core.systems.LevelSystem;
+import core.systems.PlayerSystem;
+import core.systems.VelocitySystem;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SystemSchedulerTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void conflicts() {
+        System readA = new TestSystem(Set.of(ComponentA.class), Set.of());
+        System writeA = new TestSystem(Set.of(), Set.of(ComponentA.class));
+        System writeB = new TestSystem(Set.of(), Set.of(ComponentB.class));
+        System exclusive = new TestSystem();
+
+        assertFalse(readA.conflictsWith(readA));
+        assertTrue(readA.conflictsWith(writeA));
+        assertTrue(writeA.conflictsWith(readA));
+        assertFalse(writeA.conflictsWith(writeB));
+        assertTrue(exclusive.conflictsWith(readA));
+        assertFalse(exclusive.declaresAccess());
+    }
+
+    @Test
+    public void planStages() {
+        System first = new TestSystem(Set.of(), Set.of(ComponentA.class));
+        System second = new TestSystem(Set.of(), Set.of(ComponentB.class));
+        System third = new TestSystem(Set.of(ComponentA.class), Set.of());
+        System barrier = new TestSystem();
+        System last = new TestSystem(Set.of(), Set.of(ComponentB.class));
+
+        List<System[]> stages =
+                SystemScheduler.plan(List.of(first, second, third, barrier, last));
+
+        assertEquals(4, stages.size());
+        assertArrayEquals(new System[] {first, second}, stages.get(0));
+        assertArrayEquals(new System[] {third}, stages.get(1));
+        assertArrayEquals(new System[] {barrier}, stages.get(2));
+        assertArrayEquals(new System[] {last}, stages.get(3));
+    }
+
+    @Test
+    public void executeSkipsPausedSystems() {
+        TestSystem running = new TestSystem(Set.of(), Set.of(ComponentA.class));
+        TestSystem paused = new TestSystem(Set.of(), Set.of(ComponentB.class));
+        TestSystem exclusive = new TestSystem();
+        paused.stop();
+        SystemScheduler scheduler = new SystemScheduler(new ForkJoinPool(2), Game.archetypes());
+
+        scheduler.execute(List.of(running, paused, exclusive), false);
+
+        assertEquals(1, running.executions.get());
+        assertEquals(0, paused.executions.get());
+        assertEquals(1, exclusive.executions.get());
+    }
+
+    @Test
+    public void planGameSystems() {
+        GdxNativesLoader.load(); // load natives for the camera
+        // the systems of Dungeon#create and Game#createSystems in the same order, except for the
+        // DrawSystem, which needs a graphics context and is always executed alone
+        new AISystem();
+        new CollisionSystem();
+        System health = new HealthSystem();
+        System xp = new XPSystem();
+        System projectile = new ProjectileSystem();
+        new MultiplayerSynchronizationSystem();
+        new CameraSystem();
+        new LevelSystem(null, null, () -> {});
+        new VelocitySystem();
+        new PlayerSystem();
+        new HudSystem();
+
+        List<System[]> stages = SystemScheduler.plan(Game.systems().values());
+
+        assertArrayEquals(new System[] {health, xp, projectile}, stages.get(2));
+        assertEquals(1, stages.stream().filter(stage -> stage.length > 1).count());
+    }
+
+    @Test
+    public void deferRunsAfterStage() {
+        TestSystem first = new TestSystem(Set.of(), Set.of(ComponentA.class));
+        TestSystem second = new TestSystem(Set.of(), Set.of(ComponentB.class));
+        AtomicInteger secondExecutions = new AtomicInteger(-1);
+        AtomicBoolean onCallingThread = new AtomicBoolean(false);
+        Thread caller = Thread.currentThread();
+        first.deferred =
+                () -> {
+                    secondExecutions.set(second.executions.get());
+                    onCallingThread.set(Thread.currentThread() == caller);
+                };
+        SystemScheduler scheduler = new SystemScheduler(new ForkJoinPool(2), Game.archetypes());
+
+        scheduler.execute(List.of(first, second), false);
+
+        assertEquals(1, secondExecutions.get());
+        assertTrue(onCallingThread.get());
+    }
+
+    private static class TestSystem extends System {
+        private final AtomicInteger executions = new AtomicInteger();
+        /* Action passed to defer on each execution, if not null. */
+        private Runnable deferred = null;
+
+        public TestSystem() {
+            super(KeyComponent.class);
+        }
+
+        public TestSystem(
+                Set<Class<? extends Component>> reads, Set<Class<? extends Component>> writes) {
+            super(reads, writes, KeyComponent.class);
+        }
+
+        @Override
+        public void execute() {
+            executions.incrementAndGet();
+            if (deferred != null) defer(deferred);
+        }
+    }
+
+    private static class KeyComponent extends Component {
+        public KeyComponent(Entity entity) {
+            super(entity);
+        }
+    }
+
+    private static class ComponentA extends Component {
+        public ComponentA(Entity entity) {
+            super(entity);
+        }
+    }
+
+    private static class ComponentB extends Component {
+        public ComponentB(Entity entity) {
+            super(entity);
+        }
+    }
+}
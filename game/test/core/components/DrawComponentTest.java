@@ -3,6 +3,7 @@ package core.components;
 import static org.junit.Assert.*;
 
 import core.Entity;
+import core.utils.components.draw.Animation;
 import core.utils.components.draw.CoreAnimations;
 
 import org.junit.Before;
@@ -66,4 +67,38 @@ public class DrawComponentTest {
         assertTrue(animationComponent.hasAnimation(CoreAnimations.RUN_LEFT));
         assertFalse(animationComponent.hasAnimation(() -> "DUMMY"));
     }
+
+    @Test
+    public void advanceAndResetOnAnimationChange() {
+        animationComponent.advance(0.5f);
+        assertEquals(0.5f, animationComponent.playbackTime(), 0.0001f);
+        // the same animation keeps playing
+        animationComponent.currentAnimation(CoreAnimations.IDLE_LEFT);
+        assertEquals(0.5f, animationComponent.playbackTime(), 0.0001f);
+        // a new animation starts at its first frame
+        animationComponent.currentAnimation(CoreAnimations.IDLE_RIGHT);
+        assertEquals(0f, animationComponent.playbackTime(), 0.0001f);
+    }
+
+    @Test
+    public void advanceWrapsLoopingAnimation() {
+        float duration =
+                animationComponent.getAnimation(CoreAnimations.IDLE_LEFT).orElseThrow().duration();
+        animationComponent.advance(duration * 2.5f);
+        assertEquals(duration * 0.5f, animationComponent.playbackTime(), 0.0001f);
+    }
+
+    @Test
+    public void animationsAreShared() throws IOException {
+        DrawComponent other = new DrawComponent(new Entity(), animationPath);
+        assertSame(
+                animationComponent.getAnimation(CoreAnimations.RUN_LEFT).orElseThrow(),
+                other.getAnimation(CoreAnimations.RUN_LEFT).orElseThrow());
+
+        // changing the animation of one entity does not change the other
+        Animation runLeft = other.getAnimation(CoreAnimations.RUN_LEFT).orElseThrow();
+        animationComponent.animation(CoreAnimations.RUN_LEFT, runLeft.withLoop(false));
+        assertFalse(animationComponent.getAnimation(CoreAnimations.RUN_LEFT).get().isLooping());
+        assertTrue(other.getAnimation(CoreAnimations.RUN_LEFT).get().isLooping());
+    }
 }
@@ -1,11 +1,13 @@
 package core.level;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import contrib.entities.EntityFactory;
 
@@ -21,8 +23,8 @@ import core.level.utils.LevelSize;
 import core.systems.LevelSystem;
 import core.utils.IVoidFunction;
 import core.utils.Point;
+import core.utils.components.draw.DrawLayer;
 import core.utils.components.draw.Painter;
-import core.utils.components.draw.PainterConfig;
 import core.utils.components.draw.TextureMap;
 
 import org.junit.After;
@@ -35,6 +37,8 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({TextureMap.class})
@@ -49,7 +53,7 @@ public class TileLevelAPITest {
     @Before
     public void setup() {
 
-        Texture texture = Mockito.mock(Texture.class);
+        TextureRegion texture = Mockito.mock(TextureRegion.class);
         TextureMap textureMap = Mockito.mock(TextureMap.class);
         PowerMockito.mockStatic(TextureMap.class);
         when(TextureMap.instance()).thenReturn(textureMap);
@@ -71,9 +75,9 @@ public class TileLevelAPITest {
 
     @Test
     public void test_loadLevel() {
-        when(generator.level(Mockito.any(), Mockito.any())).thenReturn(level);
+        when(generator.level(Mockito.any(), Mockito.any(), anyLong())).thenReturn(level);
         api.loadLevel(LevelSize.MEDIUM, DesignLabel.DEFAULT);
-        verify(generator).level(eq(DesignLabel.DEFAULT), eq(LevelSize.MEDIUM));
+        verify(generator).level(eq(DesignLabel.DEFAULT), eq(LevelSize.MEDIUM), anyLong());
         verify(onLevelLoader).execute();
 
         Mockito.verifyNoMoreInteractions(generator);
@@ -84,9 +88,9 @@ public class TileLevelAPITest {
 
     @Test
     public void test_loadLevel_noParameter() {
-        when(generator.level(Mockito.any(), Mockito.any())).thenReturn(level);
+        when(generator.level(Mockito.any(), Mockito.any(), anyLong())).thenReturn(level);
         api.loadLevel();
-        verify(generator).level(Mockito.any(), Mockito.any());
+        verify(generator).level(Mockito.any(), Mockito.any(), anyLong());
         Mockito.verifyNoMoreInteractions(generator);
         verify(onLevelLoader).execute();
         Mockito.verifyNoMoreInteractions(onLevelLoader);
@@ -95,9 +99,9 @@ public class TileLevelAPITest {
 
     @Test
     public void test_loadLevel_withDesign_noSize() {
-        when(generator.level(eq(DesignLabel.DEFAULT), any())).thenReturn(level);
+        when(generator.level(eq(DesignLabel.DEFAULT), any(), anyLong())).thenReturn(level);
         api.loadLevel(DesignLabel.DEFAULT);
-        verify(generator).level(eq(DesignLabel.DEFAULT), any());
+        verify(generator).level(eq(DesignLabel.DEFAULT), any(), anyLong());
         Mockito.verifyNoMoreInteractions(generator);
         verify(onLevelLoader).execute();
         Mockito.verifyNoMoreInteractions(onLevelLoader);
@@ -106,9 +110,9 @@ public class TileLevelAPITest {
 
     @Test
     public void test_loadLevel_noDesign_WithSize() {
-        when(generator.level(any(), eq(LevelSize.SMALL))).thenReturn(level);
+        when(generator.level(any(), eq(LevelSize.SMALL), anyLong())).thenReturn(level);
         api.loadLevel(LevelSize.SMALL);
-        verify(generator).level(any(), eq(LevelSize.SMALL));
+        verify(generator).level(any(), eq(LevelSize.SMALL), anyLong());
         Mockito.verifyNoMoreInteractions(generator);
         verify(onLevelLoader).execute();
         Mockito.verifyNoMoreInteractions(onLevelLoader);
@@ -155,39 +159,57 @@ public class TileLevelAPITest {
         verify(level).layout();
         verifyNoMoreInteractions(level);
 
-        verify(layout[0][0]).levelElement();
-        verify(layout[0][0]).texturePath();
-        verify(layout[0][0]).position();
-        // for some reason mockito.verify can't compare the points of the tile correctly
-        verify(painter, times(3))
-                .draw(any(Point.class), any(String.class), any(PainterConfig.class));
-        verifyNoMoreInteractions(layout[0][0]);
+        // walls and floors are drawn as one vertex batch each, 20 floats per tile
+        verify(painter).draw(any(), any(float[].class), eq(40), eq(DrawLayer.WALL));
+        verify(painter).draw(any(), any(float[].class), eq(20), eq(DrawLayer.FLOOR));
+        verifyNoMoreInteractions(painter);
 
-        verify(layout[0][1]).levelElement();
-        verify(layout[0][1]).texturePath();
+        verify(layout[0][0]).position();
         verify(layout[0][1]).position();
-        // for some reason mockito.verify can't compare the points of the tile correctly
-        verify(painter, times(3))
-                .draw(any(Point.class), any(String.class), any(PainterConfig.class));
-        verifyNoMoreInteractions(layout[0][1]);
-        verify(layout[1][0]).levelElement();
-        verify(layout[1][0]).texturePath();
         verify(layout[1][0]).position();
-        // for some reason mockito.verify can't compare the points of the tile correctly
-        verify(painter, times(3))
-                .draw(any(Point.class), any(String.class), any(PainterConfig.class));
-        verifyNoMoreInteractions(layout[1][0]);
-
         // do not draw skip tiles
-        verify(layout[1][1]).levelElement();
-        verifyNoMoreInteractions(layout[1][1]);
-        verifyNoMoreInteractions(painter);
+        verify(layout[1][1], never()).position();
+    }
+
+    @Test
+    public void test_execute_draw_rebuildChangedTiles() {
+        Tile[][] layout = new Tile[1][2];
+        layout[0][0] = floorTile(new Coordinate(0, 0));
+        layout[0][1] = floorTile(new Coordinate(1, 0));
+        when(level.layout()).thenReturn(layout);
+
+        api.loadLevel(level);
+        api.execute();
+        api.execute();
+        // the vertices are built once
+        verify(layout[0][0]).levelElement();
+        verify(painter, times(2)).draw(any(), any(float[].class), eq(40), eq(DrawLayer.FLOOR));
+
+        Tile wall = Mockito.mock(Tile.class);
+        when(wall.levelElement()).thenReturn(LevelElement.WALL);
+        when(wall.texturePath()).thenReturn("wall");
+        when(wall.position()).thenReturn(new Coordinate(0, 0).toPoint());
+        layout[0][0] = wall;
+        api.execute();
+
+        verify(wall).levelElement();
+        verify(layout[0][1], times(2)).levelElement();
+        verify(painter).draw(any(), any(float[].class), eq(20), eq(DrawLayer.WALL));
+        verify(painter).draw(any(), any(float[].class), eq(20), eq(DrawLayer.FLOOR));
+    }
+
+    private Tile floorTile(Coordinate coordinate) {
+        Tile tile = Mockito.mock(Tile.class);
+        when(tile.levelElement()).thenReturn(LevelElement.FLOOR);
+        when(tile.texturePath()).thenReturn("floor");
+        when(tile.position()).thenReturn(coordinate.toPoint());
+        return tile;
     }
 
     @Test
     public void test_execute_noLevel() {
         assertNull(LevelSystem.level());
-        when(generator.level(any(), Mockito.any())).thenReturn(level);
+        when(generator.level(any(), Mockito.any(), anyLong())).thenReturn(level);
         Tile[][] layout = new Tile[0][0];
         when(level.layout()).thenReturn(layout);
         // should load a new level if currentLevel==null
@@ -197,7 +219,7 @@ public class TileLevelAPITest {
 
     @Test
     public void test_execute_heroOnEndTile() throws IOException {
-        when(generator.level(any(), Mockito.any())).thenReturn(level);
+        when(generator.level(any(), Mockito.any(), anyLong())).thenReturn(level);
         api.loadLevel();
         Entity hero = EntityFactory.newHero();
         api.showEntity(hero);
@@ -217,6 +239,105 @@ public class TileLevelAPITest {
         verify(onLevelLoader, times(2)).execute();
     }
 
+    @Test
+    public void test_loadLevelAsync() {
+        when(generator.level(eq(DesignLabel.DEFAULT), eq(LevelSize.SMALL), anyLong()))
+                .thenReturn(level);
+        api.loadLevelAsync(LevelSize.SMALL, DesignLabel.DEFAULT).join();
+        assertTrue(api.isLoading());
+        verifyNoInteractions(onLevelLoader);
+        // the level is set on the next execution of the system
+        api.executeHeadless();
+        assertFalse(api.isLoading());
+        verify(onLevelLoader).execute();
+        assertEquals(level, LevelSystem.level());
+    }
+
+    @Test
+    public void test_loadLevelAsync_generatorThrows() {
+        when(generator.level(eq(DesignLabel.DEFAULT), eq(LevelSize.SMALL), anyLong()))
+                .thenThrow(new IllegalStateException("broken generator"))
+                .thenReturn(level);
+        api.loadLevelAsync(LevelSize.SMALL, DesignLabel.DEFAULT).handle((l, e) -> e).join();
+        // the failed level is generated again on the game thread
+        api.executeHeadless();
+        assertFalse(api.isLoading());
+        verify(onLevelLoader).execute();
+        assertEquals(level, LevelSystem.level());
+        // the next frames do not see the failed generation again
+        api.executeHeadless();
+        verify(onLevelLoader).execute();
+        // the level was generated again with the seed of the failed generation
+        long seeds =
+                Mockito.mockingDetails(generator).getInvocations().stream()
+                        .map(invocation -> invocation.getArguments()[2])
+                        .distinct()
+                        .count();
+        assertEquals(1, seeds);
+    }
+
+    @Test
+    public void test_prefetch_generatorThrows() {
+        when(generator.level(eq(DesignLabel.DEFAULT), eq(LevelSize.SMALL), anyLong()))
+                .thenReturn(level)
+                .thenThrow(new IllegalStateException("broken generator"))
+                .thenReturn(level);
+        api.prefetch(1, LevelSize.SMALL, DesignLabel.DEFAULT);
+        api.loadLevel(LevelSize.SMALL, DesignLabel.DEFAULT);
+        // the failed prefetched level is generated again
+        api.loadLevel(LevelSize.SMALL, DesignLabel.DEFAULT);
+        verify(onLevelLoader, times(2)).execute();
+        assertEquals(level, LevelSystem.level());
+    }
+
+    @Test
+    public void test_seed_neighbouringSeedsUnrelated() {
+        when(generator.level(any(), any(), anyLong())).thenReturn(level);
+        api.seed(42);
+        api.loadLevel(LevelSize.SMALL);
+        api.loadLevel(LevelSize.SMALL);
+        api.seed(43);
+        api.loadLevel(LevelSize.SMALL);
+        api.loadLevel(LevelSize.SMALL);
+        long distinctSeeds =
+                Mockito.mockingDetails(generator).getInvocations().stream()
+                        .map(invocation -> invocation.getArguments()[2])
+                        .distinct()
+                        .count();
+        assertEquals(4, distinctSeeds);
+    }
+
+    @Test
+    public void test_prefetch() {
+        when(generator.level(eq(DesignLabel.DEFAULT), any(), anyLong())).thenReturn(level);
+        api.prefetch(1, LevelSize.SMALL, DesignLabel.DEFAULT);
+        api.loadLevel(LevelSize.SMALL, DesignLabel.DEFAULT);
+        // the next level is generated in the background after the load
+        api.loadLevelAsync(LevelSize.SMALL, DesignLabel.DEFAULT).join();
+        verify(generator, times(2))
+                .level(eq(DesignLabel.DEFAULT), eq(LevelSize.SMALL), anyLong());
+        // a level with other parameters is generated again
+        api.loadLevel(LevelSize.MEDIUM, DesignLabel.DEFAULT);
+        verify(generator).level(eq(DesignLabel.DEFAULT), eq(LevelSize.MEDIUM), anyLong());
+    }
+
+    @Test
+    public void test_loadLevel_sameSeedSameLevels() {
+        when(generator.level(any(), any(), anyLong())).thenReturn(level);
+        api.seed(42);
+        api.loadLevel(LevelSize.SMALL);
+        api.loadLevel(LevelSize.SMALL);
+        api.seed(42);
+        api.loadLevel(LevelSize.SMALL);
+        api.loadLevel(LevelSize.SMALL);
+        // each design and seed was requested twice, once for each run of the seed sequence
+        Mockito.mockingDetails(generator).getInvocations().stream()
+                .map(invocation -> Arrays.asList(invocation.getArguments()))
+                .collect(Collectors.groupingBy(args -> args, Collectors.counting()))
+                .values()
+                .forEach(count -> assertEquals(2L, (long) count));
+    }
+
     @Test
     public void test_setLevel() {
         api.loadLevel(level);
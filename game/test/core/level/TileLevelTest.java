@@ -2,8 +2,12 @@ package core.level;
 
 import static org.junit.Assert.*;
 
+import com.badlogic.gdx.ai.pfa.Connection;
 import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.Array;
 
+import core.level.elements.astar.FlowField;
+import core.level.elements.astar.PathfindingMode;
 import core.level.elements.astar.TileConnection;
 import core.level.elements.tile.ExitTile;
 import core.level.elements.tile.FloorTile;
@@ -12,6 +16,7 @@ import core.level.elements.tile.WallTile;
 import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
+import core.level.utils.TileTextureFactory;
 import core.utils.Point;
 
 import org.junit.Test;
@@ -368,6 +373,171 @@ public class TileLevelTest {
         assertTrue(actualErrorMsg.contains(expectedErrorMsg));
     }
 
+    @Test
+    public void test_findPath_acrossSectors() {
+        // a wall through the middle of the level with a single gap at the bottom
+        var levelElement = new LevelElement[40][40];
+        for (int y = 0; y < 40; y++) {
+            Arrays.fill(levelElement[y], LevelElement.FLOOR);
+            if (y > 0) levelElement[y][20] = LevelElement.WALL;
+        }
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        var start = level.tileAt(new Coordinate(0, 39));
+        var end = level.tileAt(new Coordinate(39, 39));
+
+        GraphPath<Tile> path = level.findPath(start, end);
+        assertEquals(start, path.get(0));
+        assertEquals(end, path.get(path.getCount() - 1));
+        assertTrue(path.getCount() - 1 >= 39 + 2 * 39);
+        for (int i = 1; i < path.getCount(); i++) {
+            Coordinate from = path.get(i - 1).coordinate();
+            Coordinate to = path.get(i).coordinate();
+            assertTrue(path.get(i).isAccessible());
+            assertEquals(1, Math.abs(from.x - to.x) + Math.abs(from.y - to.y));
+        }
+    }
+
+    @Test
+    public void test_findPath_afterTileChanged() {
+        var levelElement = new LevelElement[40][40];
+        for (int y = 0; y < 40; y++) {
+            Arrays.fill(levelElement[y], LevelElement.FLOOR);
+            levelElement[y][20] = LevelElement.WALL;
+        }
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        var start = level.tileAt(new Coordinate(0, 10));
+        var end = level.tileAt(new Coordinate(39, 10));
+        assertEquals(0, level.findPath(start, end).getCount());
+
+        level.changeTileElementType(level.tileAt(new Coordinate(20, 10)), LevelElement.FLOOR);
+        Tile gap = level.tileAt(new Coordinate(20, 10));
+        GraphPath<Tile> path = level.findPath(start, end);
+        assertEquals(end, path.get(path.getCount() - 1));
+        boolean throughGap = false;
+        for (Tile tile : path) throughGap |= tile == gap;
+        assertTrue(throughGap);
+    }
+
+    @Test
+    public void test_findPath_jumpPoint() {
+        // a wall through the middle of the level with a single gap at the bottom
+        var levelElement = new LevelElement[40][40];
+        for (int y = 0; y < 40; y++) {
+            Arrays.fill(levelElement[y], LevelElement.FLOOR);
+            if (y > 0) levelElement[y][20] = LevelElement.WALL;
+        }
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        level.pathfindingMode(PathfindingMode.JUMP_POINT);
+        var start = level.tileAt(new Coordinate(0, 39));
+        var end = level.tileAt(new Coordinate(39, 39));
+
+        // the shortest path leads down to the gap and up again
+        GraphPath<Tile> path = level.findPath(start, end);
+        assertEquals(39 + 2 * 39 + 1, path.getCount());
+        assertEquals(start, path.get(0));
+        assertEquals(end, path.get(path.getCount() - 1));
+        for (int i = 1; i < path.getCount(); i++) {
+            Coordinate from = path.get(i - 1).coordinate();
+            Coordinate to = path.get(i).coordinate();
+            assertTrue(path.get(i).isAccessible());
+            assertEquals(1, Math.abs(from.x - to.x) + Math.abs(from.y - to.y));
+        }
+    }
+
+    @Test
+    public void test_findPath_allModesFindShortestPathInRoom() {
+        var levelElement = new LevelElement[10][10];
+        for (int y = 0; y < 10; y++) Arrays.fill(levelElement[y], LevelElement.FLOOR);
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        var start = level.tileAt(new Coordinate(1, 2));
+        var end = level.tileAt(new Coordinate(8, 7));
+        for (PathfindingMode mode : PathfindingMode.values()) {
+            level.pathfindingMode(mode);
+            assertEquals(mode.name(), 7 + 5 + 1, level.findPath(start, end).getCount());
+        }
+    }
+
+    @Test
+    public void test_findPath_cachedUntilLevelChanges() {
+        var levelElement = new LevelElement[20][20];
+        for (int y = 0; y < 20; y++) Arrays.fill(levelElement[y], LevelElement.FLOOR);
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        var start = level.tileAt(new Coordinate(0, 0));
+        var end = level.tileAt(new Coordinate(19, 19));
+
+        GraphPath<Tile> path = level.findPath(start, end);
+        assertSame(path, level.findPath(start, end));
+        assertThrows(UnsupportedOperationException.class, () -> path.add(start));
+
+        int version = level.version();
+        level.changeTileElementType(level.tileAt(new Coordinate(5, 5)), LevelElement.WALL);
+        assertTrue(level.version() > version);
+        assertNotSame(path, level.findPath(start, end));
+    }
+
+    @Test
+    public void test_flowFieldTo() {
+        /* How the level layout looks: (T=target, W=Wall, F=Floor) TWF FWF FFF */
+        var levelElement = new LevelElement[3][3];
+        for (int y = 0; y < 3; y++) Arrays.fill(levelElement[y], LevelElement.FLOOR);
+        levelElement[0][1] = LevelElement.WALL;
+        levelElement[1][1] = LevelElement.WALL;
+        var level = new TileLevel(levelElement, DesignLabel.randomDesign());
+        Tile target = level.tileAt(new Coordinate(0, 0));
+
+        FlowField field = level.flowFieldTo(target);
+        assertSame(field, level.flowFieldTo(target));
+        assertEquals(0, field.distance(target));
+        assertEquals(6, field.distance(level.tileAt(new Coordinate(2, 0))));
+        assertEquals(FlowField.UNREACHABLE, field.distance(level.tileAt(new Coordinate(1, 0))));
+        Tile corner = level.tileAt(new Coordinate(2, 0));
+        assertEquals(level.tileAt(new Coordinate(2, 1)), field.next(corner));
+        Tile top = level.tileAt(new Coordinate(0, 2));
+        assertEquals(level.tileAt(new Coordinate(0, 1)), field.next(top));
+        assertNull(field.next(target));
+
+        level.changeTileElementType(level.tileAt(new Coordinate(1, 0)), LevelElement.FLOOR);
+        FlowField changed = level.flowFieldTo(target);
+        assertNotSame(field, changed);
+        assertEquals(2, changed.distance(level.tileAt(new Coordinate(2, 0))));
+    }
+
+    @Test
+    public void test_grid() {
+        TileLevel level =
+                new TileLevel(
+                        new LevelElement[][] {
+                            {LevelElement.FLOOR, LevelElement.WALL, LevelElement.EXIT}
+                        },
+                        DesignLabel.DEFAULT);
+        TileGrid grid = level.grid();
+        assertEquals(3, grid.width());
+        assertEquals(1, grid.height());
+        assertEquals(LevelElement.WALL, grid.element(1, 0));
+        assertFalse(grid.isAccessible(1, 0));
+        assertTrue(grid.isAccessible(2, 0));
+        assertFalse(grid.isAccessible(3, 0));
+        assertNull(grid.element(3, 0));
+        assertEquals(0, level.layout()[0][0].connections().size);
+
+        level.changeTileElementType(level.layout()[0][1], LevelElement.FLOOR);
+        Tile changed = level.layout()[0][1];
+        assertSame(changed, grid.tile(1, 0));
+        assertEquals(LevelElement.FLOOR, grid.element(1, 0));
+        assertTrue(grid.isAccessible(1, 0));
+        assertEquals(2, changed.connections().size);
+        assertSame(changed, level.layout()[0][0].connections().first().getToNode());
+
+        // the connections are cached until the element of the cell or a neighbour changes
+        Array<Connection<Tile>> connections = changed.connections();
+        assertSame(connections, changed.connections());
+        changed.texturePath(level.layout()[0][2].texturePath());
+        assertSame(connections, changed.connections());
+        level.changeTileElementType(level.layout()[0][0], LevelElement.WALL);
+        assertEquals(1, changed.connections().size);
+        assertSame(level.layout()[0][2], changed.connections().first().getToNode());
+    }
+
     @Test
     public void test_getTileAt() {
         var levelLayout = new LevelElement[3][3];
@@ -493,7 +663,7 @@ public class TileLevelTest {
         level.addTile(tile);
         assertTrue(
                 "tile needs to be added to specific Tile list", level.floorTiles().contains(tile));
-        assertEquals(level.getNodeCount() - 1, tile.index());
+        assertEquals("the index of the removed tile is reused", 1, tile.index());
         assertTrue(
                 "All neighbouring tiles need to be informed about the new tile",
                 level.floorTiles().stream()
@@ -531,7 +701,7 @@ public class TileLevelTest {
         level.addTile(tile);
         assertTrue(
                 "tile needs to be added to specific Tile list", level.exitTiles().contains(tile));
-        assertEquals(level.getNodeCount() - 1, tile.index());
+        assertEquals("the index of the removed tile is reused", 1, tile.index());
         assertTrue(
                 "All neighbouring tiles need to be informed about the new tile",
                 level.floorTiles().stream()
@@ -569,7 +739,7 @@ public class TileLevelTest {
         level.addTile(tile);
         assertTrue(
                 "tile needs to be added to specific Tile list", level.doorTiles().contains(tile));
-        assertEquals(level.getNodeCount() - 1, tile.index());
+        assertEquals("the index of the removed tile is reused", 1, tile.index());
         assertTrue(
                 "All neighbouring tiles need to be informed about the new tile",
                 level.floorTiles().stream()
@@ -730,15 +900,64 @@ public class TileLevelTest {
                     new LevelElement[] {LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR}
                 };
         TileLevel level = new TileLevel(layout, DesignLabel.DEFAULT);
+        int middle = level.tileAt(new Coordinate(1, 0)).index();
+        int right = level.tileAt(new Coordinate(2, 0)).index();
         level.changeTileElementType(level.tileAt(new Coordinate(0, 0)), LevelElement.WALL);
-        assertEquals(2, level.getNodeCount());
-        AtomicInteger counter = new AtomicInteger();
-        Arrays.stream(level.layout())
-                .flatMap(Arrays::stream)
-                .sorted(Comparator.comparingInt(Tile::index))
-                .filter(Tile::isAccessible)
-                .forEachOrdered(x -> assertEquals(counter.getAndIncrement(), x.index()));
-        assertEquals(2, counter.get());
+        assertEquals("the index of the removed tile is kept free", 3, level.getNodeCount());
+        assertEquals(middle, level.tileAt(new Coordinate(1, 0)).index());
+        assertEquals(right, level.tileAt(new Coordinate(2, 0)).index());
+        assertEquals(
+                2,
+                Arrays.stream(level.layout())
+                        .flatMap(Arrays::stream)
+                        .filter(Tile::isAccessible)
+                        .map(Tile::index)
+                        .distinct()
+                        .count());
+    }
+
+    @Test
+    public void test_changeTileElementType_neighbourTextures() {
+        LevelElement w = LevelElement.WALL;
+        LevelElement f = LevelElement.FLOOR;
+        LevelElement[][] layout =
+                new LevelElement[][] {{w, w, w, w, w}, {w, f, f, f, w}, {w, w, w, w, w}};
+        TileLevel level = new TileLevel(layout, DesignLabel.DEFAULT);
+        Tile outside = level.tileAt(new Coordinate(4, 1));
+        String outsideTexture = outside.texturePath();
+        level.changeTileElementType(level.tileAt(new Coordinate(1, 1)), LevelElement.WALL);
+        for (int y = 0; y <= 2; y++) {
+            for (int x = 0; x <= 2; x++) {
+                Tile tile = level.tileAt(new Coordinate(x, y));
+                assertEquals(
+                        TileTextureFactory.findTexturePath(tile, level.layout()),
+                        tile.texturePath());
+            }
+        }
+        assertSame(outside, level.tileAt(new Coordinate(4, 1)));
+        assertSame(outsideTexture, outside.texturePath());
+    }
+
+    @Test
+    public void test_editTiles() {
+        LevelElement[][] layout =
+                new LevelElement[][] {
+                    {LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR}
+                };
+        TileLevel level = new TileLevel(layout, DesignLabel.DEFAULT);
+        int version = level.version();
+        level.editTiles(
+                () -> {
+                    level.changeTileElementType(
+                            level.tileAt(new Coordinate(1, 0)), LevelElement.WALL);
+                    level.changeTileElementType(
+                            level.tileAt(new Coordinate(2, 0)), LevelElement.HOLE);
+                });
+        assertEquals("an edit changes the version once", version + 1, level.version());
+        assertEquals(LevelElement.WALL, level.tileAt(new Coordinate(1, 0)).levelElement());
+        assertEquals(LevelElement.HOLE, level.tileAt(new Coordinate(2, 0)).levelElement());
+        assertFalse(level.grid().isAccessible(2, 0));
+        assertEquals(0, level.tileAt(new Coordinate(0, 0)).connections().size);
     }
 
     @Test
@@ -1,9 +1,13 @@
 package core.level.generator;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import core.level.elements.ILevel;
+import core.level.generator.postGeneration.WallGenerator;
 import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelSize;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -28,4 +32,13 @@ public class RandomWalkGeneratorTest {
         // can be beaten.
         assert ((level.findPath(level.startTile(), level.endTile()).getCount() > 0));
     }
+
+    @Test
+    public void test_level_sameSeedSameLevel() {
+        IGenerator wallGenerator = new WallGenerator(generator);
+        ILevel first = wallGenerator.level(DesignLabel.DEFAULT, LevelSize.SMALL, 42);
+        ILevel second = wallGenerator.level(DesignLabel.DEFAULT, LevelSize.SMALL, 42);
+        assertEquals(first.printLevel(), second.printLevel());
+        assertEquals(first.startTile().coordinate(), second.startTile().coordinate());
+    }
 }
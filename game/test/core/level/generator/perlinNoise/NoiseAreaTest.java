@@ -0,0 +1,69 @@
+package core.level.generator.perlinNoise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NoiseAreaTest {
+
+    /* 1 is in the bounds, the U shape is only joined in its last column. */
+    private static final double[][] NOISE = {
+        {1, 0, 1, 0},
+        {1, 0, 1, 0},
+        {1, 1, 1, 0},
+        {0, 0, 0, 1}
+    };
+
+    private static NoiseAreaValues values(double[][] noise) {
+        return new NoiseAreaValues(0.5, 1.5, noise, false);
+    }
+
+    @Test
+    public void test_areas() {
+        NoiseArea[] areas = NoiseArea.areas(values(NOISE));
+        assertEquals(2, areas.length);
+        assertEquals(7, areas[0].size());
+        assertTrue(areas[0].contains(0, 0));
+        assertTrue(areas[0].contains(0, 2));
+        assertFalse(areas[0].contains(3, 3));
+        assertEquals(1, areas[1].size());
+        assertTrue(areas[1].contains(3, 3));
+        assertFalse(areas[1].contains(0, 0));
+    }
+
+    @Test
+    public void test_areas_outerBound() {
+        NoiseArea[] areas = NoiseArea.areas(new NoiseAreaValues(0.5, 1.5, NOISE, true));
+        assertEquals(3, areas.length);
+        assertEquals(2, areas[0].size());
+        assertEquals(3, areas[1].size());
+        assertEquals(3, areas[2].size());
+        assertTrue(areas[2].contains(3, 0));
+    }
+
+    @Test
+    public void test_biggestArea() {
+        NoiseArea area = NoiseArea.biggestArea(values(NOISE));
+        assertEquals(7, area.size());
+        assertEquals(4, area.width());
+        assertEquals(4, area.height());
+        assertTrue(area.contains(2, 1));
+        assertFalse(area.contains(3, 3));
+    }
+
+    @Test
+    public void test_biggestArea_firstOfSameSize() {
+        double[][] noise = {{1, 0, 1}};
+        NoiseArea area = NoiseArea.biggestArea(values(noise));
+        assertTrue(area.contains(0, 0));
+        assertFalse(area.contains(0, 2));
+    }
+
+    @Test
+    public void test_biggestArea_noArea() {
+        assertNull(NoiseArea.biggestArea(values(new double[][] {{0, 0}, {0, 0}})));
+    }
+}
@@ -11,6 +11,7 @@ import core.components.PositionComponent;
 import core.level.Tile;
 import core.level.elements.ILevel;
 import core.utils.Point;
+import core.utils.VisibleArea;
 
 import org.junit.After;
 import org.junit.Before;
@@ -94,4 +95,17 @@ public class CameraSystemTest {
         float y = 100.0f;
         assertFalse(CameraSystem.isPointInFrustum(x, y));
     }
+
+    @Test
+    public void visibleAreaFollowsCamera() {
+        Game.currentLevel(level);
+        cameraSystem.execute();
+        VisibleArea area = CameraSystem.visibleArea();
+        assertTrue(area.minX() < testPoint.x && testPoint.x < area.maxX());
+        assertTrue(area.minY() < testPoint.y && testPoint.y < area.maxY());
+        assertEquals(
+                CameraSystem.camera().viewportWidth * CameraSystem.camera().zoom,
+                area.maxX() - area.minX(),
+                0.001);
+    }
 }
@@ -7,7 +7,9 @@ import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -88,4 +90,59 @@ public class DelayedSetTest {
         set.update();
         assertEquals(0, set.stream().count());
     }
+
+    @Test
+    public void updateReportsChanges() {
+        DelayedSet<String> set = new DelayedSet<>();
+        set.add("A");
+        set.update();
+        set.add("B");
+        set.remove("A");
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        set.update(added::add, removed::add);
+        assertEquals(List.of("B"), added);
+        assertEquals(List.of("A"), removed);
+        assertEquals(List.of("B"), set.snapshot());
+    }
+
+    @Test
+    public void snapshotIsStable() {
+        DelayedSet<String> set = new DelayedSet<>();
+        set.add("A");
+        set.update();
+        List<String> snapshot = set.snapshot();
+        long epoch = set.epoch();
+        set.add("B");
+        set.remove("A");
+        set.update();
+        assertEquals(List.of("A"), snapshot);
+        assertEquals(List.of("B"), set.snapshot());
+        assertEquals(epoch + 1, set.epoch());
+        set.update();
+        assertEquals(epoch + 1, set.epoch());
+    }
+
+    @Test
+    public void addFromOtherThreads() throws InterruptedException {
+        DelayedSet<Integer> set = new DelayedSet<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 1000;
+            threads.add(
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 1000; i++) set.add(offset + i);
+                            }));
+        }
+        threads.forEach(Thread::start);
+        Set<Integer> added = new HashSet<>();
+        for (Thread thread : threads) {
+            set.update(added::add, e -> {});
+            thread.join();
+        }
+        set.update(added::add, e -> {});
+        assertEquals(4000, added.size());
+        assertEquals(4000, set.stream().count());
+    }
 }
@@ -0,0 +1,58 @@
+package core.utils.components.draw;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class AnimationSetTest {
+
+    private static final String PATH = "textures/test_hero";
+
+    @Test
+    public void of_readsSubdirectories() {
+        AnimationSet set = AnimationSet.of(PATH).orElseThrow();
+        assertTrue(set.animations().containsKey("run_right"));
+        assertTrue(set.animations().containsKey("idle_left"));
+        assertEquals(
+                List.of(
+                        PATH + "/run_right/knight_m_run_anim_f0.png",
+                        PATH + "/run_right/knight_m_run_anim_f1.png",
+                        PATH + "/run_right/knight_m_run_anim_f2.png",
+                        PATH + "/run_right/knight_m_run_anim_f3.png"),
+                set.animations().get("run_right").getAnimationFrames());
+    }
+
+    @Test
+    public void of_isCached() {
+        assertSame(AnimationSet.of(PATH).orElseThrow(), AnimationSet.of(PATH).orElseThrow());
+    }
+
+    @Test
+    public void of_sharesAnimations() {
+        AnimationSet set = AnimationSet.of(PATH).orElseThrow();
+        assertSame(
+                set.animations().get("idle_left"),
+                Animation.of(set.animations().get("idle_left").getAnimationFrames()));
+    }
+
+    @Test
+    public void of_missingDirectory() {
+        assertTrue(AnimationSet.of("textures/does_not_exist").isEmpty());
+    }
+
+    @Test
+    public void manifest_filesOfDirectory() {
+        AssetManifest manifest =
+                new AssetManifest(
+                        List.of(
+                                "character/knight/idle_left/f0.png",
+                                "character/knight/idle_left/f1.png",
+                                "character/knightess/idle_left/f0.png",
+                                "items/key.png"));
+        assertEquals(
+                List.of("character/knight/idle_left/f0.png", "character/knight/idle_left/f1.png"),
+                manifest.files("character/knight"));
+    }
+}
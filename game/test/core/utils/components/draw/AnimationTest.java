@@ -2,8 +2,12 @@ package core.utils.components.draw;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import core.Dungeon;
+
 import org.junit.Test;
 
 import java.util.List;
@@ -25,15 +29,20 @@ public class AnimationTest {
         new Animation(List.of("someValidTexture"), -10);
     }
 
+    /* Time after the given number of frames of the game loop, in the middle of the frame. */
+    private static float after(float frames) {
+        return (frames + 0.5f) / Dungeon.frameRate();
+    }
+
     @Test
-    public void test_getNextAnimationTexture() {
-        // Idea: An animation with 3 textures and a frame time of 10 should return 10 (or 11) times
-        // the current texture.
+    public void test_frame() {
+        // Idea: An animation with 3 textures and a frame time of 10 shows each texture for 10
+        // frames of the game loop.
 
         Animation animation = new Animation(List.of("1", "2", "3"), 10);
         for (int i = 0; i < 100; i++) {
             for (int j = 0; j < 10; j++) {
-                assertEquals(String.valueOf(i % 3 + 1), animation.nextAnimationTexturePath());
+                assertEquals(String.valueOf(i % 3 + 1), animation.frame(after(i * 10 + j)));
             }
         }
     }
@@ -42,49 +51,56 @@ public class AnimationTest {
     public void CheckAnimation_isFinished_OneMoreFrameAndNotLooping() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 1, false);
-        assertFalse("has still one Frame for the Animation to go", ta.isFinished());
+        assertFalse("has still one Frame for the Animation to go", ta.isFinished(after(0)));
     }
 
     @Test
     public void CheckAnimation_isFinished_NoMoreFrameAndNotLooping() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 1, false);
-        ta.nextAnimationTexturePath();
-        assertTrue("last Frame reached and should not loop", ta.isFinished());
+        assertTrue("last Frame reached and should not loop", ta.isFinished(after(1)));
     }
 
     @Test
     public void CheckAnimation_isFinished_OneMoreFrameAndLooping() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 1, true);
-        assertFalse("has still one Frame for the Animation to go", ta.isFinished());
+        assertFalse("has still one Frame for the Animation to go", ta.isFinished(after(0)));
     }
 
     @Test
     public void CheckAnimation_isFinished_NoMoreFrameAndLooping() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 1, true);
-        ta.nextAnimationTexturePath();
-        assertFalse("last Frame reached and should loop", ta.isFinished());
+        assertFalse("last Frame reached and should loop", ta.isFinished(after(1)));
     }
 
     @Test
-    public void CheckAnimation_getNextAnimationTexturePath_NonLoopingFrameTime1() {
+    public void CheckAnimation_frame_NonLoopingFrameTime1() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 1, false);
-        assertEquals(testStrings.get(0), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(1), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(1), ta.nextAnimationTexturePath());
+        assertEquals(testStrings.get(0), ta.frame(after(0)));
+        assertEquals(testStrings.get(1), ta.frame(after(1)));
+        assertEquals(testStrings.get(1), ta.frame(after(2)));
     }
 
     @Test
-    public void CheckAnimation_getNextAnimationTexturePath_NonLoopingFrameTime2() {
+    public void CheckAnimation_frame_NonLoopingFrameTime2() {
         List<String> testStrings = List.of("a", "b");
         Animation ta = new Animation(testStrings, 2, false);
-        assertEquals(testStrings.get(0), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(0), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(1), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(1), ta.nextAnimationTexturePath());
-        assertEquals(testStrings.get(1), ta.nextAnimationTexturePath());
+        assertEquals(testStrings.get(0), ta.frame(after(0)));
+        assertEquals(testStrings.get(0), ta.frame(after(1)));
+        assertEquals(testStrings.get(1), ta.frame(after(2)));
+        assertEquals(testStrings.get(1), ta.frame(after(3)));
+        assertEquals(testStrings.get(1), ta.frame(after(4)));
+    }
+
+    @Test
+    public void CheckAnimation_of_isShared() {
+        List<String> testStrings = List.of("a", "b");
+        Animation ta = Animation.of(testStrings, 2, false);
+        assertSame(ta, Animation.of(List.of("a", "b"), 2, false));
+        assertSame(ta, Animation.of(testStrings, 2, true).withLoop(false));
+        assertNotSame(ta, ta.withTimeBetweenFrames(3));
     }
 }
@@ -0,0 +1,113 @@
+package core.utils.components.draw;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import core.utils.Point;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({TextureMap.class})
+public class PainterTest {
+
+    private final TextureRegion floor = Mockito.mock(TextureRegion.class);
+    private final TextureRegion hero = Mockito.mock(TextureRegion.class);
+    private final SpriteBatch batch = Mockito.mock(SpriteBatch.class);
+    private Painter painter;
+
+    @Before
+    public void setup() {
+        when(floor.getTexture()).thenReturn(Mockito.mock(Texture.class));
+        when(hero.getTexture()).thenReturn(Mockito.mock(Texture.class));
+        TextureMap textureMap = Mockito.mock(TextureMap.class);
+        PowerMockito.mockStatic(TextureMap.class);
+        when(TextureMap.instance()).thenReturn(textureMap);
+        when(textureMap.textureAt(anyString())).thenReturn(hero);
+        when(textureMap.textureAt("floor")).thenReturn(floor);
+        painter = new Painter(batch);
+    }
+
+    @Test
+    public void draw_onlyRecords() {
+        painter.draw(new Point(0, 0), "hero", new PainterConfig(0, 0));
+        assertEquals(1, painter.pending());
+        verifyNoInteractions(batch);
+    }
+
+    @Test
+    public void flush_sortsByLayer() {
+        PainterConfig entity = new PainterConfig(0, 0);
+        PainterConfig level = new PainterConfig(0, 0);
+        level.layer(DrawLayer.FLOOR);
+
+        painter.draw(new Point(1, 1), "hero", entity);
+        painter.draw(new Point(2, 2), "floor", level);
+        painter.draw(new Point(3, 3), "floor", level);
+        painter.flush();
+
+        InOrder inOrder = inOrder(batch);
+        inOrder.verify(batch).begin();
+        inOrder.verify(batch).draw(eq(floor), eq(2f), eq(2f), anyFloat(), anyFloat());
+        inOrder.verify(batch).draw(eq(floor), eq(3f), eq(3f), anyFloat(), anyFloat());
+        inOrder.verify(batch).draw(eq(hero), eq(1f), eq(1f), anyFloat(), anyFloat());
+        inOrder.verify(batch).end();
+        verifyNoMoreInteractions(batch);
+        assertEquals(0, painter.pending());
+    }
+
+    @Test
+    public void flush_groupsByPage() {
+        PainterConfig config = new PainterConfig(0, 0);
+
+        painter.draw(new Point(1, 1), "hero", config);
+        painter.draw(new Point(2, 2), "floor", config);
+        painter.draw(new Point(3, 3), "hero", config);
+        painter.flush();
+
+        InOrder inOrder = inOrder(batch);
+        inOrder.verify(batch).begin();
+        inOrder.verify(batch).draw(eq(hero), eq(1f), eq(1f), anyFloat(), anyFloat());
+        inOrder.verify(batch).draw(eq(hero), eq(3f), eq(3f), anyFloat(), anyFloat());
+        inOrder.verify(batch).draw(eq(floor), eq(2f), eq(2f), anyFloat(), anyFloat());
+        inOrder.verify(batch).end();
+    }
+
+    @Test
+    public void draw_forgetsDisposedPages() {
+        PainterConfig config = new PainterConfig(0, 0);
+        painter.draw(new Point(1, 1), "hero", config);
+        painter.draw(new Point(2, 2), "floor", config);
+        painter.flush();
+
+        // after the atlas was disposed, the pages get new ordinals in the order they are drawn
+        when(TextureMap.instance().generation()).thenReturn(1);
+        painter.draw(new Point(3, 3), "floor", config);
+        painter.draw(new Point(4, 4), "hero", config);
+        painter.flush();
+
+        InOrder inOrder = inOrder(batch);
+        inOrder.verify(batch).draw(eq(floor), eq(3f), eq(3f), anyFloat(), anyFloat());
+        inOrder.verify(batch).draw(eq(hero), eq(4f), eq(4f), anyFloat(), anyFloat());
+    }
+
+    @Test
+    public void flush_empty() {
+        painter.flush();
+        verifyNoInteractions(batch);
+    }
+}
@@ -0,0 +1,27 @@
+package core.utils.components.draw;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TextureMapTest {
+
+    @Test
+    public void pageName_dungeonDesign() {
+        assertEquals("dungeon/fire", TextureMap.pageName("dungeon/fire/floor/floor_1.png"));
+    }
+
+    @Test
+    public void pageName_topLevelDirectory() {
+        assertEquals(
+                "character",
+                TextureMap.pageName("character/knight/idle_left/knight_m_idle_anim_f0.png"));
+        assertEquals("items", TextureMap.pageName("items/key/small_key.png"));
+    }
+
+    @Test
+    public void pageName_noDirectory() {
+        assertEquals("", TextureMap.pageName("logo.png"));
+        assertEquals("dungeon", TextureMap.pageName("dungeon/empty.png"));
+    }
+}
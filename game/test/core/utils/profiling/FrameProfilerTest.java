@@ -0,0 +1,89 @@
+package core.utils.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import core.Component;
+import core.Entity;
+import core.Game;
+import core.System;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+public class FrameProfilerTest {
+
+    @After
+    public void cleanup() {
+        Game.removeAllEntities();
+        Game.removeAllSystems();
+    }
+
+    @Test
+    public void disabledRecordsNothing() {
+        FrameProfiler profiler = new FrameProfiler();
+        System system = new TestSystem();
+        profiler.beginFrame();
+        profiler.recordSystem(system, 1000);
+        profiler.endFrame(List.of(system));
+        assertEquals(0, profiler.getFrames());
+        assertTrue(profiler.systemStats().isEmpty());
+    }
+
+    @Test
+    public void systemPercentiles() {
+        FrameProfiler profiler = new FrameProfiler(100);
+        profiler.setEnabled(true);
+        System system = new TestSystem();
+        for (int i = 1; i <= 100; i++) {
+            profiler.beginFrame();
+            profiler.recordSystem(system, i * 1000L);
+            profiler.endFrame(List.of(system));
+        }
+        FrameProfiler.SystemStats stats = profiler.systemStats().get(0);
+        assertEquals(100, profiler.getFrames());
+        assertEquals("TestSystem", stats.name());
+        assertEquals(50_000, stats.p50Nanos());
+        assertEquals(99_000, stats.p99Nanos());
+    }
+
+    @Test
+    public void churnAndCsv() {
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        System first = new TestSystem();
+        profiler.beginFrame();
+        profiler.entityAdded();
+        profiler.entityAdded();
+        profiler.entityRemoved();
+        profiler.endFrame(List.of(first));
+        profiler.beginFrame();
+        profiler.endFrame(List.of(first));
+        assertEquals(1.0, profiler.getEntitiesAddedPerFrame(), 0.001);
+        assertEquals(0.5, profiler.getEntitiesRemovedPerFrame(), 0.001);
+
+        String[] lines = profiler.dumpCsv().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("frame,frame_ms,allocated_bytes,gc_ms,added,removed,TestSystem_ms", lines[0]);
+        assertTrue(lines[1].startsWith("0,"));
+        assertTrue(lines[1].contains(",2,1,"));
+        assertTrue(profiler.dumpJson().contains("\"name\": \"TestSystem\""));
+    }
+
+    private static class TestSystem extends System {
+        public TestSystem() {
+            super(DummyComponent.class);
+        }
+
+        @Override
+        public void execute() {}
+    }
+
+    private static class DummyComponent extends Component {
+        public DummyComponent(Entity entity) {
+            super(entity);
+        }
+    }
+}